@@ -37,6 +37,9 @@ public class TestLeagueApp  {
         System.out.println("League list: " + Arrays.toString(gl.getLeagueIds()));
         System.out.println("\nGetting league name");
         System.out.println(gl.getLeagueName(leagueId0));
+        System.out.println("\nGetting league ID from name, the second should be -1");
+        System.out.println(gl.getLeagueIdByName("Ultimate League"));
+        System.out.println(gl.getLeagueIdByName("Missing League"));
 
         System.out.println("The following arrays should be empty: ");
         System.out.println(gl.getLeagueEmailInvites(leagueId0));
@@ -2,6 +2,8 @@ import gamesleague.*;
 
 import java.time.LocalDate;
 import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import javax.sound.midi.Soundbank;
 
@@ -34,6 +36,13 @@ public class TestLeaguePointsApp  {
         gl.registerGameReport((int) DateProvider.now().toEpochDay(), leagueId0, playerId1, "Fireballs everywhere!");
         System.out.println("New Game Report: " + gl.getGameReport((int) DateProvider.now().toEpochDay(), leagueId0, playerId1));
         gl.registerGameReport((int) DateProvider.now().toEpochDay(), leagueId0, playerId0, "Wordle goes hard man!!!!!!");
+        gl.setMaxGameReportLength(80);
+        gl.registerGameReport((int) DateProvider.now().toEpochDay(), leagueId0, playerId1, "Then the floor turned to lava");
+        System.out.println("Limited Game Report: " + gl.getGameReport((int) DateProvider.now().toEpochDay(), leagueId0, playerId1));
+        gl.setMaxGameReportLength(25);
+        gl.registerGameReport((int) DateProvider.now().toEpochDay(), leagueId0, playerId0, "This does not fit in the report");
+        System.out.println("Report Over Lowered Limit: " + gl.getGameReport((int) DateProvider.now().toEpochDay(), leagueId0, playerId0));
+        gl.setMaxGameReportLength(-1);
 
         System.out.println("\nRegistering Day Scores");
         gl.registerDayScores((int) DateProvider.now().toEpochDay(), leagueId0, new int[] {5, 10});
@@ -42,6 +51,9 @@ public class TestLeaguePointsApp  {
         System.out.println("Day Scores: " + Arrays.toString(gl.getDayScores(leagueId0, (int) DateProvider.now().toEpochDay())));
         System.out.println("Day Points: " + Arrays.toString(gl.getDayPoints(leagueId0, (int) DateProvider.now().toEpochDay())));
         System.out.println("Day Ranking: " + Arrays.toString(gl.getDayRanking(leagueId0, (int) DateProvider.now().toEpochDay())));
+        System.out.println("Top Players: " + Arrays.toString(gl.getTopPlayers(leagueId0, Period.DAY, (int) DateProvider.now().toEpochDay(), 1)));
+        System.out.println("Leaderboard Page 1: " + Arrays.toString(gl.getLeaderboardPage(leagueId0, Period.YEAR, (int) DateProvider.now().toEpochDay(), 1, 1)));
+        System.out.println("Player Rank: " + gl.getPlayerRank(leagueId0, playerId1, Period.MONTH, (int) DateProvider.now().toEpochDay()));
 
         System.out.println("\nTESTING BUBBLE SORT");
         System.out.println("SORTED: " + Arrays.toString(gl.bubbleSort(new int[] {1, 7, 2, 0, 9, 28, 10000})));
@@ -182,6 +194,95 @@ public class TestLeaguePointsApp  {
             System.out.println("ERROR: Can void an invalid day.");
         } catch (IllegalArgumentException ex) {System.out.println(ex.getMessage());}
 
+        System.out.println("\nRegistering Day Scores Far Apart");
+        int farLeague = gl.createLeague(playerId0, "Far Apart League", GameType.WORDMASTER);
+        gl.registerDayScores((int) DateProvider.now().toEpochDay(), farLeague, new int[] {3});
+        gl.registerDayScores((int) DateProvider.now().toEpochDay() + 400_000_000, farLeague, new int[] {4});
+        gl.registerDayScores(Integer.MIN_VALUE, farLeague, new int[] {5});
+        gl.registerGameReport((int) DateProvider.now().toEpochDay(), farLeague, playerId0, "Close report");
+        gl.registerGameReport((int) DateProvider.now().toEpochDay() + 400_000_000, farLeague, playerId0, "Far report");
+        System.out.println("Day Points: " + Arrays.toString(gl.getDayPoints(farLeague, (int) DateProvider.now().toEpochDay())));
+        System.out.println("Far Day Points: " + Arrays.toString(gl.getDayPoints(farLeague, (int) DateProvider.now().toEpochDay() + 400_000_000)));
+        System.out.println("Far Day Status: " + gl.getDayStatus(farLeague, (int) DateProvider.now().toEpochDay() + 400_000_000));
+        System.out.println("Far Game Report: " + gl.getGameReport((int) DateProvider.now().toEpochDay() + 400_000_000, farLeague, playerId0));
+
+        System.out.println("\nRegistering Game Reports From Several Threads");
+        ConcurrentGamesLeague cgl = new ConcurrentGamesLeague();
+        int sharedPlayer = cgl.createPlayer("shared@example.com", "shared", "Shared Player", "");
+        Thread[] threads = new Thread[4];
+        for (int i = 0; i < threads.length; i++) {
+            int leagueId = cgl.createLeague(sharedPlayer, "Threaded League " + i, GameType.DICEROLL);
+            threads[i] = new Thread(() -> {
+                cgl.registerGameReport((int) DateProvider.now().toEpochDay(), leagueId, sharedPlayer, "Threaded Report");
+            });
+            threads[i].start();
+        }
+        try {
+            for (Thread thread : threads) {
+                thread.join();
+            }
+        } catch (InterruptedException ex) {System.out.println(ex.getMessage());}
+        System.out.println("Rounds Played: " + cgl.getPlayerRoundsPlayed(sharedPlayer));
+        int threadedLeague = cgl.getLeagueIds()[0];
+        cgl.registerDayScores((int) DateProvider.now().toEpochDay(), threadedLeague, new int[] {4});
+        System.out.println("Day Points: " + Arrays.toString(cgl.getDayPoints(threadedLeague, (int) DateProvider.now().toEpochDay())));
+        System.out.println("Results Version: " + cgl.getLeagueResults(threadedLeague).getVersion());
+
+        System.out.println("\nSending And Accepting Invites From Several Threads");
+        int invitee = cgl.createPlayer("invitee@example.com", "invitee", "Invited Player", "");
+        Thread[] inviters = new Thread[8];
+        int[] inviteLeagues = new int[inviters.length];
+        for (int i = 0; i < inviters.length; i++) {
+            int leagueId = cgl.createLeague(sharedPlayer, "Invite League " + i, GameType.DICEROLL);
+            inviteLeagues[i] = leagueId;
+            inviters[i] = new Thread(() -> {
+                cgl.invitePlayerToLeague(leagueId, "invitee@example.com");
+                cgl.invitePlayerToLeague(leagueId, "newcomer@example.com");
+                cgl.acceptInviteToLeague(leagueId, invitee);
+            });
+            inviters[i].start();
+        }
+        try {
+            for (Thread thread : inviters) {
+                thread.join();
+            }
+        } catch (InterruptedException ex) {System.out.println(ex.getMessage());}
+        int joined = 0;
+        for (int leagueId : inviteLeagues) {
+            for (int member : cgl.getLeaguePlayers(leagueId)) {
+                if (member == invitee) {
+                    joined++;
+                }
+            }
+        }
+        System.out.println("Leagues Joined: " + joined);
+        System.out.println("Invites Left: " + cgl.getPlayerInvites(invitee).length);
+        int newcomer = cgl.createPlayer("newcomer@example.com", "newcomer", "New Player", "");
+        System.out.println("Invites Waiting For New Player: " + cgl.getPlayerInvites(newcomer).length);
+
+        System.out.println("\nRegistering Day Scores In A Batch");
+        RuntimeException[] failures = cgl.registerDayScores(new DayScoresEntry[] {
+            new DayScoresEntry(cgl.getLeagueIds()[1], (int) DateProvider.now().toEpochDay(), new int[] {2}),
+            new DayScoresEntry(threadedLeague, (int) DateProvider.now().toEpochDay(), new int[] {6}),
+            new DayScoresEntry(-9999, (int) DateProvider.now().toEpochDay(), new int[] {1})
+        });
+        for (RuntimeException failure : failures) {
+            System.out.println(failure == null ? "Registered" : failure.getMessage());
+        }
+
+        System.out.println("\nRegistering Game Reports Through The Pipeline");
+        GameReportPipeline pipeline = new GameReportPipeline(cgl, 2, 16, 8);
+        CompletableFuture<Void> queued = pipeline.submit((int) DateProvider.now().toEpochDay(),
+                threadedLeague, sharedPlayer, "Queued report");
+        CompletableFuture<Void> rejected = pipeline.submit((int) DateProvider.now().toEpochDay(),
+                threadedLeague, -9999, "Unknown player");
+        pipeline.close();
+        System.out.println("Queued Report Registered: " + (queued.isDone() && !queued.isCompletedExceptionally()));
+        try {
+            rejected.join();
+        } catch (CompletionException ex) {System.out.println(ex.getCause().getMessage());}
+        System.out.println("Report: " + cgl.getGameReport((int) DateProvider.now().toEpochDay(), threadedLeague, sharedPlayer));
+
         /*
          * Methods to test:
          * 
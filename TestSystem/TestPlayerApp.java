@@ -28,6 +28,10 @@ public class TestPlayerApp  {
         System.out.print(gl.getPlayerEmail(playerId1) + ", ");
         System.out.println(gl.getPlayerDisplayName(playerId1) + "\n");
 
+        System.out.println("Looking up players by email ignoring case and by display name.");
+        System.out.println(gl.getPlayerIdIgnoreCase("SC1448@Exeter.ac.uk") + ", " + gl.getPlayerId("SC1448@Exeter.ac.uk"));
+        System.out.println(Arrays.toString(gl.getPlayerIdsByDisplayName("s.carp")) + "\n");
+
 
         System.out.println("Updating, getting, and then printing display name.");
         System.out.println(gl.getPlayerDisplayName(playerId2));
@@ -67,14 +67,88 @@ public class TestSerialisation  {
 
          System.out.println(Arrays.toString(gl.getLeagueIds()));
 
+         try{
+            gl.saveGamesLeagueData("test.bin", SnapshotFormat.BINARY);
+            gl.eraseGamesLeagueData();
+            gl.loadGamesLeagueData("test.bin");
+         }
+         catch(IOException e){
+            System.out.println("Binary save or load failed");
+         }
+         catch(ClassNotFoundException c){
+            System.out.println(c.getMessage());
+         }
+
+         System.out.println(Arrays.toString(gl.getPlayerIds()));
+
+         System.out.println(Arrays.toString(gl.getLeagueIds()));
+
+         System.out.println(Arrays.toString(gl.getLeaguePlayers(leagueId0)));
+
+         // Leagues created without a game type can be saved and loaded in a binary snapshot too
+         int leagueId2 = gl.createLeague(playerId0, "Untyped League", null);
+         try{
+            gl.saveGamesLeagueData("test.bin", SnapshotFormat.BINARY);
+            gl.eraseGamesLeagueData();
+            gl.loadGamesLeagueData("test.bin");
+         }
+         catch(IOException e){
+            System.out.println("Binary save or load failed");
+         }
+         catch(ClassNotFoundException c){
+            System.out.println(c.getMessage());
+         }
+
+         System.out.println(gl.getLeagueName(leagueId2));
+
          gl.eraseGamesLeagueData();
 
          System.out.println(Arrays.toString(gl.getPlayerIds()));
 
          System.out.println(Arrays.toString(gl.getLeagueIds()));
 
+         // Changes made while a journal is open are replayed into a new instance when it opens the journal
+         new java.io.File("test.journal").delete();
+         GamesLeague recovered = new GamesLeague();
+         try{
+            gl.openJournal("test.journal", 4);
+            int playerId4 = gl.createPlayer("journal@example.com", "journal", "Journal Player", "");
+            gl.createLeague(playerId4, "Journal League", GameType.WORDMASTER);
+            gl.setMaxGameReportLength(50);
+            gl.closeJournal();
+            recovered.openJournal("test.journal", 4);
+            recovered.closeJournal();
+         }
+         catch(IOException e){
+            System.out.println("Journal failed");
+         }
+
+         System.out.println(Arrays.toString(recovered.getPlayerIds()));
+
+         System.out.println(Arrays.toString(recovered.getLeagueIds()));
+
+         System.out.println(recovered.getLeagueName(recovered.getLeagueIds()[0]));
+
+         System.out.println(recovered.getMaxGameReportLength());
+
+         // Changes made after checkpointing starts are written to the file in the background by checkpoint
+         GamesLeague checkpointed = new GamesLeague();
+         try{
+            recovered.startCheckpointing("test.checkpoint");
+            recovered.createPlayer("checkpoint@example.com", "checkpoint", "Checkpoint Player", "");
+            recovered.checkpoint().get();
+            recovered.stopCheckpointing();
+            checkpointed.loadGamesLeagueData("test.checkpoint");
+         }
+         catch(Exception e){
+            System.out.println("Checkpoint failed");
+         }
+
+         System.out.println(Arrays.toString(checkpointed.getPlayerIds()));
+
+         System.out.println(checkpointed.getMaxGameReportLength());
+
 
 
-        
     }
 }
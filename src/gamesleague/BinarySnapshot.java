@@ -0,0 +1,841 @@
+package gamesleague;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+
+/**
+ * Reads and writes the compact binary snapshot format. Numbers are written as varints, strings are
+ * written once in a string table and referred to by index, and points and scores are written as rows
+ * of primitive ints, so no reflection is needed and the files are much smaller than serialised ones.
+ *
+ * A snapshot is laid out as:
+ * <pre>
+ *   int magic, int version
+ *   players section: string table, player count, then each player
+ *   each league record, one after another
+ *   league directory: journal sequence number, maximum game report length, offset and length of the players
+ *                     section, league count, then the ID, name, file offset and length of each league record
+ *                     and the emails of the league's pending invites
+ *   long offset of the directory, int magic
+ * </pre>
+ * Each league record has its own string table for its invites and game reports, so any league can be
+ * read on its own using its entry in the directory. When a snapshot is opened the file is memory-mapped
+ * and only the players and the directory are read, and each league is read the first time it is needed.
+ * The pending invites are in the directory as well, so a new player's invites can be found without
+ * reading every league.
+ *
+ * Since everything is found through the directory at the end, a Checkpointer can add changed leagues,
+ * a new players section and a new directory to the end of the file, and leagues that have not changed
+ * keep pointing at their old records. If that is cut short by a crash, the last complete directory is found
+ * by searching back from the end of the file.
+ */
+public class BinarySnapshot {
+    /**
+     * The bytes "GLSB" that every binary snapshot starts and ends with.
+     */
+    public static final int MAGIC = 0x474C5342;
+
+    /**
+     * The version of the format written by this class.
+     */
+    public static final int VERSION = 1;
+
+    /**
+     * Size of the magic and version at the start of the file.
+     */
+    public static final int HEADER_SIZE = 8;
+
+    /**
+     * Size of the directory offset and magic at the end of the file.
+     */
+    private static final int TRAILER_SIZE = 12;
+
+    /**
+     * The memory-mapped snapshot file.
+     */
+    private ByteBuffer buffer;
+
+    /**
+     * Number of bytes at the start of the file that belong to the snapshot, which is less than the size of
+     * the file if a checkpoint was cut short.
+     */
+    private int length;
+
+    /**
+     * Players read from the snapshot.
+     */
+    private Player[] players;
+
+    /**
+     * Position and length in the file of the players section.
+     */
+    private long playersOffset;
+    private int playersLength;
+
+    /**
+     * ID of each league in the directory.
+     */
+    private int[] leagueIds;
+
+    /**
+     * Name of each league in the directory.
+     */
+    private String[] leagueNames;
+
+    /**
+     * Position in the file of each league record.
+     */
+    private long[] leagueOffsets;
+
+    /**
+     * Length in bytes of each league record.
+     */
+    private int[] leagueLengths;
+
+    /**
+     * Emails of the pending invites of each league in the directory.
+     */
+    private String[][] leagueInvites;
+
+    /**
+     * Sequence number of the last journal record included in the snapshot.
+     */
+    private long journalSequence;
+
+    /**
+     * The most characters a game report could hold when the snapshot was written, or -1 for no limit.
+     */
+    private int maxGameReportLength;
+
+    /**
+     * Constructor for the BinarySnapshot class
+     *
+     * @param buffer The whole snapshot
+     */
+    private BinarySnapshot(ByteBuffer buffer){
+        this.buffer = buffer;
+        length = buffer.limit();
+    }
+
+    /**
+     * Gets the players read from the snapshot
+     *
+     * @return The array of players
+     */
+    public Player[] getPlayers(){
+        return players;
+    }
+
+    /**
+     * Gets the number of bytes at the start of the file that belong to the snapshot
+     *
+     * @return The length of the snapshot
+     */
+    public int getLength(){
+        return length;
+    }
+
+    /**
+     * Gets the position of the players section in the file
+     *
+     * @return The offset of the players section
+     */
+    public long getPlayersOffset(){
+        return playersOffset;
+    }
+
+    /**
+     * Gets the length of the players section
+     *
+     * @return The number of bytes in the players section
+     */
+    public int getPlayersLength(){
+        return playersLength;
+    }
+
+    /**
+     * Gets the sequence number of the last journal record included in the snapshot
+     *
+     * @return The journal sequence number, or 0 if no journal records are included
+     */
+    public long getJournalSequence(){
+        return journalSequence;
+    }
+
+    /**
+     * Gets the most characters a game report could hold when the snapshot was written
+     *
+     * @return The maximum length of a game report, or -1 if there was no limit
+     */
+    public int getMaxGameReportLength(){
+        return maxGameReportLength;
+    }
+
+    /**
+     * Gets the number of leagues in the directory
+     *
+     * @return The number of leagues in the snapshot
+     */
+    public int getLeagueCount(){
+        return leagueIds.length;
+    }
+
+    /**
+     * Gets the ID of a league in the directory
+     *
+     * @param index The position of the league in the directory
+     * @return The ID of the league
+     */
+    public int getLeagueId(int index){
+        return leagueIds[index];
+    }
+
+    /**
+     * Gets the name of a league in the directory
+     *
+     * @param index The position of the league in the directory
+     * @return The name of the league
+     */
+    public String getLeagueName(int index){
+        return leagueNames[index];
+    }
+
+    /**
+     * Gets the position of a league's record in the file
+     *
+     * @param index The position of the league in the directory
+     * @return The offset of the league record
+     */
+    public long getLeagueOffset(int index){
+        return leagueOffsets[index];
+    }
+
+    /**
+     * Gets the length of a league's record
+     *
+     * @param index The position of the league in the directory
+     * @return The number of bytes in the league record
+     */
+    public int getLeagueLength(int index){
+        return leagueLengths[index];
+    }
+
+    /**
+     * Gets the emails of a league's pending invites without reading its record
+     *
+     * @param index The position of the league in the directory
+     * @return The emails in the order the invites were sent
+     */
+    public String[] getLeagueInvites(int index){
+        return leagueInvites[index];
+    }
+
+    /**
+     * Reads a league's record from the mapped file
+     *
+     * @param index The position of the league in the directory
+     * @return The league
+     * @throws IOException If the league record is not valid
+     */
+    public League readLeague(int index) throws IOException{
+        return readLeague(slice(buffer, (int) leagueOffsets[index], leagueLengths[index]), leagueIds[index], leagueNames[index]);
+    }
+
+    /**
+     * Gets a league's record from the mapped file without reading it, so it can be copied into another snapshot
+     *
+     * @param index The position of the league in the directory
+     * @return A buffer holding only the league's record
+     */
+    public ByteBuffer getLeagueRecord(int index){
+        return slice(buffer, (int) leagueOffsets[index], leagueLengths[index]);
+    }
+
+    /**
+     * Checks if a file is a binary snapshot by looking at its first 4 bytes
+     *
+     * @param filename Location of the file to be checked
+     * @return True if the file starts with the binary snapshot magic, False if not
+     * @throws IOException If the file cannot be read
+     */
+    public static boolean isBinarySnapshot(String filename) throws IOException{
+        try (FileChannel channel = FileChannel.open(Paths.get(filename), StandardOpenOption.READ)){
+            ByteBuffer start = ByteBuffer.allocate(4);
+            while (start.hasRemaining() && channel.read(start) != -1){
+                // Keep reading until 4 bytes are in or the file ends
+            }
+            return !start.hasRemaining() && start.getInt(0) == MAGIC;
+        }
+    }
+
+    /**
+     * Writes the players and leagues to a file as a binary snapshot, along with leagues from another snapshot
+     * that have never been read, whose records are copied straight across without reading them. The snapshot is
+     * written to a temporary file that is moved over the old file once it is complete, so a failed write leaves
+     * the old file as it was.
+     *
+     * @param filename Location of the file to be written
+     * @param players The players to be saved
+     * @param leagues The leagues to be saved in ID order
+     * @param source The snapshot the unread leagues are in, or null if there are none
+     * @param sourceIndexes The position in the source's directory of each unread league, in ID order
+     * @param journalSequence Sequence number of the last journal record included in the snapshot
+     * @param maxGameReportLength The most characters a game report can hold, or -1 for no limit
+     * @throws IOException If the file cannot be written
+     */
+    public static void write(String filename, ArrayList<Player> players, ArrayList<League> leagues,
+            BinarySnapshot source, IntList sourceIndexes, long journalSequence, int maxGameReportLength)
+            throws IOException{
+        Path temp = Paths.get(filename + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)){
+
+            SnapshotEncoder out = new SnapshotEncoder();
+            writeHeader(out);
+            writePlayers(out, players);
+            int playersLength = out.size() - HEADER_SIZE;
+            out.writeTo(channel);
+
+            // Write each league as soon as it is encoded, remembering where it went for the directory
+            // The two lists are both in ID order, so they are merged to keep the directory in ID order
+            int count = leagues.size() + sourceIndexes.size();
+            int[] ids = new int[count];
+            String[] names = new String[count];
+            long[] offsets = new long[count];
+            int[] lengths = new int[count];
+            String[][] invites = new String[count][];
+            int next = 0, nextSource = 0;
+            for (int i = 0; i < count; i++){
+                offsets[i] = channel.position();
+                if (nextSource == sourceIndexes.size() || (next < leagues.size()
+                        && leagues.get(next).getId() < source.getLeagueId(sourceIndexes.get(nextSource)))){
+                    League l = leagues.get(next++);
+                    ids[i] = l.getId();
+                    names[i] = l.getName();
+                    invites[i] = l.getPlayerInvites().toArray(new String[0]);
+                    writeLeague(out, l);
+                    lengths[i] = out.size();
+                    out.writeTo(channel);
+                }
+                else {
+                    int index = sourceIndexes.get(nextSource++);
+                    ids[i] = source.getLeagueId(index);
+                    names[i] = source.getLeagueName(index);
+                    invites[i] = source.getLeagueInvites(index);
+                    lengths[i] = source.getLeagueLength(index);
+                    writeRecord(channel, source.getLeagueRecord(index));
+                }
+            }
+
+            writeDirectory(out, channel.position(), journalSequence, maxGameReportLength, HEADER_SIZE, playersLength,
+                    ids, names, offsets, lengths, invites, ids.length);
+            out.writeTo(channel);
+
+            // Make sure the snapshot is on the disk before the journal records it contains are removed
+            channel.force(true);
+        }
+        catch (IOException | RuntimeException e){
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+
+        Files.move(temp, Paths.get(filename), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Writes a league record copied from another snapshot to a file, leaving the record's buffer unchanged so it
+     * can be written again
+     *
+     * @param channel The file to write to
+     * @param record The league record
+     * @throws IOException If the file cannot be written
+     */
+    public static void writeRecord(FileChannel channel, ByteBuffer record) throws IOException{
+        ByteBuffer bytes = record.duplicate();
+        while (bytes.hasRemaining()){
+            channel.write(bytes);
+        }
+    }
+
+    /**
+     * Writes the magic and version that a snapshot starts with
+     *
+     * @param out The encoder to write to
+     */
+    public static void writeHeader(SnapshotEncoder out){
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+    }
+
+    /**
+     * Writes a players section, made up of a string table for the players followed by each player
+     *
+     * @param out The encoder to write to
+     * @param players The players to be written
+     */
+    public static void writePlayers(SnapshotEncoder out, Collection<Player> players){
+        // Encode the players first, so their strings are in the table before it is written
+        StringTable strings = new StringTable();
+        SnapshotEncoder body = new SnapshotEncoder();
+        body.writeVarInt(players.size());
+        for (Player p : players){
+            writePlayer(body, p, strings);
+        }
+        strings.write(out);
+        out.writeEncoder(body);
+    }
+
+    /**
+     * Writes a league directory followed by the trailer that points to it, which ends the snapshot
+     *
+     * @param out The encoder to write to
+     * @param directoryOffset The position in the file the directory is written at
+     * @param journalSequence Sequence number of the last journal record included in the snapshot
+     * @param maxGameReportLength The most characters a game report can hold, or -1 for no limit
+     * @param playersOffset The position of the players section in the file
+     * @param playersLength The length of the players section
+     * @param ids The ID of each league
+     * @param names The name of each league
+     * @param offsets The position of each league record in the file
+     * @param lengths The length of each league record
+     * @param invites The emails of each league's pending invites
+     * @param count The number of leagues in the arrays
+     */
+    public static void writeDirectory(SnapshotEncoder out, long directoryOffset, long journalSequence,
+            int maxGameReportLength, long playersOffset, int playersLength, int[] ids, String[] names, long[] offsets,
+            int[] lengths, String[][] invites, int count){
+        out.writeVarLong(journalSequence);
+        out.writeSignedVarInt(maxGameReportLength);
+        out.writeVarLong(playersOffset);
+        out.writeVarInt(playersLength);
+        out.writeVarInt(count);
+        for (int i = 0; i < count; i++){
+            out.writeVarInt(ids[i]);
+            out.writeString(names[i]);
+            out.writeVarLong(offsets[i]);
+            out.writeVarInt(lengths[i]);
+            out.writeVarInt(invites[i].length);
+            for (String email : invites[i]){
+                out.writeString(email);
+            }
+        }
+        out.writeLong(directoryOffset);
+        out.writeInt(MAGIC);
+    }
+
+    /**
+     * Opens a binary snapshot by memory-mapping it and reading its players and league directory.
+     * The league records are left in the mapped file until readLeague is called.
+     *
+     * @param filename Location of the file to be read
+     * @return The opened snapshot
+     * @throws IOException If the file cannot be read or is not a valid binary snapshot
+     */
+    public static BinarySnapshot open(String filename) throws IOException{
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(Paths.get(filename), StandardOpenOption.READ)){
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE){
+                throw new IOException("Error: Snapshot is too large to be mapped");
+            }
+            // The mapping stays valid after the channel is closed
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        }
+
+        BinarySnapshot snapshot = new BinarySnapshot(buffer);
+        SnapshotDecoder in = new SnapshotDecoder(buffer.duplicate());
+        if (buffer.limit() < HEADER_SIZE + TRAILER_SIZE || in.readInt() != MAGIC){
+            throw new IOException("Error: File is not a binary snapshot");
+        }
+        int version = in.readInt();
+        if (version != VERSION){
+            throw new IOException("Error: Binary snapshot version " + version + " is not supported");
+        }
+
+        // Use the directory at the end of the file, or the last complete one if a checkpoint was cut short
+        int end = buffer.limit();
+        while (!snapshot.readDirectory(end)){
+            end = snapshot.findTrailer(end - 1);
+            if (end == -1){
+                throw new IOException("Error: Binary snapshot is incomplete");
+            }
+        }
+        snapshot.length = end;
+
+        SnapshotDecoder section = new SnapshotDecoder(slice(buffer, (int) snapshot.playersOffset, snapshot.playersLength));
+        String[] strings = section.readStringTable();
+        snapshot.players = new Player[section.readVarInt()];
+        for (int i = 0; i < snapshot.players.length; i++){
+            snapshot.players[i] = readPlayer(section, strings);
+        }
+        return snapshot;
+    }
+
+    /**
+     * Finds the end of the last place before a position that could be the trailer of a directory
+     *
+     * @param before The position to search back from
+     * @return The end of the possible trailer, or -1 if there are none
+     */
+    private int findTrailer(int before){
+        for (int end = before; end >= HEADER_SIZE + TRAILER_SIZE; end--){
+            if (buffer.getInt(end - 4) == MAGIC){
+                return end;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Reads the directory of the snapshot using the trailer that ends at a position
+     *
+     * @param end The position the trailer ends at
+     * @return True if a valid directory was read, False if the trailer or directory is not valid
+     */
+    private boolean readDirectory(int end){
+        int trailer = end - TRAILER_SIZE;
+        long directoryOffset = buffer.getLong(trailer);
+        if (buffer.getInt(trailer + 8) != MAGIC || directoryOffset < HEADER_SIZE || directoryOffset > trailer){
+            return false;
+        }
+
+        try {
+            ByteBuffer slice = slice(buffer, (int) directoryOffset, trailer - (int) directoryOffset);
+            SnapshotDecoder directory = new SnapshotDecoder(slice);
+            journalSequence = directory.readVarLong();
+            maxGameReportLength = directory.readSignedVarInt();
+            if (maxGameReportLength < -1){
+                return false;
+            }
+            playersOffset = directory.readVarLong();
+            playersLength = directory.readVarInt();
+            if (!inside(playersOffset, playersLength, directoryOffset)){
+                return false;
+            }
+
+            int count = directory.readVarInt();
+            if (count < 0 || count > slice.remaining()){
+                return false;
+            }
+            leagueIds = new int[count];
+            leagueNames = new String[count];
+            leagueOffsets = new long[count];
+            leagueLengths = new int[count];
+            leagueInvites = new String[count][];
+            for (int i = 0; i < count; i++){
+                leagueIds[i] = directory.readVarInt();
+                leagueNames[i] = directory.readString();
+                leagueOffsets[i] = directory.readVarLong();
+                leagueLengths[i] = directory.readVarInt();
+                if (!inside(leagueOffsets[i], leagueLengths[i], directoryOffset)){
+                    return false;
+                }
+                int invites = directory.readVarInt();
+                if (invites < 0 || invites > slice.remaining()){
+                    return false;
+                }
+                leagueInvites[i] = new String[invites];
+                for (int j = 0; j < invites; j++){
+                    leagueInvites[i][j] = directory.readString();
+                }
+            }
+            // A real directory ends exactly where its trailer starts
+            return !slice.hasRemaining();
+        }
+        catch (IOException | BufferUnderflowException | IllegalArgumentException e){
+            return false;
+        }
+    }
+
+    /**
+     * Checks that a section of the file is after the header and before a position
+     *
+     * @param offset The position of the section
+     * @param length The length of the section
+     * @param limit The position the section must end before
+     * @return True if the section is inside the limits, False if not
+     */
+    private static boolean inside(long offset, int length, long limit){
+        return offset >= HEADER_SIZE && length >= 0 && offset + length <= limit;
+    }
+
+    /**
+     * Creates a buffer that shares part of another buffer's bytes
+     *
+     * @param buffer The buffer to take bytes from
+     * @param offset The position of the first byte
+     * @param length The number of bytes
+     * @return The new buffer, starting at position 0
+     */
+    private static ByteBuffer slice(ByteBuffer buffer, int offset, int length){
+        ByteBuffer copy = buffer.duplicate();
+        copy.position(offset);
+        copy.limit(offset + length);
+        return copy.slice();
+    }
+
+    /**
+     * Writes a list of IDs as a count followed by each ID
+     *
+     * @param out The encoder to write to
+     * @param ids The IDs to be written
+     */
+    private static void writeIds(SnapshotEncoder out, IntList ids){
+        out.writeVarInt(ids.size());
+        for (int i = 0; i < ids.size(); i++){
+            out.writeSignedVarInt(ids.get(i));
+        }
+    }
+
+    /**
+     * Writes a set of IDs in the same way as a list, so it is read back by readIds
+     *
+     * @param out The encoder to write to
+     * @param ids The IDs to be written
+     */
+    private static void writeIds(SnapshotEncoder out, IntSet ids){
+        out.writeVarInt(ids.size());
+        for (int i = 0; i < ids.size(); i++){
+            out.writeSignedVarInt(ids.get(i));
+        }
+    }
+
+    /**
+     * Reads a list of IDs written by writeIds
+     *
+     * @param in The decoder to read from
+     * @return The IDs
+     * @throws IOException If the IDs cannot be read
+     */
+    private static int[] readIds(SnapshotDecoder in) throws IOException{
+        int[] ids = new int[in.readVarInt()];
+        for (int i = 0; i < ids.length; i++){
+            ids[i] = in.readSignedVarInt();
+        }
+        return ids;
+    }
+
+    /**
+     * Writes a player's details and league lists
+     *
+     * @param out The encoder to write to
+     * @param p The player to be written
+     * @param strings The string table the player's strings are added to
+     */
+    private static void writePlayer(SnapshotEncoder out, Player p, StringTable strings){
+        out.writeVarInt(p.getId());
+        out.writeVarInt(strings.indexOf(p.getEmail()));
+        out.writeVarInt(strings.indexOf(p.getDisplayName()));
+        out.writeVarInt(strings.indexOf(p.getName()));
+        out.writeVarInt(strings.indexOf(p.getPhone()));
+
+        // Pack the flags into one byte
+        int flags = 0;
+        if (p.getDeactivateStatus()){
+            flags |= 1;
+        }
+        if (p.getInactiveStatus()){
+            flags |= 2;
+        }
+        if (p.getDateCreated() != null){
+            flags |= 4;
+        }
+        out.writeByte(flags);
+        if (p.getDateCreated() != null){
+            out.writeSignedVarInt((int) p.getDateCreated().toEpochDay());
+        }
+
+        out.writeVarInt(p.getRoundsPlayed());
+        writeIds(out, p.getLeagueIds());
+        writeIds(out, p.getOwnedLeagueIds());
+        writeIds(out, p.getLeagueInviteIds());
+    }
+
+    /**
+     * Reads a player written by writePlayer
+     *
+     * @param in The decoder to read from
+     * @param strings The string table the player's strings are in
+     * @return The player
+     * @throws IOException If the player cannot be read
+     */
+    private static Player readPlayer(SnapshotDecoder in, String[] strings) throws IOException{
+        int id = in.readVarInt();
+        String email = strings[in.readVarInt()];
+        String displayName = strings[in.readVarInt()];
+        String name = strings[in.readVarInt()];
+        String phone = strings[in.readVarInt()];
+        int flags = in.readByte();
+        LocalDate dateCreated = (flags & 4) != 0 ? LocalDate.ofEpochDay(in.readSignedVarInt()) : null;
+
+        Player p = new Player(id, email, displayName, name, phone, dateCreated);
+        p.setDeactivatedStatus((flags & 1) != 0);
+        p.setInactiveStatus((flags & 2) != 0);
+        p.setRoundsPlayed(in.readVarInt());
+        for (int leagueId : readIds(in)){
+            p.appendLeagueIds(leagueId);
+        }
+        for (int leagueId : readIds(in)){
+            p.appendOwnedLeagueIds(leagueId);
+        }
+        for (int leagueId : readIds(in)){
+            p.appendLeagueInviteIds(leagueId);
+        }
+        return p;
+    }
+
+    /**
+     * Writes a league record, made up of the league's own string table followed by its details,
+     * members, day statuses and results
+     *
+     * @param out The encoder to write to
+     * @param l The league to be written
+     */
+    public static void writeLeague(SnapshotEncoder out, League l){
+        StringTable strings = new StringTable();
+        SnapshotEncoder body = new SnapshotEncoder();
+
+        body.writeVarInt(l.getOwner());
+        // A null game type is written as 0, so every other game type is written as its ordinal plus 1
+        body.writeByte(l.getGameType() == null ? 0 : l.getGameType().ordinal() + 1);
+        body.writeSignedVarInt(l.getStartDate());
+        body.writeSignedVarInt(l.getEndDate());
+        body.writeVarInt(l.getRounds());
+        writeIds(body, l.getOwners());
+
+        body.writeVarInt(l.getPlayerInvites().size());
+        for (String email : l.getPlayerInvites()){
+            body.writeVarInt(strings.indexOf(email));
+        }
+
+        // Each member's game days are in day order, so only the gap from the previous day is written
+        body.writeVarInt(l.getPlayers().size());
+        for (LeagueMember m : l.getPlayers()){
+            body.writeVarInt(m.getPlayerId());
+            body.writeByte(m.isActive() ? 1 : 0);
+            ArrayList<GameDay> gameDays = m.getGameDays().values();
+            body.writeVarInt(gameDays.size());
+            int previousDay = 0;
+            for (GameDay d : gameDays){
+                body.writeSignedVarInt(d.getDay() - previousDay);
+                body.writeVarInt(strings.indexOf(d.getGameReport()));
+                previousDay = d.getDay();
+            }
+        }
+
+        // Calendar blocks are in order, so only the gap from the previous block is written
+        LeagueCalendar calendar = l.getCalendar();
+        body.writeVarInt(calendar.getWordCount());
+        int previousBlock = 0;
+        for (int i = 0; i < calendar.getWordCount(); i++){
+            body.writeSignedVarInt(calendar.getBlock(i) - previousBlock);
+            body.writeLong(calendar.getWord(i));
+            previousBlock = calendar.getBlock(i);
+        }
+
+        // Rows are in day order, so only the gap from the previous row's day is written
+        ResultTable results = l.getResults();
+        body.writeVarInt(results.getRowCount());
+        int previousRowDay = 0;
+        for (int r = 0; r < results.getRowCount(); r++){
+            int[] points = results.getRowPoints(r);
+            int[] scores = results.getRowScores(r);
+            body.writeSignedVarInt(results.getRowDay(r) - previousRowDay);
+            previousRowDay = results.getRowDay(r);
+            body.writeVarInt(points.length);
+            for (int value : points){
+                body.writeSignedVarInt(value);
+            }
+            for (int value : scores){
+                body.writeSignedVarInt(value);
+            }
+        }
+
+        strings.write(out);
+        out.writeEncoder(body);
+    }
+
+    /**
+     * Reads a league record written by writeLeague
+     *
+     * @param buffer The league record
+     * @param id The ID of the league from the directory
+     * @param name The name of the league from the directory
+     * @return The league
+     * @throws IOException If the league cannot be read
+     */
+    private static League readLeague(ByteBuffer buffer, int id, String name) throws IOException{
+        SnapshotDecoder in = new SnapshotDecoder(buffer);
+        String[] strings = in.readStringTable();
+
+        int owner = in.readVarInt();
+        int gameType = in.readByte();
+        if (gameType > GameType.values().length){
+            throw new IOException("Error: League record game type is not valid");
+        }
+        League l = new League(id, owner, name, gameType == 0 ? null : GameType.values()[gameType - 1]);
+        l.setStartDate(in.readSignedVarInt());
+        l.setEndDate(in.readSignedVarInt());
+        l.setRounds(in.readVarInt());
+        for (int ownerId : readIds(in)){
+            l.addOwner(ownerId);
+        }
+
+        int invites = in.readVarInt();
+        for (int i = 0; i < invites; i++){
+            l.addPlayerInvite(strings[in.readVarInt()]);
+        }
+
+        int members = in.readVarInt();
+        for (int i = 0; i < members; i++){
+            LeagueMember m = new LeagueMember(in.readVarInt());
+            m.setActive(in.readByte() == 1);
+            int gameDays = in.readVarInt();
+            int day = 0;
+            for (int j = 0; j < gameDays; j++){
+                day += in.readSignedVarInt();
+                m.addGameDay(day, strings[in.readVarInt()]);
+            }
+            l.addMember(m);
+        }
+
+        long[] words = new long[in.readVarInt()];
+        int[] blocks = new int[words.length];
+        int block = 0;
+        for (int i = 0; i < words.length; i++){
+            block += in.readSignedVarInt();
+            blocks[i] = block;
+            words[i] = in.readLong();
+        }
+        l.setCalendar(new LeagueCalendar(blocks, words));
+
+        ResultTable results = new ResultTable();
+        int rows = in.readVarInt();
+        int rowDay = 0;
+        for (int r = 0; r < rows; r++){
+            rowDay += in.readSignedVarInt();
+            int width = in.readVarInt();
+            int[] points = new int[width];
+            int[] scores = new int[width];
+            for (int s = 0; s < width; s++){
+                points[s] = in.readSignedVarInt();
+            }
+            for (int s = 0; s < width; s++){
+                scores[s] = in.readSignedVarInt();
+            }
+            results.putRow(rowDay, points, scores);
+        }
+        l.setResults(results);
+        return l;
+    }
+}
@@ -0,0 +1,524 @@
+package gamesleague;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes checkpoints of a GamesLeague to a binary snapshot on a background thread, so saving does not hold up
+ * the calls being made. Each checkpoint only holds what has changed since the one before it: copies of the
+ * changed players, and the changed leagues themselves, which are frozen so that the GamesLeague copies a league
+ * before changing it again instead of changing it while it is written.
+ *
+ * Changed leagues are added to the end of the snapshot followed by a new directory, so leagues that have not
+ * changed are never written again. Once the file is more than twice the size of the records that are still in
+ * use, it is compacted by writing a new file, copying records that have not changed straight across, and moving
+ * it over the old one.
+ *
+ * Everything below apart from submit and close is only used by the background thread.
+ */
+public class Checkpointer {
+    /**
+     * Everything that has changed in a GamesLeague since the last checkpoint, taken at a single point in time.
+     */
+    public static class Checkpoint {
+        /**
+         * Sequence number of the last journal record included in the checkpoint.
+         */
+        private long journalSequence;
+
+        /**
+         * The most characters a game report could hold when the checkpoint was taken, or -1 for no limit.
+         */
+        private int maxGameReportLength;
+
+        /**
+         * True if everything was erased or loaded, so the checkpoint holds every player and league.
+         */
+        private boolean reset;
+
+        /**
+         * Copies of the players that have been created or changed.
+         */
+        private ArrayList<Player> players = new ArrayList<>();
+
+        /**
+         * Frozen leagues that have been created or changed.
+         */
+        private ArrayList<League> leagues = new ArrayList<>();
+
+        /**
+         * IDs of the leagues that have been removed.
+         */
+        private ArrayList<Integer> removedLeagueIds = new ArrayList<>();
+
+        /**
+         * The snapshot that leagues which have never been read are still in, or null if there are none.
+         */
+        private BinarySnapshot source = null;
+
+        /**
+         * Position in the source's directory of each league that has never been read.
+         */
+        private IntList sourceIndexes = new IntList();
+
+        /**
+         * Constructor for the Checkpoint class
+         *
+         * @param journalSequence Sequence number of the last journal record included in the checkpoint
+         * @param maxGameReportLength The most characters a game report can hold, or -1 for no limit
+         * @param reset True if the checkpoint holds every player and league
+         */
+        public Checkpoint(long journalSequence, int maxGameReportLength, boolean reset){
+            this.journalSequence = journalSequence;
+            this.maxGameReportLength = maxGameReportLength;
+            this.reset = reset;
+        }
+
+        /**
+         * Adds a copy of a changed player to the checkpoint
+         *
+         * @param player The copy of the player
+         */
+        public void addPlayer(Player player){
+            players.add(player);
+        }
+
+        /**
+         * Adds a changed league to the checkpoint, which must already be frozen
+         *
+         * @param league The frozen league
+         */
+        public void addLeague(League league){
+            leagues.add(league);
+        }
+
+        /**
+         * Records that a league has been removed
+         *
+         * @param leagueId The ID of the removed league
+         */
+        public void removeLeague(int leagueId){
+            removedLeagueIds.add(leagueId);
+        }
+
+        /**
+         * Adds a league that has never been read from the snapshot it was loaded from, so its record is copied
+         * from that snapshot without reading it
+         *
+         * @param snapshot The snapshot the league is in
+         * @param index The position of the league in the snapshot's directory
+         */
+        public void addUnloadedLeague(BinarySnapshot snapshot, int index){
+            source = snapshot;
+            sourceIndexes.add(index);
+        }
+    }
+
+    /**
+     * Location of the snapshot file.
+     */
+    private Path path;
+
+    /**
+     * The snapshot file, positioned at the end of the last complete checkpoint.
+     */
+    private FileChannel channel;
+
+    /**
+     * The thread checkpoints are written on.
+     */
+    private ExecutorService executor;
+
+    /**
+     * The latest copy of every player, indexed by their ID.
+     */
+    private IdIndex<Player> players = new IdIndex<>();
+
+    /**
+     * Position and length of the players section in the file.
+     */
+    private long playersOffset;
+    private int playersLength;
+
+    /**
+     * Length of the last directory and trailer written.
+     */
+    private long directoryLength;
+
+    /**
+     * Name of every league in the directory, indexed by league ID.
+     */
+    private IdIndex<String> leagueNames = new IdIndex<>();
+
+    /**
+     * Emails of the pending invites of every league in the directory, indexed by league ID.
+     */
+    private IdIndex<String[]> leagueInvites = new IdIndex<>();
+
+    /**
+     * Position and length of every league's record in the file, indexed by league ID.
+     */
+    private IdIndex<long[]> leagueRecords = new IdIndex<>();
+
+    /**
+     * Leagues from checkpoints that could not be written, which are written with the next checkpoint.
+     */
+    private IdIndex<League> unwritten = new IdIndex<>();
+
+    /**
+     * Records of leagues that have never been read from the snapshot they were loaded from, indexed by league ID,
+     * which are copied from that snapshot when the file is next written again.
+     */
+    private IdIndex<ByteBuffer> copied = new IdIndex<>();
+
+    /**
+     * True if the players have changed since the players section was last written.
+     */
+    private boolean playersChanged = false;
+
+    /**
+     * True if the whole file must be written again, since everything was erased or loaded.
+     */
+    private boolean rewrite = false;
+
+    /**
+     * Constructor for the Checkpointer class, which carries on from a snapshot that has just been written
+     *
+     * @param filename Location of the snapshot file
+     * @param snapshot The snapshot opened from the file
+     * @throws IOException If the file cannot be opened for writing
+     */
+    public Checkpointer(String filename, BinarySnapshot snapshot) throws IOException{
+        path = Paths.get(filename);
+        for (Player p : snapshot.getPlayers()){
+            players.put(p.getId(), p);
+        }
+        playersOffset = snapshot.getPlayersOffset();
+        playersLength = snapshot.getPlayersLength();
+        for (int i = 0; i < snapshot.getLeagueCount(); i++){
+            leagueNames.put(snapshot.getLeagueId(i), snapshot.getLeagueName(i));
+            leagueInvites.put(snapshot.getLeagueId(i), snapshot.getLeagueInvites(i));
+            leagueRecords.put(snapshot.getLeagueId(i), new long[]{snapshot.getLeagueOffset(i), snapshot.getLeagueLength(i)});
+        }
+        directoryLength = snapshot.getLength() - liveRecordBytes();
+
+        // Anything after the last complete checkpoint is cut off so new ones are added straight after it
+        channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        if (channel.size() > snapshot.getLength()){
+            channel.truncate(snapshot.getLength());
+        }
+        channel.position(snapshot.getLength());
+
+        // The thread is a daemon so it never keeps the program running on its own
+        executor = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "GamesLeague checkpointer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Queues a checkpoint to be written on the background thread
+     *
+     * @param checkpoint The changes to be written
+     * @return A future that gives the journal sequence number of the checkpoint once it is on the disk
+     */
+    public Future<Long> submit(Checkpoint checkpoint){
+        return executor.submit(() -> write(checkpoint));
+    }
+
+    /**
+     * Waits for every queued checkpoint to be written, then closes the file. Leagues that could not be
+     * written are unfrozen so they can be changed again.
+     *
+     * @throws IOException If the file cannot be closed
+     */
+    public void close() throws IOException{
+        executor.shutdown();
+        try {
+            while (!executor.awaitTermination(1, TimeUnit.SECONDS)){
+                // Keep waiting for the last checkpoint to be written
+            }
+        }
+        catch (InterruptedException e){
+            Thread.currentThread().interrupt();
+        }
+        for (int id : unwritten.ids()){
+            unwritten.get(id).thaw();
+        }
+        unwritten.clear();
+        channel.close();
+    }
+
+    /**
+     * Writes a checkpoint to the file
+     *
+     * @param checkpoint The changes to be written
+     * @return The journal sequence number of the checkpoint
+     * @throws IOException If the checkpoint cannot be written, in which case its changes are written with the next one
+     */
+    private long write(Checkpoint checkpoint) throws IOException{
+        // Update the copies of everything, keeping changes from checkpoints that could not be written
+        if (checkpoint.reset){
+            players.clear();
+            leagueNames.clear();
+            leagueInvites.clear();
+            leagueRecords.clear();
+            for (int id : unwritten.ids()){
+                unwritten.get(id).thaw();
+            }
+            unwritten.clear();
+            copied.clear();
+            rewrite = true;
+        }
+        for (int i = 0; i < checkpoint.sourceIndexes.size(); i++){
+            int index = checkpoint.sourceIndexes.get(i);
+            int id = checkpoint.source.getLeagueId(index);
+            leagueNames.put(id, checkpoint.source.getLeagueName(index));
+            leagueInvites.put(id, checkpoint.source.getLeagueInvites(index));
+            copied.put(id, checkpoint.source.getLeagueRecord(index));
+        }
+        for (Player p : checkpoint.players){
+            players.put(p.getId(), p);
+            playersChanged = true;
+        }
+        for (int id : checkpoint.removedLeagueIds){
+            leagueNames.remove(id);
+            leagueInvites.remove(id);
+            leagueRecords.remove(id);
+            copied.remove(id);
+            if (unwritten.contains(id)){
+                unwritten.get(id).thaw();
+                unwritten.remove(id);
+            }
+        }
+        for (League l : checkpoint.leagues){
+            if (unwritten.contains(l.getId())){
+                unwritten.get(l.getId()).thaw();
+            }
+            unwritten.put(l.getId(), l);
+            copied.remove(l.getId());
+            leagueNames.put(l.getId(), l.getName());
+            leagueInvites.put(l.getId(), l.getPlayerInvites().toArray(new String[0]));
+        }
+
+        if (rewrite || channel.position() > (liveRecordBytes() + directoryLength) * 2){
+            compact(checkpoint.journalSequence, checkpoint.maxGameReportLength);
+        }
+        else {
+            append(checkpoint.journalSequence, checkpoint.maxGameReportLength);
+        }
+
+        // Nothing is waiting to be written now, so the leagues can be changed again
+        for (int id : unwritten.ids()){
+            unwritten.get(id).thaw();
+        }
+        unwritten.clear();
+        copied.clear();
+        playersChanged = false;
+        rewrite = false;
+        return checkpoint.journalSequence;
+    }
+
+    /**
+     * Adds the unwritten leagues, the players if they have changed, and a new directory to the end of the file
+     *
+     * @param journalSequence Sequence number of the last journal record included in the checkpoint
+     * @param maxGameReportLength The most characters a game report can hold, or -1 for no limit
+     * @throws IOException If the file cannot be written
+     */
+    private void append(long journalSequence, int maxGameReportLength) throws IOException{
+        long end = channel.position();
+        SnapshotEncoder out = new SnapshotEncoder();
+        long newPlayersOffset = playersOffset;
+        int newPlayersLength = playersLength;
+        long newDirectoryLength;
+        IdIndex<long[]> newRecords = new IdIndex<>();
+
+        try {
+            if (playersChanged){
+                newPlayersOffset = channel.position();
+                BinarySnapshot.writePlayers(out, playerList());
+                newPlayersLength = out.size();
+                out.writeTo(channel);
+            }
+            for (int id : unwritten.ids()){
+                long offset = channel.position();
+                BinarySnapshot.writeLeague(out, unwritten.get(id));
+                newRecords.put(id, new long[]{offset, out.size()});
+                out.writeTo(channel);
+            }
+
+            // Leagues that were not written keep pointing at their old records
+            for (int id : leagueRecords.ids()){
+                if (!newRecords.contains(id)){
+                    newRecords.put(id, leagueRecords.get(id));
+                }
+            }
+            writeDirectory(out, channel.position(), journalSequence, maxGameReportLength, newPlayersOffset,
+                    newPlayersLength, newRecords);
+            newDirectoryLength = out.size();
+            out.writeTo(channel);
+            channel.force(true);
+        }
+        catch (IOException e){
+            // Cut off the partly written checkpoint so the next one is added after the last complete one
+            channel.truncate(end);
+            channel.position(end);
+            throw e;
+        }
+
+        directoryLength = newDirectoryLength;
+        playersOffset = newPlayersOffset;
+        playersLength = newPlayersLength;
+        leagueRecords = newRecords;
+    }
+
+    /**
+     * Writes a new file holding only the records that are still in use, then moves it over the old file.
+     * Records of leagues that have not changed are copied straight from the old file, or from the snapshot they
+     * were loaded from if they have never been read.
+     *
+     * @param journalSequence Sequence number of the last journal record included in the checkpoint
+     * @param maxGameReportLength The most characters a game report can hold, or -1 for no limit
+     * @throws IOException If the new file cannot be written or moved
+     */
+    private void compact(long journalSequence, int maxGameReportLength) throws IOException{
+        Path temp = Paths.get(path + ".tmp");
+        SnapshotEncoder out = new SnapshotEncoder();
+        IdIndex<long[]> newRecords = new IdIndex<>();
+        long newPlayersOffset = BinarySnapshot.HEADER_SIZE;
+        int newPlayersLength;
+        long newDirectoryLength;
+
+        try (FileChannel copy = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)){
+            BinarySnapshot.writeHeader(out);
+            BinarySnapshot.writePlayers(out, playerList());
+            newPlayersLength = out.size() - BinarySnapshot.HEADER_SIZE;
+            out.writeTo(copy);
+
+            for (int id : leagueNames.ids()){
+                long offset = copy.position();
+                if (unwritten.contains(id)){
+                    BinarySnapshot.writeLeague(out, unwritten.get(id));
+                    newRecords.put(id, new long[]{offset, out.size()});
+                    out.writeTo(copy);
+                }
+                else if (copied.contains(id)){
+                    ByteBuffer record = copied.get(id);
+                    BinarySnapshot.writeRecord(copy, record);
+                    newRecords.put(id, new long[]{offset, record.remaining()});
+                }
+                else {
+                    long[] record = leagueRecords.get(id);
+                    long copied = 0;
+                    while (copied < record[1]){
+                        copied += channel.transferTo(record[0] + copied, record[1] - copied, copy);
+                    }
+                    copy.position(offset + record[1]);
+                    newRecords.put(id, new long[]{offset, record[1]});
+                }
+            }
+
+            writeDirectory(out, copy.position(), journalSequence, maxGameReportLength, newPlayersOffset,
+                    newPlayersLength, newRecords);
+            newDirectoryLength = out.size();
+            out.writeTo(copy);
+            copy.force(true);
+        }
+        catch (IOException e){
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+
+        // The old file is only replaced once the new one is complete on the disk. It is closed so it can be
+        // replaced, and if the move fails it is opened again so the next checkpoint carries on from it
+        long end = channel.position();
+        channel.close();
+        try {
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        catch (IOException e){
+            Files.deleteIfExists(temp);
+            channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            channel.position(end);
+            throw e;
+        }
+        channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        channel.position(channel.size());
+
+        directoryLength = newDirectoryLength;
+        playersOffset = newPlayersOffset;
+        playersLength = newPlayersLength;
+        leagueRecords = newRecords;
+    }
+
+    /**
+     * Writes a directory of every league followed by the trailer
+     *
+     * @param out The encoder to write to
+     * @param directoryOffset The position in the file the directory is written at
+     * @param journalSequence Sequence number of the last journal record included in the checkpoint
+     * @param maxGameReportLength The most characters a game report can hold, or -1 for no limit
+     * @param playersOffset The position of the players section
+     * @param playersLength The length of the players section
+     * @param records The position and length of every league record, indexed by league ID
+     */
+    private void writeDirectory(SnapshotEncoder out, long directoryOffset, long journalSequence,
+            int maxGameReportLength, long playersOffset, int playersLength, IdIndex<long[]> records){
+        int[] ids = records.ids();
+        String[] names = new String[ids.length];
+        long[] offsets = new long[ids.length];
+        int[] lengths = new int[ids.length];
+        String[][] invites = new String[ids.length][];
+        for (int i = 0; i < ids.length; i++){
+            names[i] = leagueNames.get(ids[i]);
+            invites[i] = leagueInvites.get(ids[i]);
+            offsets[i] = records.get(ids[i])[0];
+            lengths[i] = (int) records.get(ids[i])[1];
+        }
+        BinarySnapshot.writeDirectory(out, directoryOffset, journalSequence, maxGameReportLength, playersOffset,
+                playersLength, ids, names, offsets, lengths, invites, ids.length);
+    }
+
+    /**
+     * Counts the bytes in the file that are still in use by the header, the players section and league records.
+     * Leagues waiting to be written are not counted, as their old records will not be used again.
+     *
+     * @return The number of bytes in use, not counting the directory
+     */
+    private long liveRecordBytes(){
+        long live = BinarySnapshot.HEADER_SIZE + playersLength;
+        for (int id : leagueRecords.ids()){
+            if (!unwritten.contains(id)){
+                live += leagueRecords.get(id)[1];
+            }
+        }
+        return live;
+    }
+
+    /**
+     * Gets the latest copy of every player in ID order
+     *
+     * @return An ArrayList of the players
+     */
+    private ArrayList<Player> playerList(){
+        ArrayList<Player> list = new ArrayList<>();
+        for (int id : players.ids()){
+            list.add(players.get(id));
+        }
+        return list;
+    }
+}
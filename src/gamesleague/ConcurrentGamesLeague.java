@@ -0,0 +1,1640 @@
+package gamesleague;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Thread-safe GamesLeague for when calls are made from many threads at once. Every call is passed on to a
+ * GamesLeague while holding locks, chosen so that calls on different leagues can run at the same time.
+ *
+ * The registry lock is a read-write lock over the player and league indexes. Calls that create, remove, rename or
+ * deactivate players and leagues hold its write lock so nothing else runs while they do. Every other call holds its
+ * read lock, along with the lock of the league it is on and the lock of any player it changes, or the locks of
+ * every league a player is in when it reads all of them. League and player locks are striped, so each ID shares
+ * one of a fixed number of locks.
+ *
+ * Locks are always taken in the same order, the registry lock, then the league locks in ascending order, then the
+ * player's lock, so two calls can never each be waiting for a lock that the other holds.
+ *
+ * Day, week, month and year statuses, scores, points and rankings are read without any lock. After every call
+ * that changes a league's members, dates, day statuses or results, a LeagueResults snapshot of the league is
+ * published while its lock is still held, and these reads are answered from the latest snapshot. A read never
+ * waits for a write and always sees the whole of a change or none of it.
+ */
+public class ConcurrentGamesLeague implements GamesLeagueInterface {
+    /**
+     * Number of league locks and of player locks, which must be a power of 2.
+     */
+    private static final int STRIPES = 64;
+
+    /**
+     * Number of leagues that a ScoreBatch registers the scores of itself, rather than splitting them in two.
+     */
+    private static final int LEAGUES_PER_TASK = 16;
+
+    /**
+     * The GamesLeague that every call is passed on to.
+     */
+    private GamesLeague games;
+
+    /**
+     * Lock over the player and league indexes.
+     */
+    private ReentrantReadWriteLock registryLock;
+
+    /**
+     * Striped locks for leagues, indexed by the lower bits of the league ID.
+     */
+    private ReentrantLock[] leagueLocks;
+
+    /**
+     * Striped locks for players, indexed by the lower bits of the player ID.
+     */
+    private ReentrantLock[] playerLocks;
+
+    /**
+     * The latest LeagueResults of every league, indexed by league ID.
+     */
+    private ConcurrentHashMap<Integer, LeagueResults> published;
+
+    /**
+     * Constructor for the ConcurrentGamesLeague class, which starts with an empty GamesLeague
+     */
+    public ConcurrentGamesLeague(){
+        games = new GamesLeague();
+        registryLock = new ReentrantReadWriteLock();
+        leagueLocks = new ReentrantLock[STRIPES];
+        playerLocks = new ReentrantLock[STRIPES];
+        for (int i = 0; i < STRIPES; i++){
+            leagueLocks[i] = new ReentrantLock();
+            playerLocks[i] = new ReentrantLock();
+        }
+        published = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Takes the lock of a league
+     *
+     * @param leagueId The ID of the league
+     * @return The lock that was taken
+     */
+    private ReentrantLock lockLeague(int leagueId){
+        ReentrantLock lock = leagueLocks[leagueId & (STRIPES - 1)];
+        lock.lock();
+        return lock;
+    }
+
+    /**
+     * Takes the lock of a player
+     *
+     * @param playerId The ID of the player
+     * @return The lock that was taken
+     */
+    private ReentrantLock lockPlayer(int playerId){
+        ReentrantLock lock = playerLocks[playerId & (STRIPES - 1)];
+        lock.lock();
+        return lock;
+    }
+
+    /**
+     * Finds which league lock stripes the leagues a player is in fall on. The player's lock must be held.
+     *
+     * @param playerId The ID of the player
+     * @return For each stripe, whether one of the player's leagues falls on it
+     */
+    private boolean[] leagueStripesOf(int playerId){
+        boolean[] stripes = new boolean[STRIPES];
+        Player player = games.getPlayerIfExist(playerId);
+        if (player != null){
+            IntSet leagueIds = player.getLeagueIds();
+            for (int i = 0; i < leagueIds.size(); i++){
+                stripes[leagueIds.get(i) & (STRIPES - 1)] = true;
+            }
+        }
+        return stripes;
+    }
+
+    /**
+     * Takes the locks of every league a player is in in ascending order, then the player's lock. The player's
+     * leagues are read before their locks are taken, so they are read again once every lock is held and the locks
+     * are taken again if they changed in between. The registry read lock must be held.
+     *
+     * @param playerId The ID of the player
+     * @return The locks that were taken, in the order they were taken
+     */
+    private ArrayList<ReentrantLock> lockPlayerLeagues(int playerId){
+        ReentrantLock playerLock = lockPlayer(playerId);
+        boolean[] stripes;
+        try {
+            stripes = leagueStripesOf(playerId);
+        }
+        finally {
+            playerLock.unlock();
+        }
+
+        while (true){
+            ArrayList<ReentrantLock> locks = new ArrayList<>();
+            for (int i = 0; i < STRIPES; i++){
+                if (stripes[i]){
+                    leagueLocks[i].lock();
+                    locks.add(leagueLocks[i]);
+                }
+            }
+            locks.add(lockPlayer(playerId));
+
+            boolean[] current = leagueStripesOf(playerId);
+            if (Arrays.equals(current, stripes)){
+                return locks;
+            }
+            unlockAll(locks);
+            stripes = current;
+        }
+    }
+
+    /**
+     * Lets go of locks in the opposite order to the one they were taken in
+     *
+     * @param locks The locks, in the order they were taken
+     */
+    private void unlockAll(ArrayList<ReentrantLock> locks){
+        for (int i = locks.size() - 1; i >= 0; i--){
+            locks.get(i).unlock();
+        }
+    }
+
+    /**
+     * Publishes a new snapshot of a league's results, or removes its results if the league no longer exists.
+     * The league's lock or the registry write lock must be held.
+     *
+     * @param leagueId The ID of the league
+     */
+    private void publishResults(int leagueId){
+        League league = games.getLeagueIfExist(leagueId);
+        if (league == null){
+            published.remove(leagueId);
+        }
+        else {
+            published.put(leagueId, new LeagueResults(league, published.get(leagueId)));
+        }
+    }
+
+    /**
+     * Throws away every published result and publishes the results of every loaded league again, used once the
+     * whole system has been replaced. Leagues still in the snapshot are published when their results are first
+     * read. The registry write lock must be held.
+     */
+    private void publishAllResults(){
+        published.clear();
+        for (int leagueId : games.getLoadedLeagueIds()){
+            publishResults(leagueId);
+        }
+    }
+
+    /**
+     * Gets the latest snapshot of a league's members, dates, day statuses and results. Every query on the snapshot
+     * is answered from the same version of the league. No lock is held, unless the league has no snapshot yet
+     * because it is still in the file it was loaded from, in which case it is read and published holding the
+     * registry read lock and the league's lock.
+     *
+     * @param leagueId The ID of the league
+     * @return The latest snapshot of the league
+     * @throws IDInvalidException If the ID does not match to any league in the system
+     */
+    public LeagueResults getLeagueResults(int leagueId) throws IDInvalidException{
+        LeagueResults results = published.get(leagueId);
+        if (results == null){
+            results = publishUnloadedResults(leagueId);
+        }
+        if (results == null){
+            throw new IDInvalidException("Error: League ID does not match to an existing league.");
+        }
+        return results;
+    }
+
+    /**
+     * Reads a league that is still in the snapshot and publishes its results
+     *
+     * @param leagueId The ID of the league
+     * @return The published results, or null if the league does not exist
+     */
+    private LeagueResults publishUnloadedResults(int leagueId){
+        registryLock.readLock().lock();
+        ReentrantLock league = lockLeague(leagueId);
+        try {
+            // Another call may have published the results while this one was waiting for the locks
+            if (!published.containsKey(leagueId) && games.doesLeagueExist(leagueId)){
+                publishResults(leagueId);
+            }
+            return published.get(leagueId);
+        }
+        finally {
+            league.unlock();
+            registryLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Gets the IDs of every player. Holds the registry read lock.
+     *
+     * @see GamesLeague#getPlayerIds()
+     */
+    public int[] getPlayerIds(){
+        registryLock.readLock().lock();
+        try {
+            return games.getPlayerIds();
+        }
+        finally {
+            registryLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Creates a player, which changes the player indexes. Holds the registry write lock, so no other call is made
+     * at the same time.
+     *
+     * @see GamesLeague#createPlayer(String, String, String, String)
+     */
+    public int createPlayer(String email, String displayName, String name, String phone) throws InvalidEmailException, IllegalEmailException, InvalidNameException{
+        registryLock.writeLock().lock();
+        try {
+            return games.createPlayer(email, displayName, name, phone);
+        }
+        finally {
+            registryLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Deactivates a player, which changes the player indexes and every league they are in. Holds the registry
+     * write lock, so no other call is made at the same time.
+     *
+     * @see GamesLeague#deactivatePlayer(int)
+     */
+    public void deactivatePlayer(int playerId) throws IDInvalidException, IllegalOperationException{
+        registryLock.writeLock().lock();
+        try {
+            games.deactivatePlayer(playerId);
+        }
+        finally {
+            registryLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Checks if a player has been deactivated. Holds the registry read lock.
+     *
+     * @see GamesLeague#isDeactivatedPlayer(int)
+     */
+    public boolean isDeactivatedPlayer(int playerId) throws IDInvalidException{
+        registryLock.readLock().lock();
+        try {
+            return games.isDeactivatedPlayer(playerId);
+        }
+        finally {
+            registryLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Updates a player's display name, which changes the display name index. Holds the registry write lock, so no
+     * other call is made at the same time.
+     *
+     * @see GamesLeague#updatePlayerDisplayName(int, String)
+     */
+    public void updatePlayerDisplayName(int playerId, String displayName) throws IDInvalidException, InvalidNameException{
+        registryLock.writeLock().lock();
+        try {
+            games.updatePlayerDisplayName(playerId, displayName);
+        }
+        finally {
+            registryLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Gets the ID of the player with an email. Holds the registry read lock.
+     *
+     * @see GamesLeague#getPlayerId(String)
+     */
+    public int getPlayerId(String email){
+        registryLock.readLock().lock();
+        try {
+            return games.getPlayerId(email);
+        }
+        finally {
+            registryLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Gets the ID of the player with an email, ignoring case. Holds the registry read lock.
+     *
+     * @see GamesLeague#getPlayerIdIgnoreCase(String)
+     */
+    public int getPlayerIdIgnoreCase(String email){
+        registryLock.readLock().lock();
+        try {
+            return games.getPlayerIdIgnoreCase(email);
+        }
+        finally {
+            registryLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Gets the IDs of the players with a display name. Holds the registry read lock.
+     *
+     * @see GamesLeague#getPlayerIdsByDisplayName(String)
+     */
+    public int[] getPlayerIdsByDisplayName(String displayName){
+        registryLock.readLock().lock();
+        try {
+            return games.getPlayerIdsByDisplayName(displayName);
+        }
+        finally {
+            registryLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Gets a player's display name. Holds the registry read lock.
+     *
+     * @see GamesLeague#getPlayerDisplayName(int)
+     */
+    public String getPlayerDisplayName(int playerId) throws IDInvalidException{
+        registryLock.readLock().lock();
+        try {
+            return games.getPlayerDisplayName(playerId);
+        }
+        finally {
+            registryLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Gets a player's email. Holds the registry read lock.
+     *
+     * @see GamesLeague#getPlayerEmail(int)
+     */
+    public String getPlayerEmail(int playerId) throws IDInvalidException{
+        registryLock.readLock().lock();
+        try {
+            return games.getPlayerEmail(playerId);
+        }
+        finally {
+            registryLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Gets the leagues a player is in, which reads every one of those leagues. Holds the registry read lock, the
+     * lock of every league the player is in and the player's lock.
+     *
+     * @see GamesLeague#getPlayerLeagues(int)
+     */
+    public int[] getPlayerLeagues(int playerId) throws IDInvalidException{
+        registryLock.readLock().lock();
+        ArrayList<ReentrantLock> locks = lockPlayerLeagues(playerId);
+        try {
+            return games.getPlayerLeagues(playerId);
+        }
+        finally {
+            unlockAll(locks);
+            registryLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Gets the leagues a player owns. Holds the registry read lock and the player's lock.
+     *
+     * @see GamesLeague#getPlayerOwnedLeagues(int)
+     */
+    public int[] getPlayerOwnedLeagues(int playerId) throws IDInvalidException{
+        registryLock.readLock().lock();
+        ReentrantLock player = lockPlayer(playerId);
+        try {
+            return games.getPlayerOwnedLeagues(playerId);
+        }
+        finally {
+            player.unlock();
+            registryLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Gets the leagues a player has been invited to. Holds the registry read lock and the player's lock.
+     *
+     * @see GamesLeague#getPlayerInvites(int)
+     */
+    public int[] getPlayerInvites(int playerId) throws IDInvalidException{
+        registryLock.readLock().lock();
+        ReentrantLock player = lockPlayer(playerId);
+        try {
+            return games.getPlayerInvites(playerId);
+        }
+        finally {
+            player.unlock();
+            registryLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Gets the number of rounds a player has played. Holds the registry read lock and the player's lock.
+     *
+     * @see GamesLeague#getPlayerRoundsPlayed(int)
+     */
+    public int getPlayerRoundsPlayed(int playerId) throws IDInvalidException{
+        registryLock.readLock().lock();
+        ReentrantLock player = lockPlayer(playerId);
+        try {
+            return games.getPlayerRoundsPlayed(playerId);
+        }
+        finally {
+            player.unlock();
+            registryLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Adds one to the number of rounds a player has played. Holds the registry read lock and the player's lock.
+     *
+     * @see GamesLeague#incrementRoundPlayed(int)
+     */
+    public void incrementRoundPlayed(int playerId) throws IDInvalidException{
+        registryLock.readLock().lock();
+        ReentrantLock player = lockPlayer(playerId);
+        try {
+            games.incrementRoundPlayed(playerId);
+        }
+        finally {
+            player.unlock();
+            registryLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Gets a player's round participation percentage, which reads every league they are in. Holds the registry
+     * read lock, the lock of every league the player is in and the player's lock.
+     *
+     * @see GamesLeague#getPlayerRoundsPercentage(int)
+     */
+    public double getPlayerRoundsPercentage(int playerId) throws IDInvalidException{
+        registryLock.readLock().lock();
+        ArrayList<ReentrantLock> locks = lockPlayerLeagues(playerId);
+        try {
+            return games.getPlayerRoundsPercentage(playerId);
+        }
+        finally {
+            unlockAll(locks);
+            registryLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Gets the date a player joined. Holds the registry read lock.
+     *
+     * @see GamesLeague#getPlayerJoinDate(int)
+     */
+    public LocalDate getPlayerJoinDate(int playerId) throws IDInvalidException{
+        registryLock.readLock().lock();
+        try {
+            return games.getPlayerJoinDate(playerId);
+        }
+        finally {
+            registryLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Gets the IDs of every league. Holds the registry read lock.
+     *
+     * @see GamesLeague#getLeagueIds()
+     */
+    public int[] getLeagueIds(){
+        registryLock.readLock().lock();
+        try {
+            return games.getLeagueIds();
+        }
+        finally {
+            registryLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Creates a league, which changes the league indexes. Holds the registry write lock, so no other call is made
+     * at the same time.
+     *
+     * @see GamesLeague#createLeague(int, String, GameType)
+     */
+    public int createLeague(int owner, String name, GameType gameType) throws IDInvalidException, InvalidNameException, IllegalNameException{
+        registryLock.writeLock().lock();
+        try {
+            int newId = games.createLeague(owner, name, gameType);
+            publishResults(newId);
+            return newId;
+        }
+        finally {
+            registryLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a league, which changes the league indexes and every player in it. Holds the registry write lock, so
+     * no other call is made at the same time.
+     *
+     * @see GamesLeague#removeLeague(int)
+     */
+    public void removeLeague(int leagueId) throws IDInvalidException{
+        registryLock.writeLock().lock();
+        try {
+            games.removeLeague(leagueId);
+        }
+        finally {
+            publishResults(leagueId);
+            registryLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Gets the name of a league. Holds the registry read lock.
+     *
+     * @see GamesLeague#getLeagueName(int)
+     */
+    public String getLeagueName(int leagueId) throws IDInvalidException{
+        registryLock.readLock().lock();
+        try {
+            return games.getLeagueName(leagueId);
+        }
+        finally {
+            registryLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Gets the ID of the league with a name. Holds the registry read lock.
+     *
+     * @see GamesLeague#getLeagueIdByName(String)
+     */
+    public int getLeagueIdByName(String name){
+        registryLock.readLock().lock();
+        try {
+            return games.getLeagueIdByName(name);
+        }
+        finally {
+            registryLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Updates the name of a league, which changes the league name index. Holds the registry write lock, so no
+     * other call is made at the same time.
+     *
+     * @see GamesLeague#updateLeagueName(int, String)
+     */
+    public void updateLeagueName(int leagueId, String newName) throws IDInvalidException, InvalidNameException, IllegalNameException{
+        registryLock.writeLock().lock();
+        try {
+            games.updateLeagueName(leagueId, newName);
+        }
+        finally {
+            registryLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Invites an email to a league. Holds the registry read lock, the league's lock and then the lock of the
+     * player with the email.
+     *
+     * @see GamesLeague#invitePlayerToLeague(int, String)
+     */
+    public void invitePlayerToLeague(int leagueId, String email) throws IDInvalidException, InvalidEmailException{
+        registryLock.readLock().lock();
+        ReentrantLock league = lockLeague(leagueId);
+        ReentrantLock player = lockPlayer(games.getPlayerId(email));
+        try {
+            games.invitePlayerToLeague(leagueId, email);
+        }
+        finally {
+            player.unlock();
+            league.unlock();
+            registryLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Accepts a player's invite to a league. Holds the registry read lock, the league's lock and then the player's
+     * lock.
+     *
+     * @see GamesLeague#acceptInviteToLeague(int, int)
+     */
+    public void acceptInviteToLeague(int leagueId, int playerId) throws IDInvalidException, IllegalOperationException{
+        registryLock.readLock().lock();
+        ReentrantLock league = lockLeague(leagueId);
+        ReentrantLock player = lockPlayer(playerId);
+        try {
+            games.acceptInviteToLeague(leagueId, playerId);
+        }
+        finally {
+            publishResults(leagueId);
+            player.unlock();
+            league.unlock();
+            registryLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Removes an email's invite to a league. Holds the registry read lock, the league's lock and then the lock of
+     * the player with the email.
+     *
+     * @see GamesLeague#removeInviteFromLeague(int, String)
+     */
+    public void removeInviteFromLeague(int leagueId, String email) throws IDInvalidException, IllegalEmailException{
+        registryLock.readLock().lock();
+        ReentrantLock league = lockLeague(leagueId);
+        ReentrantLock player = lockPlayer(games.getPlayerId(email));
+        try {
+            games.removeInviteFromLeague(leagueId, email);
+        }
+        finally {
+            player.unlock();
+            league.unlock();
+            registryLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Gets the emails invited to a league that do not belong to a player. Holds the registry read lock and the
+     * league's lock.
+     *
+     * @see GamesLeague#getLeagueEmailInvites(int)
+     */
+    public String[] getLeagueEmailInvites(int leagueId) throws IDInvalidException{
+        registryLock.readLock().lock();
+        ReentrantLock league = lockLeague(leagueId);
+        try {
+            return games.getLeagueEmailInvites(leagueId);
+        }
+        finally {
+            league.unlock();
+            registryLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Gets the players invited to a league. Holds the registry read lock and the league's lock.
+     *
+     * @see GamesLeague#getLeaguePlayerInvites(int)
+     */
+    public int[] getLeaguePlayerInvites(int leagueId) throws IDInvalidException{
+        registryLock.readLock().lock();
+        ReentrantLock league = lockLeague(leagueId);
+        try {
+            return games.getLeaguePlayerInvites(leagueId);
+        }
+        finally {
+            league.unlock();
+            registryLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Gets the players in a league. Holds the registry read lock and the league's lock.
+     *
+     * @see GamesLeague#getLeaguePlayers(int)
+     */
+    public int[] getLeaguePlayers(int leagueId) throws IDInvalidException{
+        registryLock.readLock().lock();
+        ReentrantLock league = lockLeague(leagueId);
+        try {
+            return games.getLeaguePlayers(leagueId);
+        }
+        finally {
+            league.unlock();
+            registryLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Gets the owners of a league. Holds the registry read lock and the league's lock.
+     *
+     * @see GamesLeague#getLeagueOwners(int)
+     */
+    public int[] getLeagueOwners(int leagueId) throws IDInvalidException{
+        registryLock.readLock().lock();
+        ReentrantLock league = lockLeague(leagueId);
+        try {
+            return games.getLeagueOwners(leagueId);
+        }
+        finally {
+            league.unlock();
+            registryLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Gets the status of a league. Holds the registry read lock and the league's lock.
+     *
+     * @see GamesLeague#getLeagueStatus(int)
+     */
+    public Status getLeagueStatus(int leagueId) throws IDInvalidException{
+        registryLock.readLock().lock();
+        ReentrantLock league = lockLeague(leagueId);
+        try {
+            return games.getLeagueStatus(leagueId);
+        }
+        finally {
+            league.unlock();
+            registryLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Sets the start date of a league. Holds the registry read lock and the league's lock.
+     *
+     * @see GamesLeague#setLeagueStartDate(int, int)
+     */
+    public void setLeagueStartDate(int leagueId, int day) throws IDInvalidException, IllegalOperationException{
+        registryLock.readLock().lock();
+        ReentrantLock league = lockLeague(leagueId);
+        try {
+            games.setLeagueStartDate(leagueId, day);
+        }
+        finally {
+            publishResults(leagueId);
+            league.unlock();
+            registryLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Sets the end date of a league. Holds the registry read lock and the league's lock.
+     *
+     * @see GamesLeague#setLeagueEndDate(int, int)
+     */
+    public void setLeagueEndDate(int leagueId, int day) throws IDInvalidException, IllegalOperationException{
+        registryLock.readLock().lock();
+        ReentrantLock league = lockLeague(leagueId);
+        try {
+            games.setLeagueEndDate(leagueId, day);
+        }
+        finally {
+            publishResults(leagueId);
+            league.unlock();
+            registryLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Gets the start date of a league. Holds the registry read lock and the league's lock.
+     *
+     * @see GamesLeague#getLeagueStartDate(int)
+     */
+    public int getLeagueStartDate(int leagueId) throws IDInvalidException{
+        registryLock.readLock().lock();
+        ReentrantLock league = lockLeague(leagueId);
+        try {
+            return games.getLeagueStartDate(leagueId);
+        }
+        finally {
+            league.unlock();
+            registryLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Gets the close date of a league. Holds the registry read lock and the league's lock.
+     *
+     * @see GamesLeague#getLeagueCloseDate(int)
+     */
+    public int getLeagueCloseDate(int leagueId) throws IDInvalidException{
+        registryLock.readLock().lock();
+        ReentrantLock league = lockLeague(leagueId);
+        try {
+            return games.getLeagueCloseDate(leagueId);
+        }
+        finally {
+            league.unlock();
+            registryLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Resets the gameplay history of a league. Holds the registry read lock and the league's lock.
+     *
+     * @see GamesLeague#resetLeague(int)
+     */
+    public void resetLeague(int leagueId) throws IDInvalidException{
+        registryLock.readLock().lock();
+        ReentrantLock league = lockLeague(leagueId);
+        try {
+            games.resetLeague(leagueId);
+        }
+        finally {
+            publishResults(leagueId);
+            league.unlock();
+            registryLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Clones a league, which creates a league and invites every player in the old one. Holds the registry write
+     * lock, so no other call is made at the same time.
+     *
+     * @see GamesLeague#cloneLeague(int, String)
+     */
+    public int cloneLeague(int leagueId, String newName) throws IDInvalidException, IllegalNameException{
+        registryLock.writeLock().lock();
+        try {
+            int newId = games.cloneLeague(leagueId, newName);
+            publishResults(newId);
+            return newId;
+        }
+        finally {
+            registryLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Checks if a player is active in a league. Holds the registry read lock and the league's lock.
+     *
+     * @see GamesLeague#isLeaguePlayerActive(int, int)
+     */
+    public boolean isLeaguePlayerActive(int leagueId, int playerId) throws IDInvalidException{
+        registryLock.readLock().lock();
+        ReentrantLock league = lockLeague(leagueId);
+        try {
+            return games.isLeaguePlayerActive(leagueId, playerId);
+        }
+        finally {
+            league.unlock();
+            registryLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Sets a player as inactive in a league. Holds the registry read lock and the league's lock.
+     *
+     * @see GamesLeague#setLeaguePlayerInactive(int, int)
+     */
+    public void setLeaguePlayerInactive(int leagueId, int playerId) throws IDInvalidException, IllegalOperationException{
+        registryLock.readLock().lock();
+        ReentrantLock league = lockLeague(leagueId);
+        try {
+            games.setLeaguePlayerInactive(leagueId, playerId);
+        }
+        finally {
+            league.unlock();
+            registryLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Sets a player as active in a league. Holds the registry read lock and the league's lock.
+     *
+     * @see GamesLeague#setLeaguePlayerActive(int, int)
+     */
+    public void setLeaguePlayerActive(int leagueId, int playerId) throws IDInvalidException, IllegalOperationException{
+        registryLock.readLock().lock();
+        ReentrantLock league = lockLeague(leagueId);
+        try {
+            games.setLeaguePlayerActive(leagueId, playerId);
+        }
+        finally {
+            league.unlock();
+            registryLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Adds an owner to a league. Holds the registry read lock, the league's lock and then the player's lock.
+     *
+     * @see GamesLeague#addOwner(int, int)
+     */
+    public void addOwner(int leagueId, int playerId) throws IDInvalidException, IllegalOperationException{
+        registryLock.readLock().lock();
+        ReentrantLock league = lockLeague(leagueId);
+        ReentrantLock player = lockPlayer(playerId);
+        try {
+            games.addOwner(leagueId, playerId);
+        }
+        finally {
+            player.unlock();
+            league.unlock();
+            registryLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Removes an owner from a league. Holds the registry read lock, the league's lock and then the player's lock.
+     *
+     * @see GamesLeague#removeOwner(int, int)
+     */
+    public void removeOwner(int leagueId, int playerId) throws IDInvalidException, IllegalOperationException{
+        registryLock.readLock().lock();
+        ReentrantLock league = lockLeague(leagueId);
+        ReentrantLock player = lockPlayer(playerId);
+        try {
+            games.removeOwner(leagueId, playerId);
+        }
+        finally {
+            player.unlock();
+            league.unlock();
+            registryLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Registers a player's gameplay in a league, which also adds to their rounds played. Holds the registry read
+     * lock, the league's lock and then the player's lock.
+     *
+     * @see GamesLeague#registerGameReport(int, int, int, String)
+     */
+    public void registerGameReport(int day, int leagueId, int playerId, String gameReport) throws IDInvalidException, IllegalOperationException{
+        registryLock.readLock().lock();
+        ReentrantLock league = lockLeague(leagueId);
+        ReentrantLock player = lockPlayer(playerId);
+        try {
+            games.registerGameReport(day, leagueId, playerId, gameReport);
+        }
+        finally {
+            publishResults(leagueId);
+            player.unlock();
+            league.unlock();
+            registryLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Registers many game reports at once. The reports are grouped by league, and each league's reports are
+     * registered one after another, in the order they are given, while holding the league's lock, so a league's
+     * lock is taken once for all of its reports instead of once for each. Each report also holds its player's
+     * lock. Holds the registry read lock until every report has been registered.
+     *
+     * A report that cannot be registered does not stop the reports after it.
+     *
+     * @param entries The game reports to be registered
+     * @return An array with one element for each entry, which is null if the report was registered, or the
+     *         exception that registerGameReport would have thrown for it if not
+     * @see GamesLeague#registerGameReport(int, int, int, String)
+     */
+    public RuntimeException[] registerGameReports(GameReportEntry[] entries){
+        RuntimeException[] failures = new RuntimeException[entries.length];
+        registryLock.readLock().lock();
+        try {
+            int[] leagueIds = new int[entries.length];
+            for (int i = 0; i < entries.length; i++){
+                if (entries[i] == null){
+                    failures[i] = new IllegalArgumentException("Error: There is no game report to register");
+                }
+                else {
+                    leagueIds[i] = entries[i].getLeagueId();
+                }
+            }
+
+            for (ArrayList<Integer> group : groupByLeague(leagueIds, failures)){
+                int leagueId = leagueIds[group.get(0)];
+                ReentrantLock league = lockLeague(leagueId);
+                try {
+                    for (int i : group){
+                        GameReportEntry entry = entries[i];
+                        ReentrantLock player = lockPlayer(entry.getPlayerId());
+                        try {
+                            games.registerGameReport(entry.getDay(), leagueId, entry.getPlayerId(),
+                                    entry.getGameReport());
+                        }
+                        catch (RuntimeException e){
+                            failures[i] = e;
+                        }
+                        finally {
+                            player.unlock();
+                        }
+                    }
+                }
+                finally {
+                    publishResults(leagueId);
+                    league.unlock();
+                }
+            }
+        }
+        finally {
+            registryLock.readLock().unlock();
+        }
+        return failures;
+    }
+
+    /**
+     * Gets a player's game report for a day. Holds the registry read lock and the league's lock.
+     *
+     * @see GamesLeague#getGameReport(int, int, int)
+     */
+    public String getGameReport(int day, int leagueId, int playerId) throws IDInvalidException, InvalidDateException{
+        registryLock.readLock().lock();
+        ReentrantLock league = lockLeague(leagueId);
+        try {
+            return games.getGameReport(day, leagueId, playerId);
+        }
+        finally {
+            league.unlock();
+            registryLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Gets the most characters a game report can hold. Holds the registry read lock.
+     *
+     * @see GamesLeague#getMaxGameReportLength()
+     */
+    public int getMaxGameReportLength(){
+        registryLock.readLock().lock();
+        try {
+            return games.getMaxGameReportLength();
+        }
+        finally {
+            registryLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Sets the most characters a game report can hold. Holds the registry write lock, so no report is being
+     * registered while the limit changes.
+     *
+     * @see GamesLeague#setMaxGameReportLength(int)
+     */
+    public void setMaxGameReportLength(int maxLength) throws IllegalArgumentException{
+        registryLock.writeLock().lock();
+        try {
+            games.setMaxGameReportLength(maxLength);
+        }
+        finally {
+            registryLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Registers the scores of a day in a league. Holds the registry read lock and the league's lock.
+     *
+     * @see GamesLeague#registerDayScores(int, int, int[])
+     */
+    public void registerDayScores(int day, int leagueId, int[] scores) throws IDInvalidException, IllegalArgumentException{
+        registryLock.readLock().lock();
+        ReentrantLock league = lockLeague(leagueId);
+        try {
+            games.registerDayScores(day, leagueId, scores);
+        }
+        finally {
+            publishResults(leagueId);
+            league.unlock();
+            registryLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Registers the scores of many days in many leagues at once. The entries are checked together first, and any
+     * entry for a league that does not exist, or for a day that is too old, fails without taking a lock. The rest
+     * are grouped by league and each league's entries are registered one after another, in the order they are
+     * given, while holding the league's lock. Different leagues are registered in parallel on the common fork-join
+     * pool. Holds the registry read lock until every entry has been registered.
+     *
+     * An entry that cannot be registered does not stop the entries after it.
+     *
+     * @param entries The scores to be registered
+     * @return An array with one element for each entry, which is null if the entry was registered, or the exception
+     *         that registerDayScores would have thrown for it if not
+     * @see GamesLeague#registerDayScores(int, int, int[])
+     */
+    public RuntimeException[] registerDayScores(DayScoresEntry[] entries){
+        RuntimeException[] failures = new RuntimeException[entries.length];
+        registryLock.readLock().lock();
+        try {
+            int currentDate = (int) DateProvider.now().toEpochDay();
+
+            // Check every entry, then group the ones that pass by league
+            int[] leagueIds = new int[entries.length];
+            for (int i = 0; i < entries.length; i++){
+                DayScoresEntry entry = entries[i];
+                if (entry == null || entry.getScores() == null){
+                    failures[i] = new IllegalArgumentException("Error: There are no scores to register");
+                }
+                else if (!games.doesLeagueExist(entry.getLeagueId())){
+                    failures[i] = new IDInvalidException("Error: League ID does not match to an existing league");
+                }
+                else if (currentDate - entry.getDay() >= 2){
+                    failures[i] = new IllegalArgumentException("Error: The day is not valid");
+                }
+                else {
+                    leagueIds[i] = entry.getLeagueId();
+                }
+            }
+            ArrayList<ArrayList<Integer>> groups = groupByLeague(leagueIds, failures);
+
+            // The registry read lock is held by this thread, so the leagues cannot be created or removed while the
+            // pool's threads register them
+            ForkJoinPool.commonPool().invoke(new ScoreBatch(entries, groups, failures, 0, groups.size()));
+        }
+        finally {
+            registryLock.readLock().unlock();
+        }
+        return failures;
+    }
+
+    /**
+     * Groups the entries of a batch by league, keeping the order they were given in
+     *
+     * @param leagueIds The league ID of each entry in the batch
+     * @param failures The exception already found for each entry in the batch, entries that have one are left out
+     * @return The positions of each league's entries in the batch, with the leagues in the order they first appear
+     */
+    private static ArrayList<ArrayList<Integer>> groupByLeague(int[] leagueIds, RuntimeException[] failures){
+        HashMap<Integer, ArrayList<Integer>> leagueEntries = new HashMap<>();
+        ArrayList<ArrayList<Integer>> groups = new ArrayList<>();
+        for (int i = 0; i < leagueIds.length; i++){
+            if (failures[i] != null){
+                continue;
+            }
+            ArrayList<Integer> group = leagueEntries.get(leagueIds[i]);
+            if (group == null){
+                group = new ArrayList<>();
+                leagueEntries.put(leagueIds[i], group);
+                groups.add(group);
+            }
+            group.add(i);
+        }
+        return groups;
+    }
+
+    /**
+     * Registers the entries of a batch for one league while holding the league's lock
+     *
+     * @param entries Every entry in the batch
+     * @param group The positions of the league's entries in the batch, in the order they are registered
+     * @param failures The exception thrown for each entry in the batch, which is filled in for the league's entries
+     */
+    private void registerLeagueEntries(DayScoresEntry[] entries, ArrayList<Integer> group, RuntimeException[] failures){
+        int leagueId = entries[group.get(0)].getLeagueId();
+        ReentrantLock league = lockLeague(leagueId);
+        try {
+            for (int i : group){
+                try {
+                    games.registerDayScores(entries[i].getDay(), leagueId, entries[i].getScores());
+                }
+                catch (RuntimeException e){
+                    failures[i] = e;
+                }
+            }
+        }
+        finally {
+            publishResults(leagueId);
+            league.unlock();
+        }
+    }
+
+    /**
+     * Fork-join task that registers the entries of a range of leagues in a batch. The range is split in two until
+     * it is small enough for one thread to register.
+     */
+    private class ScoreBatch extends RecursiveAction {
+        /**
+         * Every entry in the batch.
+         */
+        private DayScoresEntry[] entries;
+
+        /**
+         * The positions of each league's entries in the batch.
+         */
+        private ArrayList<ArrayList<Integer>> groups;
+
+        /**
+         * The exception thrown for each entry in the batch.
+         */
+        private RuntimeException[] failures;
+
+        /**
+         * The range of groups this task registers, from the first up to but not including the last.
+         */
+        private int first;
+        private int last;
+
+        /**
+         * Constructor for the ScoreBatch class
+         *
+         * @param entries Every entry in the batch
+         * @param groups The positions of each league's entries in the batch
+         * @param failures The exception thrown for each entry in the batch
+         * @param first The first group to register
+         * @param last The group after the last one to register
+         */
+        private ScoreBatch(DayScoresEntry[] entries, ArrayList<ArrayList<Integer>> groups,
+                RuntimeException[] failures, int first, int last){
+            this.entries = entries;
+            this.groups = groups;
+            this.failures = failures;
+            this.first = first;
+            this.last = last;
+        }
+
+        /**
+         * Registers the range of leagues, or splits it in two and registers both halves in parallel
+         */
+        @Override
+        protected void compute(){
+            if (last - first <= LEAGUES_PER_TASK){
+                for (int g = first; g < last; g++){
+                    registerLeagueEntries(entries, groups.get(g), failures);
+                }
+                return;
+            }
+            int middle = (first + last) >>> 1;
+            invokeAll(new ScoreBatch(entries, groups, failures, first, middle),
+                    new ScoreBatch(entries, groups, failures, middle, last));
+        }
+    }
+
+    /**
+     * Sets every player's points to 0 on a day in a league. Holds the registry read lock and the league's lock.
+     *
+     * @see GamesLeague#voidDayPoints(int, int)
+     */
+    public void voidDayPoints(int day, int leagueId) throws IDInvalidException, IllegalArgumentException{
+        registryLock.readLock().lock();
+        ReentrantLock league = lockLeague(leagueId);
+        try {
+            games.voidDayPoints(day, leagueId);
+        }
+        finally {
+            publishResults(leagueId);
+            league.unlock();
+            registryLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Gets the status of a league's day. Answered from the league's latest published results without holding any
+     * lock.
+     *
+     * @see GamesLeague#getDayStatus(int, int)
+     */
+    public Status getDayStatus(int leagueId, int day) throws IDInvalidException{
+        return getLeagueResults(leagueId).getStatus(Period.DAY, day);
+    }
+
+    /**
+     * Gets the scores of a league's day. Answered from the league's latest published results without holding any
+     * lock.
+     *
+     * @see GamesLeague#getDayScores(int, int)
+     */
+    public int[] getDayScores(int leagueId, int day) throws IDInvalidException{
+        return getLeagueResults(leagueId).getDayScores(day);
+    }
+
+    /**
+     * Gets the points of a league's day. Answered from the league's latest published results without holding any
+     * lock.
+     *
+     * @see GamesLeague#getDayPoints(int, int)
+     */
+    public int[] getDayPoints(int leagueId, int day) throws IDInvalidException{
+        return getLeagueResults(leagueId).getPoints(Period.DAY, day);
+    }
+
+    /**
+     * Gets the ranking of a league's day. Answered from the league's latest published results without holding any
+     * lock.
+     *
+     * @see GamesLeague#getDayRanking(int, int)
+     */
+    public int[] getDayRanking(int leagueId, int day) throws IDInvalidException{
+        return getLeagueResults(leagueId).getRanking(Period.DAY, day);
+    }
+
+    /**
+     * Gets the status of a league's week. Answered from the league's latest published results without holding any
+     * lock.
+     *
+     * @see GamesLeague#getWeekStatus(int, int)
+     */
+    public Status getWeekStatus(int leagueId, int day) throws IDInvalidException{
+        return getLeagueResults(leagueId).getStatus(Period.WEEK, day);
+    }
+
+    /**
+     * Gets the points of a league's week. Answered from the league's latest published results without holding any
+     * lock.
+     *
+     * @see GamesLeague#getWeekPoints(int, int)
+     */
+    public int[] getWeekPoints(int leagueId, int day) throws IDInvalidException{
+        return getLeagueResults(leagueId).getPoints(Period.WEEK, day);
+    }
+
+    /**
+     * Gets the ranking of a league's week. Answered from the league's latest published results without holding any
+     * lock.
+     *
+     * @see GamesLeague#getWeekRanking(int, int)
+     */
+    public int[] getWeekRanking(int leagueId, int day) throws IDInvalidException{
+        return getLeagueResults(leagueId).getRanking(Period.WEEK, day);
+    }
+
+    /**
+     * Gets the status of a league's month. Answered from the league's latest published results without holding any
+     * lock.
+     *
+     * @see GamesLeague#getMonthStatus(int, int)
+     */
+    public Status getMonthStatus(int leagueId, int day) throws IDInvalidException{
+        return getLeagueResults(leagueId).getStatus(Period.MONTH, day);
+    }
+
+    /**
+     * Gets the points of a league's month. Answered from the league's latest published results without holding any
+     * lock.
+     *
+     * @see GamesLeague#getMonthPoints(int, int)
+     */
+    public int[] getMonthPoints(int leagueId, int day) throws IDInvalidException{
+        return getLeagueResults(leagueId).getPoints(Period.MONTH, day);
+    }
+
+    /**
+     * Gets the ranking of a league's month. Answered from the league's latest published results without holding any
+     * lock.
+     *
+     * @see GamesLeague#getMonthRanking(int, int)
+     */
+    public int[] getMonthRanking(int leagueId, int day) throws IDInvalidException{
+        return getLeagueResults(leagueId).getRanking(Period.MONTH, day);
+    }
+
+    /**
+     * Gets the status of a league's year. Answered from the league's latest published results without holding any
+     * lock.
+     *
+     * @see GamesLeague#getYearStatus(int, int)
+     */
+    public Status getYearStatus(int leagueId, int day) throws IDInvalidException{
+        return getLeagueResults(leagueId).getStatus(Period.YEAR, day);
+    }
+
+    /**
+     * Gets the points of a league's year. Answered from the league's latest published results without holding any
+     * lock.
+     *
+     * @see GamesLeague#getYearPoints(int, int)
+     */
+    public int[] getYearPoints(int leagueId, int day) throws IDInvalidException{
+        return getLeagueResults(leagueId).getPoints(Period.YEAR, day);
+    }
+
+    /**
+     * Gets the ranking of a league's year. Answered from the league's latest published results without holding any
+     * lock.
+     *
+     * @see GamesLeague#getYearRanking(int, int)
+     */
+    public int[] getYearRanking(int leagueId, int day) throws IDInvalidException{
+        return getLeagueResults(leagueId).getRanking(Period.YEAR, day);
+    }
+
+    /**
+     * Gets a player's points and rank in a league for a period. Holds the registry read lock and the league's
+     * lock.
+     *
+     * @see GamesLeague#getPlayerRank(int, int, Period, int)
+     */
+    public LeaderboardEntry getPlayerRank(int leagueId, int playerId, Period period, int day) throws IDInvalidException{
+        registryLock.readLock().lock();
+        ReentrantLock league = lockLeague(leagueId);
+        try {
+            return games.getPlayerRank(leagueId, playerId, period, day);
+        }
+        finally {
+            league.unlock();
+            registryLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Gets the players with the most points in a league for a period. Holds the registry read lock and the
+     * league's lock.
+     *
+     * @see GamesLeague#getTopPlayers(int, Period, int, int)
+     */
+    public LeaderboardEntry[] getTopPlayers(int leagueId, Period period, int day, int k) throws IDInvalidException{
+        registryLock.readLock().lock();
+        ReentrantLock league = lockLeague(leagueId);
+        try {
+            return games.getTopPlayers(leagueId, period, day, k);
+        }
+        finally {
+            league.unlock();
+            registryLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Gets a page of a league's leaderboard for a period. Holds the registry read lock and the league's lock.
+     *
+     * @see GamesLeague#getLeaderboardPage(int, Period, int, int, int)
+     */
+    public LeaderboardEntry[] getLeaderboardPage(int leagueId, Period period, int day, int page, int pageSize) throws IDInvalidException{
+        registryLock.readLock().lock();
+        ReentrantLock league = lockLeague(leagueId);
+        try {
+            return games.getLeaderboardPage(leagueId, period, day, page, pageSize);
+        }
+        finally {
+            league.unlock();
+            registryLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Empties the system. Holds the registry write lock, so no other call is made at the same time.
+     *
+     * @see GamesLeague#eraseGamesLeagueData()
+     */
+    public void eraseGamesLeagueData(){
+        registryLock.writeLock().lock();
+        try {
+            games.eraseGamesLeagueData();
+        }
+        finally {
+            publishAllResults();
+            registryLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Saves the system to a serialised file. Holds the registry write lock, so no other call is made at the same
+     * time.
+     *
+     * @see GamesLeague#saveGamesLeagueData(String)
+     */
+    public void saveGamesLeagueData(String filename) throws IOException{
+        registryLock.writeLock().lock();
+        try {
+            games.saveGamesLeagueData(filename);
+        }
+        finally {
+            registryLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Saves the system to a file in the given format. Holds the registry write lock, so no other call is made at
+     * the same time.
+     *
+     * @see GamesLeague#saveGamesLeagueData(String, SnapshotFormat)
+     */
+    public void saveGamesLeagueData(String filename, SnapshotFormat format) throws IOException{
+        registryLock.writeLock().lock();
+        try {
+            games.saveGamesLeagueData(filename, format);
+        }
+        finally {
+            registryLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Replaces the system with the contents of a file. Leagues in a binary snapshot are still read the first time
+     * they are needed, which GamesLeague allows while other calls are being made. Holds the registry write lock,
+     * so no other call is made at the same time.
+     *
+     * @see GamesLeague#loadGamesLeagueData(String)
+     */
+    public void loadGamesLeagueData(String filename) throws IOException, ClassNotFoundException{
+        registryLock.writeLock().lock();
+        try {
+            games.loadGamesLeagueData(filename);
+        }
+        finally {
+            publishAllResults();
+            registryLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Starts journalling every call that can make a change. Holds the registry write lock, so no other call is
+     * made at the same time.
+     *
+     * @see GamesLeague#openJournal(String, int)
+     */
+    public void openJournal(String filename, int groupCommitSize) throws IOException{
+        registryLock.writeLock().lock();
+        try {
+            games.openJournal(filename, groupCommitSize);
+        }
+        finally {
+            publishAllResults();
+            registryLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Starts journalling every call that can make a change, writing waiting records after at most maxFlushDelay
+     * milliseconds. Holds the registry write lock, so no other call is made at the same time.
+     *
+     * @see GamesLeague#openJournal(String, int, long)
+     */
+    public void openJournal(String filename, int groupCommitSize, long maxFlushDelay) throws IOException{
+        registryLock.writeLock().lock();
+        try {
+            games.openJournal(filename, groupCommitSize, maxFlushDelay);
+        }
+        finally {
+            publishAllResults();
+            registryLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Writes every waiting journal record to the disk. Holds the registry write lock, so no other call is made at
+     * the same time.
+     *
+     * @see GamesLeague#flushJournal()
+     */
+    public void flushJournal() throws IOException{
+        registryLock.writeLock().lock();
+        try {
+            games.flushJournal();
+        }
+        finally {
+            registryLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Stops journalling. Holds the registry write lock, so no other call is made at the same time.
+     *
+     * @see GamesLeague#closeJournal()
+     */
+    public void closeJournal() throws IOException{
+        registryLock.writeLock().lock();
+        try {
+            games.closeJournal();
+        }
+        finally {
+            registryLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Starts writing checkpoints to a binary snapshot file. Holds the registry write lock, so no other call is
+     * made at the same time.
+     *
+     * @see GamesLeague#startCheckpointing(String)
+     */
+    public void startCheckpointing(String filename) throws IOException{
+        registryLock.writeLock().lock();
+        try {
+            games.startCheckpointing(filename);
+        }
+        finally {
+            registryLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Takes a checkpoint of everything that has changed since the last one, which is written in the background.
+     * Holds the registry write lock, so no other call is made at the same time.
+     *
+     * @see GamesLeague#checkpoint()
+     */
+    public Future<Long> checkpoint() throws IOException{
+        registryLock.writeLock().lock();
+        try {
+            return games.checkpoint();
+        }
+        finally {
+            registryLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Waits for the last checkpoint to be written and stops checkpointing. Holds the registry write lock, so no
+     * other call is made at the same time.
+     *
+     * @see GamesLeague#stopCheckpointing()
+     */
+    public void stopCheckpointing() throws IOException{
+        registryLock.writeLock().lock();
+        try {
+            games.stopCheckpointing();
+        }
+        finally {
+            registryLock.writeLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package gamesleague;
+
+/**
+ * The scores of one day in one league, given to ConcurrentGamesLeague to be registered together with many others.
+ */
+public class DayScoresEntry implements java.io.Serializable {
+    /**
+     * ID of the league the scores are for.
+     */
+    private int leagueId;
+
+    /**
+     * The epoch day the game was played.
+     */
+    private int day;
+
+    /**
+     * The game scores, in the same order as the league's players.
+     */
+    private int[] scores;
+
+    /**
+     * Constructor for the DayScoresEntry class
+     *
+     * @param leagueId The ID of the league
+     * @param day The epoch day the game was played
+     * @param scores The game scores with order to match the array returned by getLeaguePlayers()
+     */
+    public DayScoresEntry(int leagueId, int day, int[] scores){
+        this.leagueId = leagueId;
+        this.day = day;
+        this.scores = scores;
+    }
+
+    /**
+     * Gets the ID of the league
+     *
+     * @return The integer ID of the league
+     */
+    public int getLeagueId(){
+        return leagueId;
+    }
+
+    /**
+     * Gets the day the game was played
+     *
+     * @return The epoch day of the scores
+     */
+    public int getDay(){
+        return day;
+    }
+
+    /**
+     * Gets the game scores
+     *
+     * @return The memory address of the scores array
+     */
+    public int[] getScores(){
+        return scores;
+    }
+}
@@ -0,0 +1,139 @@
+package gamesleague;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Table that stores one object per epoch day. The objects are kept in day order alongside an array of
+ * their days, so days that are far apart take no more room than days next to each other. Objects are
+ * nearly always added for the latest day, so that day is checked before the days are binary searched.
+ *
+ * @param <T> The type of object stored against each day
+ */
+public class DayTable<T> implements java.io.Serializable {
+    /**
+     * The epoch day of each stored object, in ascending order.
+     */
+    private int[] days;
+
+    /**
+     * Objects stored at the same position as their day.
+     */
+    private Object[] entries;
+
+    /**
+     * Number of objects currently stored in the table.
+     */
+    private int size;
+
+    /**
+     * Constructor for the DayTable class
+     */
+    public DayTable(){
+        days = new int[0];
+        entries = new Object[0];
+        size = 0;
+    }
+
+    /**
+     * Searches the stored days for an epoch day
+     *
+     * @param day The epoch day being searched for
+     * @return The position of the day, or (-(insertion point) - 1) if nothing is stored for it
+     */
+    private int search(int day){
+        if (size == 0 || days[size - 1] < day){
+            return -size - 1;
+        }
+        if (days[size - 1] == day){
+            return size - 1;
+        }
+        return Arrays.binarySearch(days, 0, size, day);
+    }
+
+    /**
+     * Gets the object stored for an epoch day
+     *
+     * @param day The epoch day being searched for
+     * @return The memory address of the object or null if nothing is stored for that day
+     */
+    @SuppressWarnings("unchecked")
+    public T get(int day){
+        int index = search(day);
+        return index < 0 ? null : (T) entries[index];
+    }
+
+    /**
+     * Stores an object for an epoch day, replacing any object already stored for that day
+     *
+     * @param day The epoch day the object belongs to
+     * @param value The object to be stored
+     */
+    public void put(int day, T value){
+        int index = search(day);
+        if (index >= 0){
+            entries[index] = value;
+            return;
+        }
+
+        // Make room for the day at its place in day order
+        index = -index - 1;
+        if (size == days.length){
+            int newLength = Math.max(8, days.length * 2);
+            days = Arrays.copyOf(days, newLength);
+            entries = Arrays.copyOf(entries, newLength);
+        }
+        System.arraycopy(days, index, days, index + 1, size - index);
+        System.arraycopy(entries, index, entries, index + 1, size - index);
+        days[index] = day;
+        entries[index] = value;
+        size++;
+    }
+
+    /**
+     * Gets every object in the table in day order
+     *
+     * @return A new ArrayList of the stored objects
+     */
+    @SuppressWarnings("unchecked")
+    public ArrayList<T> values(){
+        ArrayList<T> values = new ArrayList<>(size);
+        for (int i = 0; i < size; i++){
+            values.add((T) entries[i]);
+        }
+        return values;
+    }
+
+    /**
+     * Creates a copy of the table that holds the same objects, so objects can be added to or removed from either
+     * without changing the other
+     *
+     * @return The new table
+     */
+    public DayTable<T> copy(){
+        DayTable<T> copy = new DayTable<>();
+        copy.days = days.clone();
+        copy.entries = entries.clone();
+        copy.size = size;
+        return copy;
+    }
+
+    /**
+     * Removes every object from the table
+     *
+     */
+    public void clear(){
+        days = new int[0];
+        entries = new Object[0];
+        size = 0;
+    }
+
+    /**
+     * Gets the number of days that have an object stored
+     *
+     * @return The number of stored objects
+     */
+    public int size(){
+        return size;
+    }
+}
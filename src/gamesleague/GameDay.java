@@ -1,7 +1,10 @@
 package gamesleague;
 
+import java.util.ArrayList;
+
 /**
- * Represents a single day in the league for a player, and is used to hold information on the day such as game reports and points.
+ * Represents a single day in the league for a player, and is used to hold the game report for the day.
+ * The scores and points for the day are stored by the league's ResultTable.
  */
 public class GameDay implements java.io.Serializable {
     /**
@@ -10,24 +13,21 @@ public class GameDay implements java.io.Serializable {
     private int day;
 
     /**
-     * String containing the game report for this day.
+     * String containing the game report for this day, not including any text in appended.
      */
     private String gameReport;
 
     /**
-     * The status the day (closed, in-progress or pending).
-     */
-    private Status status;
-
-    /**
-     * Number of league points obtained from the score on this day.
+     * Text added to the report since it was last built into a string, which is null if there is none. Each
+     * addition is kept as its own piece and the pieces are only joined when the report is read, so adding to a
+     * long report does not copy the whole report every time.
      */
-    private int points;
+    private ArrayList<String> appended = null;
 
     /**
-     * Outcome of the game played on this day.
+     * Length of the whole report, including the text in appended.
      */
-    private int score;
+    private int length;
 
     /**
      * Constructor for the GameDay class
@@ -38,9 +38,16 @@ public class GameDay implements java.io.Serializable {
     public GameDay(int day, String gameReport){
         this.day = day;
         this.gameReport = gameReport;
-        status = Status.PENDING;
-        points = 0;
-        score = 0;
+        this.length = String.valueOf(gameReport).length();
+    }
+
+    /**
+     * Creates a copy of the GameDay with the same report, so either can be changed without changing the other
+     * 
+     * @return The new GameDay
+     */
+    public GameDay copy(){
+        return new GameDay(day, getGameReport());
     }
 
     /**
@@ -53,11 +60,21 @@ public class GameDay implements java.io.Serializable {
     }
 
     /**
-     * Gets the game report for this day
+     * Gets the game report for this day, joining any text that has been added to it since it was last read.
+     * Synchronized because a league that is being checkpointed can be read from two threads at once.
      * 
      * @return The game report string variable
      */
-    public String getGameReport(){
+    public synchronized String getGameReport(){
+        if (appended != null){
+            StringBuilder report = new StringBuilder(length);
+            report.append(gameReport);
+            for (String piece : appended){
+                report.append(piece);
+            }
+            gameReport = report.toString();
+            appended = null;
+        }
         return gameReport;
     }
 
@@ -66,61 +83,59 @@ public class GameDay implements java.io.Serializable {
      * 
      * @param gameReport The new string value that should replace game report
      */
-    public void setGameReport(String gameReport){
+    public synchronized void setGameReport(String gameReport){
         this.gameReport = gameReport;
+        this.appended = null;
+        this.length = String.valueOf(gameReport).length();
     }
 
     /**
-     * Gets the status of the game day
-     * 
-     * @return The status of the day
-     */
-    public Status getStatus(){
-        return status;
-    }
-
-    /**
-     * Sets the status of the day
-     * 
-     * @param status The new status of the day
-     */
-    public void setStatus(Status status){
-        this.status = status;
-    }
-
-    /**
-     * Gets the points associated with this day
-     * 
-     * @return The points associated with this day
-     */
-    public int getPoints(){
-        return points;
-    }
-
-    /**
-     * Sets the points
+     * Gets the length of the game report without joining it
      * 
-     * @param points The new value of the points
+     * @return The number of characters in the game report
      */
-    public void setPoints(int points){
-        this.points = points;
+    public synchronized int getGameReportLength(){
+        return length;
     }
 
     /**
-     * Gets the score 
+     * Adds more text onto the end of the game report, separated from the report by a space
      * 
-     * @return The score
+     * @param gameReport The text to be added
+     * @param maxLength The most characters the whole report can hold, anything past this is cut off, or -1 for
+     *                  no limit
      */
-    public int getScore(){
-        return score;
+    public synchronized void appendGameReport(String gameReport, int maxLength){
+        String piece = " " + gameReport;
+        if (maxLength != -1){
+            // A report can already be over the limit if the limit was lowered after it was written
+            int room = maxLength - length;
+            if (room <= 0){
+                return;
+            }
+            piece = limitLength(piece, room);
+        }
+        if (piece.isEmpty()){
+            return;
+        }
+        if (appended == null){
+            appended = new ArrayList<>();
+        }
+        appended.add(piece);
+        length += piece.length();
     }
 
     /**
-     * Sets the score 
+     * Cuts a game report down to a maximum length
      * 
-     * @param score The new score to be set
+     * @param gameReport The game report to be cut down
+     * @param maxLength The most characters the report can hold, or -1 for no limit
+     * @return The game report, with anything past the maximum length cut off
      */
-    public void setScore(int score){
-        this.score = score;
+    public static String limitLength(String gameReport, int maxLength){
+        if (maxLength == -1 || gameReport == null || gameReport.length() <= maxLength){
+            return gameReport;
+        }
+        return gameReport.substring(0, Math.max(maxLength, 0));
     }
 }
\ No newline at end of file
@@ -0,0 +1,613 @@
+package gamesleague;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only journal of every call that can change a GamesLeague, so that changes made since the last snapshot
+ * can be replayed after a crash. Calls are recorded before they are made, so the journal is written ahead of
+ * the changes. Each record is written as:
+ * <pre>
+ *   int length, int CRC-32 of the payload
+ *   payload: varint sequence number, varint opcode, zigzag varint epoch day it was made on, then its arguments
+ * </pre>
+ * Records are kept in memory and written together, with a single fsync for every group of records, so
+ * durability does not cost a disk flush per change. A group is written once it is full, or once its first
+ * record has waited for the maximum flush delay, in which case a background thread writes whatever is waiting.
+ * So even when few calls are being made, a record reaches the disk within the delay, and a crash can lose at
+ * most the records of the group that had not been written yet. When a journal is opened, any record at the
+ * end that was only partly written is found by its length or checksum and cut off.
+ *
+ * Records are built and committed by one thread at a time, and the methods that touch the waiting records or
+ * the file are synchronized with the background thread.
+ */
+public class GameJournal {
+    /**
+     * createPlayer: ID the player will be given, email, display name, name, phone.
+     */
+    public static final int CREATE_PLAYER = 1;
+
+    /**
+     * deactivatePlayer: player ID.
+     */
+    public static final int DEACTIVATE_PLAYER = 2;
+
+    /**
+     * updatePlayerDisplayName: player ID, display name.
+     */
+    public static final int UPDATE_DISPLAY_NAME = 3;
+
+    /**
+     * incrementRoundPlayed: player ID.
+     */
+    public static final int INCREMENT_ROUNDS = 4;
+
+    /**
+     * createLeague: ID the league will be given, owner ID, name, game type ordinal plus one or 0 for null.
+     */
+    public static final int CREATE_LEAGUE = 5;
+
+    /**
+     * removeLeague: league ID.
+     */
+    public static final int REMOVE_LEAGUE = 6;
+
+    /**
+     * updateLeagueName: league ID, name.
+     */
+    public static final int UPDATE_LEAGUE_NAME = 7;
+
+    /**
+     * invitePlayerToLeague: league ID, email.
+     */
+    public static final int INVITE = 8;
+
+    /**
+     * acceptInviteToLeague: league ID, player ID.
+     */
+    public static final int ACCEPT_INVITE = 9;
+
+    /**
+     * removeInviteFromLeague: league ID, email.
+     */
+    public static final int REMOVE_INVITE = 10;
+
+    /**
+     * setLeagueStartDate: league ID, epoch day.
+     */
+    public static final int SET_START_DATE = 11;
+
+    /**
+     * setLeagueEndDate: league ID, epoch day.
+     */
+    public static final int SET_END_DATE = 12;
+
+    /**
+     * resetLeague: league ID.
+     */
+    public static final int RESET_LEAGUE = 13;
+
+    /**
+     * cloneLeague: ID the new league will be given, league ID, new name.
+     */
+    public static final int CLONE_LEAGUE = 14;
+
+    /**
+     * setLeaguePlayerInactive: league ID, player ID.
+     */
+    public static final int SET_INACTIVE = 15;
+
+    /**
+     * setLeaguePlayerActive: league ID, player ID.
+     */
+    public static final int SET_ACTIVE = 16;
+
+    /**
+     * addOwner: league ID, player ID.
+     */
+    public static final int ADD_OWNER = 17;
+
+    /**
+     * removeOwner: league ID, player ID.
+     */
+    public static final int REMOVE_OWNER = 18;
+
+    /**
+     * registerGameReport: epoch day, league ID, player ID, report.
+     */
+    public static final int GAME_REPORT = 19;
+
+    /**
+     * registerDayScores: epoch day, league ID, number of scores or -1 for null, then each score.
+     */
+    public static final int DAY_SCORES = 20;
+
+    /**
+     * voidDayPoints: epoch day, league ID.
+     */
+    public static final int VOID_DAY = 21;
+
+    /**
+     * eraseGamesLeagueData: no arguments.
+     */
+    public static final int ERASE = 22;
+
+    /**
+     * setMaxGameReportLength: maximum length.
+     */
+    public static final int SET_MAX_REPORT_LENGTH = 23;
+
+    /**
+     * The longest time in milliseconds a record waits for the rest of its group, used when no delay is given.
+     */
+    public static final long DEFAULT_MAX_FLUSH_DELAY = 20;
+
+    /**
+     * Size of the length and checksum in front of each payload.
+     */
+    private static final int FRAME_SIZE = 8;
+
+    /**
+     * Location of the journal file.
+     */
+    private Path path;
+
+    /**
+     * The journal file, positioned at the end of the last complete record.
+     */
+    private FileChannel channel;
+
+    /**
+     * Number of records written together with one fsync.
+     */
+    private int groupCommitSize;
+
+    /**
+     * The longest time in milliseconds a record waits for the rest of its group before the group is written.
+     */
+    private long maxFlushDelay;
+
+    /**
+     * The thread that writes groups that have waited for the maximum flush delay, started when first needed.
+     */
+    private ScheduledThreadPoolExecutor flusher;
+
+    /**
+     * True while the background thread is due to write the waiting records.
+     */
+    private boolean flushScheduled;
+
+    /**
+     * The exception the background thread failed with when it last wrote the waiting records, or null if it did
+     * not fail. The records are still waiting, and are written again before the next record is added.
+     */
+    private IOException flushFailure;
+
+    /**
+     * The exception from a failed write that could not be cut off the end of the file, or null if there is none.
+     * Once set, no more records are accepted, since they would follow a damaged record.
+     */
+    private IOException writeFailure;
+
+    /**
+     * Payload of the record being built.
+     */
+    private SnapshotEncoder record;
+
+    /**
+     * Framed records that have not been written to the file yet.
+     */
+    private SnapshotEncoder pending;
+
+    /**
+     * Number of records in pending.
+     */
+    private int pendingCount;
+
+    /**
+     * The mapped file being read by nextRecord, or null if the journal is not being read.
+     */
+    private ByteBuffer log;
+
+    /**
+     * Sequence number, opcode and epoch day of the record last read by nextRecord.
+     */
+    private long sequence;
+    private int opcode;
+    private int day;
+
+    /**
+     * Decoder positioned at the arguments of the record last read by nextRecord.
+     */
+    private SnapshotDecoder arguments;
+
+    /**
+     * Constructor for the GameJournal class
+     *
+     * @param path Location of the journal file
+     * @param channel The open journal file
+     * @param groupCommitSize Number of records written together with one fsync
+     * @param maxFlushDelay The longest time in milliseconds a record waits for the rest of its group
+     */
+    private GameJournal(Path path, FileChannel channel, int groupCommitSize, long maxFlushDelay){
+        this.path = path;
+        this.channel = channel;
+        this.groupCommitSize = groupCommitSize;
+        this.maxFlushDelay = maxFlushDelay;
+        flusher = null;
+        flushScheduled = false;
+        flushFailure = null;
+        writeFailure = null;
+        record = new SnapshotEncoder();
+        pending = new SnapshotEncoder();
+        pendingCount = 0;
+        log = null;
+    }
+
+    /**
+     * Opens a journal file with the default maximum flush delay, creating it if it does not exist
+     *
+     * @param filename Location of the journal file
+     * @param groupCommitSize Number of records written together with one fsync, 1 writes and syncs every record
+     * @return The opened journal
+     * @throws IOException If the file cannot be opened or repaired
+     * @throws IllegalArgumentException If the group commit size is less than 1
+     * @see #open(String, int, long)
+     */
+    public static GameJournal open(String filename, int groupCommitSize) throws IOException{
+        return open(filename, groupCommitSize, DEFAULT_MAX_FLUSH_DELAY);
+    }
+
+    /**
+     * Opens a journal file, creating it if it does not exist. Any incomplete record at the end of the file
+     * is cut off so new records are written straight after the last complete one.
+     *
+     * @param filename Location of the journal file
+     * @param groupCommitSize Number of records written together with one fsync, 1 writes and syncs every record
+     * @param maxFlushDelay The longest time in milliseconds a record waits for the rest of its group before the
+     *                      group is written anyway, 0 writes and syncs every record
+     * @return The opened journal
+     * @throws IOException If the file cannot be opened or repaired
+     * @throws IllegalArgumentException If the group commit size is less than 1 or the delay is negative
+     */
+    public static GameJournal open(String filename, int groupCommitSize, long maxFlushDelay) throws IOException{
+        if (groupCommitSize < 1){
+            throw new IllegalArgumentException("Error: Group commit size must be at least 1");
+        }
+        if (maxFlushDelay < 0){
+            throw new IllegalArgumentException("Error: Maximum flush delay cannot be negative");
+        }
+        Path path = Paths.get(filename);
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        GameJournal journal = new GameJournal(path, channel, groupCommitSize, maxFlushDelay);
+        try {
+            // Walk through every complete record to find where the valid part of the file ends
+            journal.startReading();
+            while (journal.nextRecord()){
+                // Only the end position is needed
+            }
+            long end = journal.log.position();
+            journal.log = null;
+            if (end < channel.size()){
+                channel.truncate(end);
+                channel.force(true);
+            }
+            channel.position(end);
+        }
+        catch (IOException e){
+            channel.close();
+            throw e;
+        }
+        return journal;
+    }
+
+    /**
+     * Starts a new record. The arguments are written to the returned encoder before commit is called.
+     *
+     * @param sequence The sequence number of the record
+     * @param opcode The operation the record is for
+     * @param day The epoch day the operation was made on
+     * @return The encoder to write the record's arguments to
+     */
+    public SnapshotEncoder begin(long sequence, int opcode, int day){
+        record.clear();
+        record.writeVarLong(sequence);
+        record.writeVarInt(opcode);
+        record.writeSignedVarInt(day);
+        return record;
+    }
+
+    /**
+     * Adds the record started by begin to the journal, writing and syncing the group once it is full.
+     * If the group is not full, the background thread writes it once the maximum flush delay has passed.
+     * If the group cannot be written, the record is taken back out of it, so the record's sequence number
+     * is free to be used again by the next record.
+     *
+     * @throws IOException If the group cannot be written, the background thread could not write the records
+     *                     waiting before this one and they still cannot be written, or an earlier failed write
+     *                     could not be cut off the end of the file
+     */
+    public synchronized void commit() throws IOException{
+        checkNotDamaged();
+        // Records the background thread could not write are written first, so a failure is not silently kept
+        if (flushFailure != null){
+            flush();
+        }
+        int groupSize = pending.size();
+        pending.writeInt(record.size());
+        pending.writeInt(record.checksum());
+        pending.writeEncoder(record);
+        record.clear();
+        pendingCount++;
+        if (pendingCount >= groupCommitSize || maxFlushDelay == 0){
+            try {
+                flush();
+            }
+            catch (IOException e){
+                // The call is not made when its record fails, so the record must not be written later
+                pending.truncate(groupSize);
+                pendingCount--;
+                throw e;
+            }
+        }
+        else if (!flushScheduled){
+            scheduleFlush();
+        }
+    }
+
+    /**
+     * Writes every waiting record to the file and syncs it to the disk
+     *
+     * @throws IOException If the records cannot be written, or an earlier failed write could not be cut off the end
+     *                     of the file
+     */
+    public synchronized void flush() throws IOException{
+        checkNotDamaged();
+        if (pendingCount == 0){
+            return;
+        }
+        long start = channel.position();
+        try {
+            pending.copyTo(channel);
+            channel.force(false);
+        }
+        catch (IOException e){
+            // Anything that was written is cut off, so the waiting records can be written again whole
+            try {
+                channel.truncate(start);
+                channel.position(start);
+            }
+            catch (IOException t){
+                writeFailure = e;
+            }
+            throw e;
+        }
+        pending.clear();
+        pendingCount = 0;
+        flushFailure = null;
+    }
+
+    /**
+     * Checks that the end of the file was not left damaged by an earlier failed write
+     *
+     * @throws IOException If a failed write could not be cut off the end of the file
+     */
+    private void checkNotDamaged() throws IOException{
+        if (writeFailure != null){
+            throw new IOException("Error: The journal could not be repaired after a failed write", writeFailure);
+        }
+    }
+
+    /**
+     * Asks the background thread to write the waiting records once the maximum flush delay has passed,
+     * starting the thread if it is not running yet
+     */
+    private void scheduleFlush(){
+        if (flusher == null){
+            // The thread is a daemon so it never keeps the program running on its own
+            flusher = new ScheduledThreadPoolExecutor(1, r -> {
+                Thread thread = new Thread(r, "GamesLeague journal flusher");
+                thread.setDaemon(true);
+                return thread;
+            });
+            flusher.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+        }
+        flushScheduled = true;
+        flusher.schedule(this::timedFlush, maxFlushDelay, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Writes the waiting records on the background thread, keeping any exception for the next commit
+     */
+    private synchronized void timedFlush(){
+        flushScheduled = false;
+        try {
+            flush();
+        }
+        catch (IOException e){
+            flushFailure = e;
+        }
+    }
+
+    /**
+     * Removes every record from the journal, used once a snapshot containing all of them has been saved
+     *
+     * @throws IOException If the file cannot be truncated
+     */
+    public synchronized void truncate() throws IOException{
+        pending.clear();
+        pendingCount = 0;
+        log = null;
+        channel.truncate(0);
+        channel.position(0);
+        channel.force(true);
+        // Nothing is left of a damaged record once the file is empty
+        writeFailure = null;
+    }
+
+    /**
+     * Removes the records up to and including a sequence number, used once a checkpoint containing them has been
+     * written. The records that are kept are copied to a new file which is then moved over the journal, so a crash
+     * leaves either the old journal or the new one.
+     *
+     * @param sequence The sequence number of the last record to be removed
+     * @throws IOException If the records cannot be copied or the new file cannot be moved
+     */
+    public synchronized void discardThrough(long sequence) throws IOException{
+        // Find where the first record being kept starts
+        startReading();
+        long start = 0;
+        while (nextRecord() && this.sequence <= sequence){
+            start = log.position();
+        }
+        log = null;
+        if (start == 0){
+            return;
+        }
+
+        long end = channel.size();
+        Path temp = Paths.get(path + ".tmp");
+        try (FileChannel copy = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)){
+            long position = start;
+            while (position < end){
+                position += channel.transferTo(position, end - position, copy);
+            }
+            copy.force(true);
+        }
+        catch (IOException e){
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+
+        // The journal is closed so it can be replaced, then opened again whether or not the move worked, since
+        // the file at its path holds every record being kept either way
+        channel.close();
+        try {
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        catch (IOException e){
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        finally {
+            channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            channel.position(channel.size());
+        }
+    }
+
+    /**
+     * Writes any waiting records, stops the background thread and closes the file
+     *
+     * @throws IOException If the records cannot be written or the file cannot be closed
+     */
+    public synchronized void close() throws IOException{
+        try {
+            flush();
+        }
+        finally {
+            // Any timed flush that has not started yet is dropped, since nothing is waiting now
+            if (flusher != null){
+                flusher.shutdown();
+            }
+            log = null;
+            channel.close();
+        }
+    }
+
+    /**
+     * Starts reading the journal from its first record. Waiting records are written first so they are read too.
+     *
+     * @throws IOException If the file cannot be written or mapped
+     */
+    public synchronized void startReading() throws IOException{
+        flush();
+        long size = channel.size();
+        if (size > Integer.MAX_VALUE){
+            throw new IOException("Error: Journal is too large to be mapped");
+        }
+        log = size == 0 ? ByteBuffer.allocate(0) : channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+    }
+
+    /**
+     * Moves on to the next complete record. Reading stops at the end of the file or at the first record
+     * that was only partly written.
+     *
+     * @return True if a record was read, False if there are no more
+     * @throws IOException If a record has a valid checksum but its header cannot be read
+     */
+    public boolean nextRecord() throws IOException{
+        int start = log.position();
+        if (log.limit() - start < FRAME_SIZE){
+            return false;
+        }
+        int length = log.getInt(start);
+        int checksum = log.getInt(start + 4);
+        if (length <= 0 || length > log.limit() - start - FRAME_SIZE){
+            return false;
+        }
+
+        ByteBuffer payload = log.duplicate();
+        payload.position(start + FRAME_SIZE);
+        payload.limit(start + FRAME_SIZE + length);
+        payload = payload.slice();
+        CRC32 crc = new CRC32();
+        crc.update(payload.duplicate());
+        if ((int) crc.getValue() != checksum){
+            return false;
+        }
+
+        arguments = new SnapshotDecoder(payload);
+        sequence = arguments.readVarLong();
+        opcode = arguments.readVarInt();
+        day = arguments.readSignedVarInt();
+        log.position(start + FRAME_SIZE + length);
+        return true;
+    }
+
+    /**
+     * Gets the sequence number of the record last read
+     *
+     * @return The sequence number
+     */
+    public long getSequence(){
+        return sequence;
+    }
+
+    /**
+     * Gets the opcode of the record last read
+     *
+     * @return The opcode
+     */
+    public int getOpcode(){
+        return opcode;
+    }
+
+    /**
+     * Gets the epoch day the record last read was made on
+     *
+     * @return The epoch day
+     */
+    public int getDay(){
+        return day;
+    }
+
+    /**
+     * Gets the arguments of the record last read
+     *
+     * @return A decoder positioned at the first argument
+     */
+    public SnapshotDecoder getArguments(){
+        return arguments;
+    }
+}
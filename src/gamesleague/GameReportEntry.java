@@ -0,0 +1,78 @@
+package gamesleague;
+
+/**
+ * A player's game report for one day in one league, given to ConcurrentGamesLeague to be registered together
+ * with many others.
+ */
+public class GameReportEntry implements java.io.Serializable {
+    /**
+     * The epoch day the game was played.
+     */
+    private int day;
+
+    /**
+     * ID of the league the game was played in.
+     */
+    private int leagueId;
+
+    /**
+     * ID of the player who played the game.
+     */
+    private int playerId;
+
+    /**
+     * A report detailing the gameplay.
+     */
+    private String gameReport;
+
+    /**
+     * Constructor for the GameReportEntry class
+     *
+     * @param day The epoch day the game was played
+     * @param leagueId The ID of the league
+     * @param playerId The ID of the player
+     * @param gameReport A report detailing the gameplay, may be empty if no report made
+     */
+    public GameReportEntry(int day, int leagueId, int playerId, String gameReport){
+        this.day = day;
+        this.leagueId = leagueId;
+        this.playerId = playerId;
+        this.gameReport = gameReport;
+    }
+
+    /**
+     * Gets the day the game was played
+     *
+     * @return The epoch day of the game
+     */
+    public int getDay(){
+        return day;
+    }
+
+    /**
+     * Gets the ID of the league
+     *
+     * @return The integer ID of the league
+     */
+    public int getLeagueId(){
+        return leagueId;
+    }
+
+    /**
+     * Gets the ID of the player
+     *
+     * @return The integer ID of the player
+     */
+    public int getPlayerId(){
+        return playerId;
+    }
+
+    /**
+     * Gets the game report
+     *
+     * @return The report detailing the gameplay
+     */
+    public String getGameReport(){
+        return gameReport;
+    }
+}
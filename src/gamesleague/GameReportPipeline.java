@@ -0,0 +1,238 @@
+package gamesleague;
+
+import java.util.ArrayList;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Registers game reports with a ConcurrentGamesLeague on background threads, so submitting a report only has to
+ * put it on a queue instead of waiting for it to be registered. Reports are spread over several queues by league,
+ * each with its own thread, so every report for a league goes through the same queue and is registered in the
+ * order it was submitted. Each thread takes every report waiting on its queue, up to a limit, and registers them
+ * together, so a league's lock is taken once for many reports when lots arrive at the same time.
+ *
+ * The queues have a fixed capacity. Once a queue is full, submitting a report to it waits until the thread has
+ * taken some off, so the queues cannot grow without limit.
+ */
+public class GameReportPipeline {
+    /**
+     * A submitted game report and the future that is completed once it has been registered.
+     */
+    private static class Submission {
+        /**
+         * The game report, or null if this marks the end of a queue.
+         */
+        private GameReportEntry entry;
+
+        /**
+         * Completed once the report has been registered, or with the exception it failed with.
+         */
+        private CompletableFuture<Void> result;
+
+        /**
+         * Constructor for the Submission class
+         *
+         * @param entry The game report, or null to mark the end of a queue
+         */
+        private Submission(GameReportEntry entry){
+            this.entry = entry;
+            this.result = new CompletableFuture<>();
+        }
+    }
+
+    /**
+     * The league the reports are registered with.
+     */
+    private ConcurrentGamesLeague games;
+
+    /**
+     * The queue of submitted reports for each thread.
+     */
+    private ArrayList<ArrayBlockingQueue<Submission>> queues = new ArrayList<>();
+
+    /**
+     * The threads registering the reports, one for each queue.
+     */
+    private ArrayList<Thread> workers = new ArrayList<>();
+
+    /**
+     * The most reports a thread registers together.
+     */
+    private int batchSize;
+
+    /**
+     * True once the pipeline has been closed.
+     */
+    private boolean closed = false;
+
+    /**
+     * Held for reading while a report is put on a queue and for writing while the pipeline is closed, so no report
+     * can be put on a queue after the end has been marked.
+     */
+    private ReentrantReadWriteLock closeLock = new ReentrantReadWriteLock();
+
+    /**
+     * Constructor for the GameReportPipeline class, which starts the threads
+     *
+     * @param games The league the reports are registered with
+     * @param threads The number of queues, each with its own thread
+     * @param capacity The most reports each queue can hold
+     * @param batchSize The most reports a thread registers together
+     * @throws IllegalArgumentException If the number of threads, capacity or batch size is less than 1
+     */
+    public GameReportPipeline(ConcurrentGamesLeague games, int threads, int capacity, int batchSize)
+        throws IllegalArgumentException{
+
+        if (threads < 1 || capacity < 1 || batchSize < 1){
+            throw new IllegalArgumentException("Error: The pipeline sizes must be at least 1");
+        }
+        this.games = games;
+        this.batchSize = batchSize;
+        for (int t = 0; t < threads; t++){
+            ArrayBlockingQueue<Submission> queue = new ArrayBlockingQueue<>(capacity);
+            queues.add(queue);
+
+            // The thread is a daemon so it never keeps the program running on its own
+            Thread thread = new Thread(() -> run(queue), "GamesLeague game reports " + queues.size());
+            thread.setDaemon(true);
+            workers.add(thread);
+            thread.start();
+        }
+    }
+
+    /**
+     * Queues a game report to be registered, waiting first if the league's queue is full
+     *
+     * @param day The epoch day the game was played
+     * @param leagueId The ID of the league
+     * @param playerId The ID of the player
+     * @param gameReport A report detailing the gameplay, may be empty if no report made
+     * @return A future that completes once the report has been registered, or with the exception that
+     *         registerGameReport threw for it
+     * @throws IllegalOperationException If the pipeline has been closed
+     * @see GamesLeague#registerGameReport(int, int, int, String)
+     */
+    public CompletableFuture<Void> submit(int day, int leagueId, int playerId, String gameReport)
+        throws IllegalOperationException{
+
+        Submission submission = new Submission(new GameReportEntry(day, leagueId, playerId, gameReport));
+        closeLock.readLock().lock();
+        try {
+            if (closed){
+                throw new IllegalOperationException("Error: The game report pipeline has been closed");
+            }
+            queues.get(Math.floorMod(leagueId, queues.size())).put(submission);
+        }
+        catch (InterruptedException e){
+            Thread.currentThread().interrupt();
+            submission.result.completeExceptionally(e);
+        }
+        finally {
+            closeLock.readLock().unlock();
+        }
+        return submission.result;
+    }
+
+    /**
+     * Stops any more reports being submitted, then waits for every queued report to be registered
+     */
+    public void close(){
+        closeLock.writeLock().lock();
+        try {
+            if (closed){
+                return;
+            }
+            closed = true;
+        }
+        finally {
+            closeLock.writeLock().unlock();
+        }
+
+        // Mark the end of every queue, then wait for each thread to register the reports before it
+        boolean interrupted = false;
+        for (int t = 0; t < queues.size(); t++){
+            boolean marked = false;
+            while (!marked){
+                try {
+                    queues.get(t).put(new Submission(null));
+                    marked = true;
+                }
+                catch (InterruptedException e){
+                    interrupted = true;
+                }
+            }
+        }
+        for (Thread worker : workers){
+            while (worker.isAlive()){
+                try {
+                    worker.join();
+                }
+                catch (InterruptedException e){
+                    // Keep waiting for the thread's last reports to be registered
+                    interrupted = true;
+                }
+            }
+        }
+        if (interrupted){
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Registers the reports from a queue until the end of the queue is reached
+     *
+     * @param queue The queue of submitted reports
+     */
+    private void run(ArrayBlockingQueue<Submission> queue){
+        ArrayList<Submission> batch = new ArrayList<>();
+        boolean finished = false;
+        while (!finished){
+            try {
+                batch.add(queue.take());
+            }
+            catch (InterruptedException e){
+                continue;
+            }
+            queue.drainTo(batch, batchSize - 1);
+
+            // Nothing can be queued after the end is marked, so the marker is always the last one taken
+            if (batch.get(batch.size() - 1).entry == null){
+                batch.remove(batch.size() - 1);
+                finished = true;
+            }
+            if (!batch.isEmpty()){
+                register(batch);
+            }
+            batch.clear();
+        }
+    }
+
+    /**
+     * Registers a batch of reports together and completes their futures
+     *
+     * @param batch The reports to be registered, in the order they were submitted
+     */
+    private void register(ArrayList<Submission> batch){
+        GameReportEntry[] entries = new GameReportEntry[batch.size()];
+        for (int i = 0; i < entries.length; i++){
+            entries[i] = batch.get(i).entry;
+        }
+        try {
+            RuntimeException[] failures = games.registerGameReports(entries);
+            for (int i = 0; i < entries.length; i++){
+                if (failures[i] == null){
+                    batch.get(i).result.complete(null);
+                }
+                else {
+                    batch.get(i).result.completeExceptionally(failures[i]);
+                }
+            }
+        }
+        catch (RuntimeException e){
+            for (Submission s : batch){
+                s.result.completeExceptionally(e);
+            }
+        }
+    }
+}
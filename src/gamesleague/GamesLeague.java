@@ -1,6 +1,8 @@
 package gamesleague;
 
+import java.io.EOFException;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.FileOutputStream;
@@ -8,6 +10,14 @@ import java.io.FileInputStream;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
 
 
 // javac -d bin -cp bin src/gamesleague/*.java
@@ -28,138 +38,532 @@ public class GamesLeague implements GamesLeagueInterface {
      * List of all player in the system
      */
     private ArrayList<Player> players = new ArrayList<>();
+
+    /**
+     * Players in the system indexed by their ID
+     */
+    private IdIndex<Player> playerIndex = new IdIndex<>();
+    /**
+     * Leagues in the system indexed by their ID
+     */
+    private IdIndex<League> leagueIndex = new IdIndex<>();
+    /**
+     * Leagues from a binary snapshot that have not been read yet, mapped to their position in the snapshot's directory
+     */
+    private IdIndex<Integer> unloadedLeagues = new IdIndex<>();
+    /**
+     * The memory-mapped snapshot that unloaded leagues are read from, or null if every league is loaded
+     */
+    private BinarySnapshot snapshot = null;
+    /**
+     * Player IDs indexed by their email
+     */
+    private HashMap<String, Integer> emailIndex = new HashMap<>();
+    /**
+     * Player IDs indexed by their email in lower case, a list is used since emails that
+     * only differ by case are allowed
+     */
+    private HashMap<String, IntList> normalisedEmailIndex = new HashMap<>();
+    /**
+     * Player IDs indexed by their display name, a list is used since display names do not need to be unique
+     */
+    private HashMap<String, IntList> displayNameIndex = new HashMap<>();
+    /**
+     * League IDs indexed by their name, league names are unique so each name maps to one league
+     */
+    private HashMap<String, Integer> leagueNameIndex = new HashMap<>();
+    /**
+     * IDs of the leagues with a pending invite for each email, in the order the invites were sent. Invites to
+     * leagues that are still in the snapshot are added from its directory when it is loaded.
+     */
+    private HashMap<String, IntList> inviteIndex = new HashMap<>();
+    /**
+     * Held while the invite index is read or changed, since a ConcurrentGamesLeague sends, accepts and removes
+     * invites to different leagues at the same time. It is only cleared while no other call is being made.
+     */
+    private ReentrantLock inviteLock = new ReentrantLock();
     /**
-     * List of all leagues in the system
+     * The most characters a game report can hold, or -1 for no limit.
      */
-    private ArrayList<League> leagues = new ArrayList<>();
+    private int maxGameReportLength = -1;
 
     /**
-     * This checks if the player exists in a given list
+     * Journal that every call that can make a change is recorded in, or null if calls are not being journalled
+     */
+    private GameJournal journal = null;
+    /**
+     * Sequence number of the last journal record, which is saved in snapshots so the journal can be replayed from it
+     */
+    private long journalSequence = 0;
+    /**
+     * Greater than 0 while calls are made as part of another call or by replaying the journal,
+     * so they are not journalled again
+     */
+    private int journalSuppressed = 0;
+
+    /**
+     * The day a journal record was first written on while it is being replayed, or null to use the current date.
+     */
+    private LocalDate replayDate = null;
+    /**
+     * Held while a journal record is built and added, so calls made at the same time from
+     * different threads by a ConcurrentGamesLeague write whole records one after another
+     */
+    private ReentrantLock journalLock = new ReentrantLock();
+    /**
+     * Held while a league is read from the snapshot or put in the league index, so calls made at the same time
+     * from different threads by a ConcurrentGamesLeague can each read a league the first time it is needed
+     */
+    private ReentrantLock hydrationLock = new ReentrantLock();
+    /**
+     * Writes checkpoints in the background, or null if checkpointing has not been started
+     */
+    private Checkpointer checkpointer = null;
+    /**
+     * IDs of leagues that have been created, changed or removed since the last checkpoint
+     */
+    private Set<Integer> dirtyLeagues = ConcurrentHashMap.newKeySet();
+    /**
+     * IDs of players that have been created or changed since the last checkpoint
+     */
+    private Set<Integer> dirtyPlayers = ConcurrentHashMap.newKeySet();
+    /**
+     * True if everything has been erased or loaded since the last checkpoint, so the next one holds everything
+     */
+    private boolean checkpointReset = false;
+    /**
+     * The last checkpoint that was started, or null if there are none waiting to be checked
+     */
+    private Future<Long> lastCheckpoint = null;
+
+    /**
+     * This checks if a player exists in the system
      * 
-     * @param players Lists of players to be checked
      * @param id The ID of the player to be checked
-     * @return True if the player is found in list, False if not
+     * @return True if the player is found, False if not
      */
-    public boolean doesPlayerExist(ArrayList<Player> players, int id){
-        boolean found = false;
-        // Loop through each player in the list of players
-        for (Player p : players){
-            // If the player ID of the current player matches then the player exists
-            if (p.getId() == id){
-                found = true;
-                break;
+    public boolean doesPlayerExist(int id){
+        return playerIndex.contains(id);
+    }
+
+    /**
+     * Checks if a league exists in the system
+     * 
+     * @param id The ID of the league to check
+     * @return True if the league is found, False if not
+     */
+    public boolean doesLeagueExist(int id){
+        if (leagueIndex.contains(id)){
+            return true;
+        }
+        hydrationLock.lock();
+        try {
+            return leagueIndex.contains(id) || unloadedLeagues.contains(id);
+        }
+        finally {
+            hydrationLock.unlock();
+        }
+    }
+
+    /**
+     * Returns a player from the system
+     * 
+     * @param id The ID of the player to find
+     * @return The memory address of the player or null if the player is not found
+     */
+    public Player getPlayerIfExist(int id){
+        return playerIndex.get(id);
+    }
+
+    /**
+     * Returns a league from the system
+     * 
+     * @param id The ID of the league to be found
+     * @return The memory address of the league or null if the league is not found
+     * @throws UncheckedIOException If the league has not been loaded yet and cannot be read from the snapshot
+     */
+    public League getLeagueIfExist(int id){
+        League league = leagueIndex.get(id);
+        if (league != null){
+            return league;
+        }
+
+        // Another thread may be reading the league at the same time, so look again once no other thread can
+        hydrationLock.lock();
+        try {
+            league = leagueIndex.get(id);
+            if (league != null || !unloadedLeagues.contains(id)){
+                return league;
+            }
+
+            // The league is still in the snapshot, so read it now and keep it loaded
+            try {
+                league = snapshot.readLeague(unloadedLeagues.get(id));
+            }
+            catch (IOException e){
+                throw new UncheckedIOException(e);
             }
+            leagueIndex.put(id, league);
+            unloadedLeagues.remove(id);
+
+            // Let go of the mapped file once every league has been read
+            if (unloadedLeagues.size() == 0){
+                snapshot = null;
+            }
+            return league;
+        }
+        finally {
+            hydrationLock.unlock();
         }
-        return found;
     }
 
     /**
-     * Checks if the player exists in a given list
+     * Gets the IDs of the leagues that have been read, leaving any that are still in the snapshot unread
      * 
-     * @param leagues The list of leagues to be checked
-     * @param id The ID of the league to check
-     * @return True if the league is found in the list, False if not
-     */
-    public boolean doesLeagueExist(ArrayList<League> leagues, int id){
-        boolean found = false;
-        // Loop through each league in the list of leagues
-        for (League l : leagues){
-            // If the current league matches the ID then the league has been found
-            if (l.getId() == id){
-                found = true;
-                break;
+     * @return An array of the IDs of the loaded leagues in ascending order
+     */
+    public int[] getLoadedLeagueIds(){
+        hydrationLock.lock();
+        try {
+            return leagueIndex.ids();
+        }
+        finally {
+            hydrationLock.unlock();
+        }
+    }
+
+    /**
+     * Gets every league in the system, reading any that are still in the snapshot
+     * 
+     * @return An ArrayList of every league in ID order
+     */
+    public ArrayList<League> getAllLeagues(){
+        ArrayList<League> all = new ArrayList<>();
+        for (int id : getLeagueIds()){
+            all.add(getLeagueIfExist(id));
+        }
+        return all;
+    }
+
+    /**
+     * Gets every league that has been read, and the position in the snapshot's directory of every league that is
+     * still in the snapshot, without reading those leagues
+     * 
+     * @param loaded Filled with the leagues that have been read, in ID order
+     * @param unloaded Filled with the directory position of each league still in the snapshot, in ID order
+     * @return The snapshot the unread leagues are in, or null if every league has been read
+     */
+    private BinarySnapshot splitLeagues(ArrayList<League> loaded, IntList unloaded){
+        hydrationLock.lock();
+        try {
+            for (int id : leagueIndex.ids()){
+                loaded.add(leagueIndex.get(id));
             }
+            for (int id : unloadedLeagues.ids()){
+                unloaded.add(unloadedLeagues.get(id));
+            }
+            return unloaded.isEmpty() ? null : snapshot;
+        }
+        finally {
+            hydrationLock.unlock();
         }
-        return found;
     }
 
     /**
-     * Returns a player from a list of players
+     * Returns a league that is about to be changed. If the league is frozen because a checkpoint is being written,
+     * a copy of it takes its place in the system so the checkpoint is not changed. The league is marked as
+     * changed for the next checkpoint.
+     * 
+     * @param id The ID of the league to find
+     * @return The memory address of the league that can be changed or null if the league is not found
+     * @throws UncheckedIOException If the league has not been loaded yet and cannot be read from the snapshot
+     */
+    private League getLeagueForUpdate(int id){
+        League league = getLeagueIfExist(id);
+        if (league == null){
+            return null;
+        }
+        if (league.isFrozen()){
+            league = league.copy();
+            // The index can grow while it is being changed, so it is only changed by one thread at a time
+            hydrationLock.lock();
+            try {
+                leagueIndex.put(id, league);
+            }
+            finally {
+                hydrationLock.unlock();
+            }
+        }
+        markLeagueDirty(id);
+        return league;
+    }
+
+    /**
+     * Returns a player that is about to be changed, marking them as changed for the next checkpoint
      * 
-     * @param players The list of players to be checked
      * @param id The ID of the player to find
      * @return The memory address of the player or null if the player is not found
      */
-    public Player getPlayerIfExist(ArrayList<Player> players, int id){
-        Player tempPlayer = null;
-        // Loop through each player in the list of players
-        for (Player p : players){
-            //If the ID matches then set the temporary variable to the memory address of the player object
-            if (p.getId() == id){
-                tempPlayer = p;
-                break;
+    private Player getPlayerForUpdate(int id){
+        Player player = getPlayerIfExist(id);
+        if (player != null){
+            markPlayerDirty(id);
+        }
+        return player;
+    }
+
+    /**
+     * Marks a league as created, changed or removed so it is written with the next checkpoint
+     * 
+     * @param id The ID of the league
+     */
+    private void markLeagueDirty(int id){
+        if (checkpointer != null){
+            dirtyLeagues.add(id);
+        }
+    }
+
+    /**
+     * Marks a player as created or changed so they are written with the next checkpoint
+     * 
+     * @param id The ID of the player
+     */
+    private void markPlayerDirty(int id){
+        if (checkpointer != null){
+            dirtyPlayers.add(id);
+        }
+    }
+
+    /**
+     * Gets the date calls are being made on. While the journal is replayed this is the day the record being
+     * replayed was written, so other instances and threads still see the real date.
+     *
+     * @return The current date, or the day of the journal record being replayed
+     */
+    private LocalDate now(){
+        return replayDate == null ? DateProvider.now() : replayDate;
+    }
+
+    /**
+     * Adds a journal record for a call that is about to be made. Calls are recorded before they are checked,
+     * since some calls make part of their change before throwing an exception, and replaying the call
+     * makes exactly the same part of the change again.
+     * 
+     * The journal lock is held while the record is built and added, and is always released, even if the
+     * arguments cannot be written.
+     * 
+     * @param opcode The GameJournal opcode of the call
+     * @param arguments Writes the call's arguments to the record, or null if the call has none
+     * @throws UncheckedIOException If the journal cannot be written
+     */
+    private void writeJournalRecord(int opcode, Consumer<SnapshotEncoder> arguments){
+        if (journal == null || journalSuppressed > 0){
+            return;
+        }
+        journalLock.lock();
+        try {
+            SnapshotEncoder record = journal.begin(journalSequence + 1, opcode, (int) now().toEpochDay());
+            if (arguments != null){
+                arguments.accept(record);
             }
+            journal.commit();
+            journalSequence++;
+        }
+        catch (IOException e){
+            throw new UncheckedIOException(e);
+        }
+        finally {
+            journalLock.unlock();
         }
-        return tempPlayer;
     }
 
     /**
-     * Returns a league from a list of leagues
+     * Converts an email into the form used as the key of the case-normalised email index
      * 
-     * @param leagues The list of leagues to be checked
-     * @param id The ID of the league to be found
-     * @return The memory address of the league or null if the league is not found
+     * @param email The email to be converted
+     * @return The email in lower case
      */
-    public League getLeagueIfExist(ArrayList<League> leagues, int id){
-        League tempLeague = null;
-        // Loop through each league in the list of leagues
-        for (League l : leagues){
-            // If the league ID matches then save the memory address in the temporary variable;
-            if (l.getId() == id){
-                tempLeague = l;
-                break;
+    public String normaliseEmail(String email){
+        return email.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Adds a player or league ID to the list stored against a key in one of the indexes
+     * 
+     * @param index The index to be added to
+     * @param key The key that the ID is stored against
+     * @param id The ID of the player or league
+     */
+    private void addToIndex(HashMap<String, IntList> index, String key, int id){
+        IntList ids = index.get(key);
+        if (ids == null){
+            ids = new IntList();
+            index.put(key, ids);
+        }
+        ids.add(id);
+    }
+
+    /**
+     * Removes a player or league ID from the list stored against a key in one of the indexes
+     * 
+     * @param index The index to be removed from
+     * @param key The key that the ID is stored against
+     * @param id The ID of the player or league
+     */
+    private void removeFromIndex(HashMap<String, IntList> index, String key, int id){
+        IntList ids = index.get(key);
+        if (ids != null){
+            ids.remove(id);
+            // Drop the key once no IDs are left under it
+            if (ids.isEmpty()){
+                index.remove(key);
             }
         }
-        return tempLeague;
     }
 
     /**
-     * Checks if a player is in a league
+     * Adds a player's email and display name to the player indexes
      * 
-     * @param leagueId The ID of the league to be checked
-     * @param playerId The ID of the player to be found
-     * @return True if the player is in the league, False if not
-     * @throws IDInvalidException If the league does not exist or the player does not exist
+     * @param p The player to be indexed
      */
-    public boolean isPlayerInLeague(int leagueId, int playerId) throws IDInvalidException{
-        // Find the league that is being queried
-        League l = getLeagueIfExist(leagues, leagueId);
+    private void indexPlayer(Player p){
+        // Deactivated players have an empty email which should never be matched
+        if (!p.getEmail().equals("")){
+            emailIndex.put(p.getEmail(), p.getId());
+            addToIndex(normalisedEmailIndex, normaliseEmail(p.getEmail()), p.getId());
+        }
+        addToIndex(displayNameIndex, p.getDisplayName(), p.getId());
+    }
 
-        // Check if the league and the player exist
-        if (l == null || !doesPlayerExist(players, playerId)){
-            throw new IDInvalidException("Error: Player does not exist with this id.");
+    /**
+     * Removes a player's email and display name from the player indexes
+     * 
+     * @param p The player to be removed from the indexes
+     */
+    private void unindexPlayer(Player p){
+        if (!p.getEmail().equals("")){
+            emailIndex.remove(p.getEmail());
+            removeFromIndex(normalisedEmailIndex, normaliseEmail(p.getEmail()), p.getId());
         }
+        removeFromIndex(displayNameIndex, p.getDisplayName(), p.getId());
+    }
 
-        boolean found = false;
-        // Loop through each LeagueMember (Player) in the league
-        for (LeagueMember p : l.getPlayers()){
-            // If the ID matches then the player has been found
-            if (p.getPlayerId() == playerId){
-                found = true;
-                break;
+    /**
+     * Adds every pending invite of a league to the invite index
+     * 
+     * @param l The league whose invites are to be indexed
+     */
+    private void indexInvites(League l){
+        inviteLock.lock();
+        try {
+            for (String email : l.getPlayerInvites()){
+                addToIndex(inviteIndex, email, l.getId());
             }
         }
+        finally {
+            inviteLock.unlock();
+        }
+    }
 
-        return found;
+    /**
+     * Removes every pending invite of a league from the invite index
+     * 
+     * @param l The league whose invites are to be removed from the index
+     */
+    private void unindexInvites(League l){
+        inviteLock.lock();
+        try {
+            for (String email : l.getPlayerInvites()){
+                removeFromIndex(inviteIndex, email, l.getId());
+            }
+        }
+        finally {
+            inviteLock.unlock();
+        }
     }
 
     /**
-     * This converts an Integer ArrayList to a primitive int array
+     * Adds a pending invite to the invite index
      * 
-     * @param toConvert The ArrayList to convert
-     * @return The converted int array
+     * @param email The email the invite was sent to
+     * @param leagueId The ID of the league the invite is for
      */
-    public int[] convertArrayListIntegerToArrayInt(ArrayList<Integer> toConvert) {
-        // Create a new array which is the same size as the ArrayList to convert
-        int[] newArray = new int[toConvert.size()];
+    private void indexInvite(String email, int leagueId){
+        inviteLock.lock();
+        try {
+            addToIndex(inviteIndex, email, leagueId);
+        }
+        finally {
+            inviteLock.unlock();
+        }
+    }
 
-        // Loop through the ArrayList and add each element to the int array
-        int counter = 0;
-        for (Integer n : toConvert) {
-            newArray[counter++] = n;
+    /**
+     * Removes an invite that has been accepted or removed from the invite index
+     * 
+     * @param email The email the invite was sent to
+     * @param leagueId The ID of the league the invite is for
+     */
+    private void unindexInvite(String email, int leagueId){
+        inviteLock.lock();
+        try {
+            removeFromIndex(inviteIndex, email, leagueId);
+        }
+        finally {
+            inviteLock.unlock();
+        }
+    }
+
+    /**
+     * Gets the IDs of the leagues with a pending invite for an email
+     * 
+     * @param email The email to be looked up
+     * @return A new array of league IDs in the order the invites were sent, or null if there are none
+     */
+    private int[] getInvitedLeagueIds(String email){
+        inviteLock.lock();
+        try {
+            IntList ids = inviteIndex.get(email);
+            return ids == null ? null : ids.toArray();
+        }
+        finally {
+            inviteLock.unlock();
         }
+    }
 
-        return newArray;
+    /**
+     * Finds a player using their email
+     * 
+     * @param email The email of the player
+     * @return The memory address of the player or null if no player has that email
+     */
+    public Player getPlayerByEmail(String email){
+        Integer id = emailIndex.get(email);
+        if (id == null){
+            return null;
+        }
+        return getPlayerIfExist(id);
+    }
+
+    /**
+     * Checks if a player is in a league
+     * 
+     * @param leagueId The ID of the league to be checked
+     * @param playerId The ID of the player to be found
+     * @return True if the player is in the league, False if not
+     * @throws IDInvalidException If the league does not exist or the player does not exist
+     */
+    public boolean isPlayerInLeague(int leagueId, int playerId) throws IDInvalidException{
+        // Find the league that is being queried
+        League l = getLeagueIfExist(leagueId);
+
+        // Check if the league and the player exist
+        if (l == null || !doesPlayerExist(playerId)){
+            throw new IDInvalidException("Error: Player does not exist with this id.");
+        }
+
+        // Look the player up in the league's set of members
+        return l.isMember(playerId);
     }
 
     // Players
@@ -201,6 +605,15 @@ public class GamesLeague implements GamesLeagueInterface {
         throws  InvalidEmailException,   
                 IllegalEmailException,
                 InvalidNameException {
+
+            // Record the call in the journal before it makes any changes
+            writeJournalRecord(GameJournal.CREATE_PLAYER, record -> {
+                record.writeSignedVarInt(Player.getCounter());
+                record.writeString(email);
+                record.writeString(displayName);
+                record.writeString(name);
+                record.writeString(phone);
+            });
         
             // Check that the email is valid
             if (email == null || email.equals("") || !email.contains("@")){
@@ -218,21 +631,23 @@ public class GamesLeague implements GamesLeagueInterface {
             }
 
             // Check if the player email is already in use
-            for (Player p : players){
-                if (p.getEmail().equals(email)){
-                    throw new IllegalEmailException("Error: This email is already in the system");
-                }
+            if (emailIndex.containsKey(email)){
+                throw new IllegalEmailException("Error: This email is already in the system");
             }
             // Create the new player and add it to the list of players
-            Player temp = new Player(email, displayName, name, phone);
+            Player temp = new Player(email, displayName, name, phone, now());
             players.add(temp);
+            playerIndex.put(temp.getId(), temp);
+            indexPlayer(temp);
+            markPlayerDirty(temp.getId());
 
             // If the player has any invitations to leagues already, add it to their list of invites.
-            for (League inviteLeague : leagues) {
-                for (int inviteId : this.getLeaguePlayerInvites(inviteLeague.getId())) {
-                    if (temp.getId() == inviteId) {
-                        temp.appendLeagueInviteIds(inviteLeague.getId());
-                    }
+            int[] inviteIds = getInvitedLeagueIds(email);
+            if (inviteIds != null){
+                // The invites are added in league ID order rather than the order they were sent
+                Arrays.sort(inviteIds);
+                for (int inviteLeagueId : inviteIds) {
+                    temp.appendLeagueInviteIds(inviteLeagueId);
                 }
             }
 
@@ -256,8 +671,13 @@ public class GamesLeague implements GamesLeagueInterface {
      */
     public void deactivatePlayer(int playerId) 
         throws IDInvalidException, IllegalOperationException {
+        // Record the call in the journal before it makes any changes
+        writeJournalRecord(GameJournal.DEACTIVATE_PLAYER, record -> {
+            record.writeSignedVarInt(playerId);
+        });
+
         // Does this player exist?
-        Player anonymPlayer = getPlayerIfExist(players, playerId);
+        Player anonymPlayer = getPlayerForUpdate(playerId);
 
         // If they don't throw an IDInvalidException.
         if (anonymPlayer == null) {
@@ -266,13 +686,11 @@ public class GamesLeague implements GamesLeagueInterface {
 
         // If the player exists, are they the sole owner in any leagues?
         boolean sole_owner = false;
-        for (Integer id : anonymPlayer.getOwnedLeagueIds()) {
-            for (League l : leagues) {
-                if (id == l.getId()) {
-                    if (l.getOwners().size() == 1) {
-                        sole_owner = true;
-                    }
-                }
+        IntSet ownedIds = anonymPlayer.getOwnedLeagueIds();
+        for (int i = 0; i < ownedIds.size(); i++) {
+            League l = getLeagueIfExist(ownedIds.get(i));
+            if (l != null && l.getOwners().size() == 1) {
+                sole_owner = true;
             }
         }
         // If they are, throw an IllegalOperationException.
@@ -281,19 +699,23 @@ public class GamesLeague implements GamesLeagueInterface {
         }
 
         // If they aren't the sole owner in any league, then anonymise the player's personal info.
+        // The player is re-indexed so their old email and display name can no longer be looked up.
+        unindexPlayer(anonymPlayer);
         String new_name = String.format("anonymousplayer%d", playerId);
         anonymPlayer.setDisplayName(new_name);
         anonymPlayer.setName(new_name);
         anonymPlayer.setEmail("");
         anonymPlayer.setPhone("");
+        indexPlayer(anonymPlayer);
 
 
         // Set all player reports to empty strings, and set player as inactive in all their leagues.
         anonymPlayer.setInactiveStatus(true);
         anonymPlayer.setDeactivatedStatus(true);
 
-        for (int leagueId : anonymPlayer.getLeagueIds()) {
-            League l = getLeagueIfExist(leagues, leagueId);
+        IntSet leagueIds = anonymPlayer.getLeagueIds();
+        for (int i = 0; i < leagueIds.size(); i++) {
+            League l = getLeagueForUpdate(leagueIds.get(i));
             if (l != null) {
                 l.setInactivePlayer(playerId);
                 l.emptyGameReports(playerId);
@@ -313,7 +735,7 @@ public class GamesLeague implements GamesLeagueInterface {
     public boolean isDeactivatedPlayer(int playerId) 
         throws IDInvalidException{
         // Find the player that is being queried
-        Player deactivePlayer = getPlayerIfExist(players, playerId);
+        Player deactivePlayer = getPlayerIfExist(playerId);
         // Check if the player exists
         if (deactivePlayer == null) {
             throw new IDInvalidException("ID is not valid");
@@ -334,20 +756,28 @@ public class GamesLeague implements GamesLeagueInterface {
      */
     public void updatePlayerDisplayName(int playerId, String displayName) 
         throws  IDInvalidException, InvalidNameException {
+        // Record the call in the journal before it makes any changes
+        writeJournalRecord(GameJournal.UPDATE_DISPLAY_NAME, record -> {
+            record.writeSignedVarInt(playerId);
+            record.writeString(displayName);
+        });
+
         // Check display name is valid
         if (displayName == null || displayName.length() < 1 || displayName.length() > 20 || displayName.charAt(0) == ' ' || displayName.charAt(displayName.length()-1) == ' '){
             throw new InvalidNameException("Error: Name does not meet requirements");
         }
         // Find the player being queried
-        Player tempPlayer = getPlayerIfExist(players, playerId);
+        Player tempPlayer = getPlayerForUpdate(playerId);
 
         // Check if the player exists
         if (tempPlayer == null){
             throw new IDInvalidException("ID is not valid");
         }
 
-        // Set the new display name
+        // Set the new display name and move the player to it in the display name index
+        removeFromIndex(displayNameIndex, tempPlayer.getDisplayName(), playerId);
         tempPlayer.setDisplayName(displayName);
+        addToIndex(displayNameIndex, displayName, playerId);
     };
 
     /**
@@ -357,19 +787,51 @@ public class GamesLeague implements GamesLeagueInterface {
      * @return The ID of the player in the system or -1 if the player does not exist.
      */
     public int getPlayerId(String email){
-        int id = -1;
-        // Loop through each player in the ArrayList of players
-        for (Player p : players){
-            // If the email matches then get the ID of that player
-            if (p.getEmail().equals(email)){
-                id = p.getId();
-                break;
-            }
+        // Look the email up in the email index
+        Integer id = emailIndex.get(email);
+        if (id == null){
+            return -1;
         }
         
         return id;
     }
 
+    /**
+     * Get the player id from the email, ignoring the case of the email.
+     * If several players have emails that only differ by case, the earliest registered player is returned.
+     *
+     * @param email The email of the player.
+     * @return The ID of the player in the system or -1 if the player does not exist.
+     */
+    public int getPlayerIdIgnoreCase(String email){
+        if (email == null){
+            return -1;
+        }
+
+        // Look the email up in the case-normalised email index
+        IntList ids = normalisedEmailIndex.get(normaliseEmail(email));
+        if (ids == null){
+            return -1;
+        }
+
+        return ids.get(0);
+    }
+
+    /**
+     * Get the IDs of every player using a display name.
+     *
+     * @param displayName The display name being searched for.
+     * @return An array of player IDs using the display name or an empty array if none exists.
+     */
+    public int[] getPlayerIdsByDisplayName(String displayName){
+        IntList ids = displayNameIndex.get(displayName);
+        if (ids == null){
+            return new int[0];
+        }
+
+        return ids.toArray();
+    }
+
 
     /**
      * Get the player's display name.
@@ -382,7 +844,7 @@ public class GamesLeague implements GamesLeagueInterface {
     public String getPlayerDisplayName(int playerId) throws IDInvalidException{
 
         // Get the player being queried
-        Player tempPlayer = getPlayerIfExist(players, playerId);
+        Player tempPlayer = getPlayerIfExist(playerId);
 
         // Check that the player exists
         if (tempPlayer == null){
@@ -404,7 +866,7 @@ public class GamesLeague implements GamesLeagueInterface {
     public String getPlayerEmail(int playerId) throws IDInvalidException{
 
         // Get the player being queried
-        Player tempPlayer = getPlayerIfExist(players, playerId);
+        Player tempPlayer = getPlayerIfExist(playerId);
 
         // Check that the player exists
         if (tempPlayer == null){
@@ -425,24 +887,25 @@ public class GamesLeague implements GamesLeagueInterface {
     public int[] getPlayerLeagues(int playerId) throws IDInvalidException{
 
         // Get the player being queried
-        Player tempPlayer = getPlayerIfExist(players, playerId);
+        Player tempPlayer = getPlayerIfExist(playerId);
 
         // Check that the player exists
         if (tempPlayer == null){
             throw new IDInvalidException("ID is not valid");
         }
 
-        ArrayList<Integer> activeIds = new ArrayList<>();
+        IntList activeIds = new IntList();
 
         // This finds all the leagues that the player is a part of that are currently active
-        for (int i : tempPlayer.getLeagueIds()){
-            if (getLeagueIfExist(leagues, i).getStatus() == Status.IN_PROGRESS){
-                activeIds.add(i);
+        IntSet leagueIds = tempPlayer.getLeagueIds();
+        for (int i = 0; i < leagueIds.size(); i++){
+            if (getLeagueIfExist(leagueIds.get(i)).getStatus() == Status.IN_PROGRESS){
+                activeIds.add(leagueIds.get(i));
             }
         }
 
-        // Convert the Integer ArrayList to an int array before returning
-        return convertArrayListIntegerToArrayInt(activeIds);
+        // Copy the list of IDs into an int array before returning
+        return activeIds.toArray();
     };
 
 
@@ -456,15 +919,15 @@ public class GamesLeague implements GamesLeagueInterface {
     public int[] getPlayerOwnedLeagues(int playerId) throws IDInvalidException{
 
         // Get the player being queried
-        Player tempPlayer = getPlayerIfExist(players, playerId);
+        Player tempPlayer = getPlayerIfExist(playerId);
 
         // Check that the player exists
         if (tempPlayer == null){
             throw new IDInvalidException("ID is not valid");
         }
 
-        // Convert the Integer ArrayList to an int array before returning
-        return convertArrayListIntegerToArrayInt(tempPlayer.getOwnedLeagueIds());
+        // Copy the set of IDs into an int array before returning
+        return tempPlayer.getOwnedLeagueIds().toArray();
     };
 
     /**
@@ -477,15 +940,15 @@ public class GamesLeague implements GamesLeagueInterface {
     public int[] getPlayerInvites(int playerId) throws IDInvalidException{
 
         // Get the player being queried
-        Player tempPlayer = getPlayerIfExist(players, playerId);
+        Player tempPlayer = getPlayerIfExist(playerId);
 
         // Check that the player exists
         if (tempPlayer == null){
             throw new IDInvalidException("ID is not valid");
         }
 
-        // Convert the Integer ArrayList to an int array before returning
-        return convertArrayListIntegerToArrayInt(tempPlayer.getLeagueInviteIds());
+        // Copy the list of IDs into an int array before returning
+        return tempPlayer.getLeagueInviteIds().toArray();
     };
 
 
@@ -500,7 +963,7 @@ public class GamesLeague implements GamesLeagueInterface {
     public int getPlayerRoundsPlayed(int playerId) throws IDInvalidException{
 
         // Gets the player being queried
-        Player playerRounds = getPlayerIfExist(players, playerId);
+        Player playerRounds = getPlayerIfExist(playerId);
 
         // Checks if the player exists
         if (playerRounds == null) {
@@ -518,8 +981,13 @@ public class GamesLeague implements GamesLeagueInterface {
      */
     public void incrementRoundPlayed(int playerID) throws IDInvalidException{
 
+        // Record the call in the journal before it makes any changes
+        writeJournalRecord(GameJournal.INCREMENT_ROUNDS, record -> {
+            record.writeSignedVarInt(playerID);
+        });
+
         // Gets the player being queried
-        Player playerIncrement = getPlayerIfExist(players, playerID);
+        Player playerIncrement = getPlayerForUpdate(playerID);
 
         // Checks if player exists
         if (playerIncrement == null) {
@@ -541,7 +1009,7 @@ public class GamesLeague implements GamesLeagueInterface {
      */
     public double getPlayerRoundsPercentage(int playerId) throws IDInvalidException{
         // Does player exist?
-        Player playerPercent = getPlayerIfExist(players, playerId);
+        Player playerPercent = getPlayerIfExist(playerId);
 
         // If not throw IDInvalidException.
         if (playerPercent == null) {
@@ -550,8 +1018,9 @@ public class GamesLeague implements GamesLeagueInterface {
 
         // If so, loop through and count the total rounds played across all of those player's leagues.
         int totalRoundsPlayed = 0;
-        for (int leagueId : playerPercent.getLeagueIds()) {
-            totalRoundsPlayed = totalRoundsPlayed + getLeagueIfExist(leagues, leagueId).getRounds();
+        IntSet leagueIds = playerPercent.getLeagueIds();
+        for (int i = 0; i < leagueIds.size(); i++) {
+            totalRoundsPlayed = totalRoundsPlayed + getLeagueIfExist(leagueIds.get(i)).getRounds();
         }
 
         // Divide player's rounds played against total rounds played and find the percentage.
@@ -568,7 +1037,7 @@ public class GamesLeague implements GamesLeagueInterface {
     public LocalDate getPlayerJoinDate(int playerId) throws IDInvalidException{
 
         // Get the player being queried
-        Player tempPlayer = getPlayerIfExist(players, playerId);
+        Player tempPlayer = getPlayerIfExist(playerId);
 
         // Check if player exists
         if (tempPlayer == null){
@@ -587,12 +1056,28 @@ public class GamesLeague implements GamesLeagueInterface {
      */
     public int[] getLeagueIds(){
 
-        int[] leagueIds = new int[leagues.size()];
+        // Both indexes are read together, so a league being read at the same time is not missed or counted twice
+        int[] loaded;
+        int[] unloaded;
+        hydrationLock.lock();
+        try {
+            loaded = leagueIndex.ids();
+            unloaded = unloadedLeagues.ids();
+        }
+        finally {
+            hydrationLock.unlock();
+        }
+        int[] leagueIds = new int[loaded.length + unloaded.length];
 
-        // Loop through each league in the leagues ArrayList and add their IDs to the array
-        int counter = 0;
-        for (League l : leagues){
-            leagueIds[counter++] = l.getId();
+        // Merge the IDs of the loaded and unloaded leagues, which are both in ascending order
+        int i = 0, j = 0, counter = 0;
+        while (i < loaded.length || j < unloaded.length){
+            if (j == unloaded.length || (i < loaded.length && loaded[i] < unloaded[j])){
+                leagueIds[counter++] = loaded[i++];
+            }
+            else {
+                leagueIds[counter++] = unloaded[j++];
+            }
         }
         
         return leagueIds;
@@ -615,9 +1100,17 @@ public class GamesLeague implements GamesLeagueInterface {
         throws  IDInvalidException, 
                 InvalidNameException, 
                 IllegalNameException{
+
+        // Record the call in the journal before it makes any changes
+        writeJournalRecord(GameJournal.CREATE_LEAGUE, record -> {
+            record.writeSignedVarInt(League.getCounter());
+            record.writeSignedVarInt(owner);
+            record.writeString(name);
+            record.writeVarInt(gameType == null ? 0 : gameType.ordinal() + 1);
+        });
         
         // Gets the player that matches the owner ID
-        Player ownerPlayer = getPlayerIfExist(players, owner);
+        Player ownerPlayer = getPlayerForUpdate(owner);
 
         // Checks if the owner exists
         if (ownerPlayer == null){
@@ -630,10 +1123,8 @@ public class GamesLeague implements GamesLeagueInterface {
         }
 
         // Check if the league name is already in use
-        for (League l : leagues){
-            if (l.getName().equals(name)){
-                throw new IllegalNameException("Error: Name does not meet requirements");
-            }
+        if (leagueNameIndex.containsKey(name)){
+            throw new IllegalNameException("Error: Name does not meet requirements");
         }
 
         // Create the new league
@@ -642,15 +1133,17 @@ public class GamesLeague implements GamesLeagueInterface {
         // Add the owner to the league
         temp.addPlayer(ownerPlayer);
 
-        // Add the new league to the list of leagues
-        leagues.add(temp);
+        // Add the new league to the league index
+        leagueIndex.put(temp.getId(), temp);
+        leagueNameIndex.put(name, temp.getId());
+        markLeagueDirty(temp.getId());
 
         // Add the new league ID to the player's list of owned leagues
         ownerPlayer.appendOwnedLeagueIds(temp.getId());
 
         // Add the new league ID to the player's list of leagues
         ownerPlayer.appendLeagueIds(temp.getId());
-        
+
         return temp.getId();
     };
 
@@ -662,9 +1155,14 @@ public class GamesLeague implements GamesLeagueInterface {
      * @throws IDInvalidException If the ID does not match to any league in the system.
      */
     public void removeLeague(int leagueId) throws IDInvalidException{
+
+        // Record the call in the journal before it makes any changes
+        writeJournalRecord(GameJournal.REMOVE_LEAGUE, record -> {
+            record.writeSignedVarInt(leagueId);
+        });
         
         // Get the league that is being removed
-        League toRemove = getLeagueIfExist(leagues, leagueId);
+        League toRemove = getLeagueIfExist(leagueId);
 
         //Check if the league exists
         if (toRemove == null){
@@ -673,35 +1171,35 @@ public class GamesLeague implements GamesLeagueInterface {
 
         Player tempPlayer = null;
         // Remove all the players, owners and invitations
-        for (int ownerId : toRemove.getOwners()) {
-            tempPlayer = getPlayerIfExist(players, ownerId);
+        IntList owners = toRemove.getOwners();
+        for (int i = 0; i < owners.size(); i++) {
+            tempPlayer = getPlayerForUpdate(owners.get(i));
             if (tempPlayer != null) {
                 tempPlayer.removeOwnedLeagueId(leagueId);
             }
             tempPlayer = null;
         }
         for (LeagueMember leaguePlayer : toRemove.getPlayers()) {
-            tempPlayer = getPlayerIfExist(players, leaguePlayer.getPlayerId());
+            tempPlayer = getPlayerForUpdate(leaguePlayer.getPlayerId());
             if (tempPlayer != null) {
                 tempPlayer.removeLeagueId(leagueId);
             }
             tempPlayer = null;
         }
         for (String inviteEmail : toRemove.getPlayerInvites()) {
-            for (Player p : players) {
-                if (p.getEmail().equals(inviteEmail)){
-                    tempPlayer = p;
-                    break;
-                }
-            }
+            tempPlayer = getPlayerByEmail(inviteEmail);
             if (tempPlayer != null) {
+                markPlayerDirty(tempPlayer.getId());
                 tempPlayer.removeLeagueInviteId(leagueId);
             }
             tempPlayer = null;
         }
+        unindexInvites(toRemove);
 
-        // Remove the league from the leagues ArrayList
-        leagues.remove(toRemove);
+        // Remove the league from the league index
+        leagueIndex.remove(leagueId);
+        leagueNameIndex.remove(toRemove.getName());
+        markLeagueDirty(leagueId);
     };
 
     /**
@@ -715,7 +1213,7 @@ public class GamesLeague implements GamesLeagueInterface {
     public String getLeagueName(int leagueId) throws IDInvalidException{
 
         // Get league being queried
-        League tempLeague = getLeagueIfExist(leagues, leagueId);
+        League tempLeague = getLeagueIfExist(leagueId);
 
         // Check if league exists
         if (tempLeague == null){
@@ -725,6 +1223,22 @@ public class GamesLeague implements GamesLeagueInterface {
         return tempLeague.getName();
     };
 
+    /**
+     * Get the league id from the league name.
+     * 
+     * @param name The name of the league.
+     * @return The ID of the league in the system or -1 if no league has that name.
+     */
+    public int getLeagueIdByName(String name){
+        // Look the name up in the league name index
+        Integer id = leagueNameIndex.get(name);
+        if (id == null){
+            return -1;
+        }
+
+        return id;
+    }
+
     /**
      * Update the name of a league
      * 
@@ -741,8 +1255,14 @@ public class GamesLeague implements GamesLeagueInterface {
                 InvalidNameException, 
                 IllegalNameException{
 
+        // Record the call in the journal before it makes any changes
+        writeJournalRecord(GameJournal.UPDATE_LEAGUE_NAME, record -> {
+            record.writeSignedVarInt(leagueId);
+            record.writeString(newName);
+        });
+
         // Get league being queried
-        League toUpdate = getLeagueIfExist(leagues, leagueId);
+        League toUpdate = getLeagueForUpdate(leagueId);
 
         // Check if league exists
         if (toUpdate == null){
@@ -755,14 +1275,14 @@ public class GamesLeague implements GamesLeagueInterface {
         }
 
         // Check if new name is already in use
-        for (League l : leagues){
-            if (l.getName().equals(newName)){
-                throw new IllegalNameException("Error: Name is a duplicate of another league's name");
-            }
+        if (leagueNameIndex.containsKey(newName)){
+            throw new IllegalNameException("Error: Name is a duplicate of another league's name");
         }
 
-        // Update the name
+        // Update the name and move the league to its new name in the name index
+        leagueNameIndex.remove(toUpdate.getName());
         toUpdate.setName(newName);
+        leagueNameIndex.put(newName, leagueId);
     };
 
 
@@ -777,8 +1297,14 @@ public class GamesLeague implements GamesLeagueInterface {
     public void invitePlayerToLeague(int leagueId, String email) 
         throws IDInvalidException, InvalidEmailException{
 
+        // Record the call in the journal before it makes any changes
+        writeJournalRecord(GameJournal.INVITE, record -> {
+            record.writeSignedVarInt(leagueId);
+            record.writeString(email);
+        });
+
         // Get league being queried
-        League inviteLeague = getLeagueIfExist(leagues, leagueId);
+        League inviteLeague = getLeagueForUpdate(leagueId);
 
         // Check if league exists
         if (inviteLeague == null) {
@@ -791,21 +1317,20 @@ public class GamesLeague implements GamesLeagueInterface {
         }
 
         // Check if player exists
-        boolean exists = false;
-        for (Player p : players) {
-            if (p.getEmail().equals(email)){
-                exists = true;
-                // Add the league invite to the player attribute
-                p.appendLeagueInviteIds(leagueId);
-                // Add the player invite to the league attribute
-                inviteLeague.addPlayerInvite(email);
-            }
+        Player p = getPlayerByEmail(email);
+        if (p != null) {
+            // Add the league invite to the player attribute
+            markPlayerDirty(p.getId());
+            p.appendLeagueInviteIds(leagueId);
+            // Add the player invite to the league attribute
+            inviteLeague.addPlayerInvite(email);
         }
 
-        // If the player does not exist throw an exception
-        if (!exists) {
+        // If the player does not exist the invite is kept for when they sign up
+        else {
             inviteLeague.addPlayerInvite(email);
         }
+        indexInvite(email, leagueId);
     };
 
     /**
@@ -820,8 +1345,14 @@ public class GamesLeague implements GamesLeagueInterface {
     public void acceptInviteToLeague(int leagueId, int playerId) 
         throws IDInvalidException, IllegalOperationException{
 
+        // Record the call in the journal before it makes any changes
+        writeJournalRecord(GameJournal.ACCEPT_INVITE, record -> {
+            record.writeSignedVarInt(leagueId);
+            record.writeSignedVarInt(playerId);
+        });
+
         // Get league that is being queried
-        League invitedLeague = getLeagueIfExist(leagues, leagueId);
+        League invitedLeague = getLeagueForUpdate(leagueId);
 
         // Check if league exists
         if (invitedLeague == null){
@@ -829,7 +1360,7 @@ public class GamesLeague implements GamesLeagueInterface {
         }
 
         // Get player that is being invited
-        Player toAccept = getPlayerIfExist(players, playerId);
+        Player toAccept = getPlayerForUpdate(playerId);
 
         // Check player exists
         if (toAccept == null){
@@ -847,6 +1378,7 @@ public class GamesLeague implements GamesLeagueInterface {
 
         // Move the player from the invitation list to the players list in the league object
         invitedLeague.removePlayerInvite(toAccept.getEmail());
+        unindexInvite(toAccept.getEmail(), leagueId);
         invitedLeague.addPlayer(toAccept);
     };
 
@@ -861,23 +1393,21 @@ public class GamesLeague implements GamesLeagueInterface {
     public void removeInviteFromLeague(int leagueId, String email)
         throws IDInvalidException, IllegalEmailException{
 
+        // Record the call in the journal before it makes any changes
+        writeJournalRecord(GameJournal.REMOVE_INVITE, record -> {
+            record.writeSignedVarInt(leagueId);
+            record.writeString(email);
+        });
+
         // Does the league exist?
-        League invitedLeague = getLeagueIfExist(leagues, leagueId);
+        League invitedLeague = getLeagueForUpdate(leagueId);
         if (invitedLeague == null){
             throw new IDInvalidException("leagueID does not match an existing league.");
         }
 
         // If the league exists, does the player exist?
-        Player toRemove = null;
-        boolean found = false;
-        for (Player p : players){
-            if (p.getEmail().equals(email)) {
-                found = true;
-                toRemove = p;
-                break;
-            }
-        }
-        if (!found){
+        Player toRemove = getPlayerByEmail(email);
+        if (toRemove == null){
             throw new IDInvalidException("This email does not having a matching player.");
         }
 
@@ -891,6 +1421,8 @@ public class GamesLeague implements GamesLeagueInterface {
 
         // If the invite exists then remove it.
         invitedLeague.removePlayerInvite(email);
+        unindexInvite(email, leagueId);
+        markPlayerDirty(toRemove.getId());
         toRemove.removeLeagueInviteId(leagueId);
     };
 
@@ -905,7 +1437,7 @@ public class GamesLeague implements GamesLeagueInterface {
     public String[] getLeagueEmailInvites(int leagueId) throws IDInvalidException{
 
         // Get league being queried
-        League leagueEmail = getLeagueIfExist(leagues, leagueId);
+        League leagueEmail = getLeagueIfExist(leagueId);
 
         // Check if league exists
         if (leagueEmail == null) {
@@ -936,20 +1468,20 @@ public class GamesLeague implements GamesLeagueInterface {
     public int[] getLeaguePlayerInvites(int leagueId) throws IDInvalidException{
 
         // Does the league exist?
-        League leagueEmail = getLeagueIfExist(leagues, leagueId);
+        League leagueEmail = getLeagueIfExist(leagueId);
         if (leagueEmail == null) {
             throw new IDInvalidException("ID is not valid");
         }
 
         // If it does loop through all the invites and use the emails to find the player Ids.
-        ArrayList<Integer> playerInviteIds = new ArrayList<>();
+        IntList playerInviteIds = new IntList();
         
         for (String e : leagueEmail.getPlayerInvites()) {
             if (getPlayerId(e) != -1){
                 playerInviteIds.add(getPlayerId(e));
             }
         }
-        return convertArrayListIntegerToArrayInt(playerInviteIds);
+        return playerInviteIds.toArray();
     };
 
 
@@ -966,24 +1498,15 @@ public class GamesLeague implements GamesLeagueInterface {
     public int[] getLeaguePlayers(int leagueId) throws IDInvalidException{
 
         // Get league being queried
-        League tempLeague = getLeagueIfExist(leagues, leagueId);
+        League tempLeague = getLeagueIfExist(leagueId);
 
         // Check if league exists
         if (tempLeague == null) {
             throw new IDInvalidException("ID is not valid");
         }
 
-        // Get the list of players in the league
-        ArrayList<LeagueMember> tempLeaguePlayers = tempLeague.getPlayers();
-        int[] playerIds = new int[tempLeaguePlayers.size()];
-        int counter = 0;
-
-        // Add each player ID in the player list to the array
-        for (LeagueMember p : tempLeaguePlayers) {
-            playerIds[counter++] = p.getPlayerId();
-        }
-
-        return playerIds;
+        // Copy the IDs of the players in the league, which are kept in the same order as the player list
+        return tempLeague.getMemberIds();
     };
 
 
@@ -997,15 +1520,15 @@ public class GamesLeague implements GamesLeagueInterface {
     public int[] getLeagueOwners(int leagueId) throws IDInvalidException{
 
         // Gets the league being queried
-        League tempLeague = getLeagueIfExist(leagues, leagueId);
+        League tempLeague = getLeagueIfExist(leagueId);
 
         // Checks if league exists
         if (tempLeague == null){
             throw new IDInvalidException("Error: No league exists with this Id");
         }
 
-        // Converts the Integer ArrayList to an int array before returning
-        return convertArrayListIntegerToArrayInt(tempLeague.getOwners());
+        // Copies the list of owner IDs into an int array before returning
+        return tempLeague.getOwners().toArray();
     };
 
     /**
@@ -1036,7 +1559,7 @@ public class GamesLeague implements GamesLeagueInterface {
         throws IDInvalidException{
         
         // Get league being queried
-        League tempLeague = getLeagueIfExist(leagues, leagueId);
+        League tempLeague = getLeagueIfExist(leagueId);
 
         // Check if league exists
         if (tempLeague == null){
@@ -1057,9 +1580,15 @@ public class GamesLeague implements GamesLeagueInterface {
      */
     public void setLeagueStartDate(int leagueId, int day) 
         throws IDInvalidException, IllegalOperationException{
+
+        // Record the call in the journal before it makes any changes
+        writeJournalRecord(GameJournal.SET_START_DATE, record -> {
+            record.writeSignedVarInt(leagueId);
+            record.writeSignedVarInt(day);
+        });
         
         // Get league being queried
-        League tempLeague = getLeagueIfExist(leagues, leagueId);
+        League tempLeague = getLeagueForUpdate(leagueId);
 
         // Check if league exists
         if (tempLeague == null){
@@ -1091,8 +1620,14 @@ public class GamesLeague implements GamesLeagueInterface {
     public void setLeagueEndDate(int leagueId, int day) 
         throws IDInvalidException, IllegalOperationException{
 
+        // Record the call in the journal before it makes any changes
+        writeJournalRecord(GameJournal.SET_END_DATE, record -> {
+            record.writeSignedVarInt(leagueId);
+            record.writeSignedVarInt(day);
+        });
+
         // Get league being queried
-        League tempLeague = getLeagueIfExist(leagues, leagueId);
+        League tempLeague = getLeagueForUpdate(leagueId);
 
         // Check if league exists
         if (tempLeague == null){
@@ -1119,7 +1654,7 @@ public class GamesLeague implements GamesLeagueInterface {
     public int getLeagueStartDate(int leagueId) throws IDInvalidException{
         
         // Get league being queried
-        League tempLeague = getLeagueIfExist(leagues, leagueId);
+        League tempLeague = getLeagueIfExist(leagueId);
 
         // Check if league exists
         if (tempLeague == null){
@@ -1140,7 +1675,7 @@ public class GamesLeague implements GamesLeagueInterface {
     public int getLeagueCloseDate(int leagueId) throws IDInvalidException{
 
         // Get league being queried
-        League tempLeague = getLeagueIfExist(leagues, leagueId);
+        League tempLeague = getLeagueIfExist(leagueId);
 
         // Check if league exists
         if (tempLeague == null){
@@ -1161,8 +1696,13 @@ public class GamesLeague implements GamesLeagueInterface {
      */
     public void resetLeague(int leagueId) throws IDInvalidException{
 
+        // Record the call in the journal before it makes any changes
+        writeJournalRecord(GameJournal.RESET_LEAGUE, record -> {
+            record.writeSignedVarInt(leagueId);
+        });
+
         // Does the league exist?
-        League leagueToReset = getLeagueIfExist(leagues, leagueId);
+        League leagueToReset = getLeagueForUpdate(leagueId);
 
         // If it doesn't throw IDInvalidException.
         if (leagueToReset == null) {
@@ -1196,49 +1736,59 @@ public class GamesLeague implements GamesLeagueInterface {
     public int cloneLeague(int leagueId, String newName) 
         throws IDInvalidException, IllegalNameException, IllegalNameException{
 
+        // Record the call in the journal before it makes any changes
+        writeJournalRecord(GameJournal.CLONE_LEAGUE, record -> {
+            record.writeSignedVarInt(League.getCounter());
+            record.writeSignedVarInt(leagueId);
+            record.writeString(newName);
+        });
+
         // Get league being queried
-        League oldLeague = getLeagueIfExist(leagues, leagueId);
+        League oldLeague = getLeagueIfExist(leagueId);
 
         // Check if league exists
         if (oldLeague == null) {
             throw new IDInvalidException("Error: ID does not match to any league in the system.");
         }
         
-        // Make a new league object.
-        League newLeague = getLeagueIfExist(leagues, createLeague(oldLeague.getOwner(), newName, oldLeague.getGameType()));
-        Player oldOwner = getPlayerIfExist(players, oldLeague.getOwner());
-        oldOwner.removeLeagueId(newLeague.getId());
-        oldOwner.removeOwnedLeagueId(newLeague.getId());
-
-        // Copy everything in the old league to the new league.
-        newLeague.setEndDate(oldLeague.getEndDate());  // Set end date to -1 too?
-        newLeague.cloneLeagueSetup(oldLeague.getPlayers(), oldLeague.getOwners(),
-                                   oldLeague.getDays(), oldLeague.getRounds());
-
-        // Invitations in the old league are sent out to players in the new league.
-        for (String e : oldLeague.getPlayerInvites()) {
-            invitePlayerToLeague(newLeague.getId(), e);
-        }  // ???? doesn't explicitly state us to do this, may be wrong
-
-        // Sends invitations out to all players in the league that aren't owners,
-        // as owners are already added to the new league.
-        for (LeagueMember e : oldLeague.getPlayers()) {
-            boolean isThisOldOwner = false;
-            for (int ownerId : oldLeague.getOwners()) {
-                if (ownerId == e.getPlayerId()) {
-                    isThisOldOwner = true;
+        // The league is created and its invites are sent as part of the clone, so they are not journalled on their own
+        journalSuppressed++;
+        League newLeague;
+        try {
+            // Make a new league object.
+            newLeague = getLeagueForUpdate(createLeague(oldLeague.getOwner(), newName, oldLeague.getGameType()));
+            Player oldOwner = getPlayerForUpdate(oldLeague.getOwner());
+            oldOwner.removeLeagueId(newLeague.getId());
+            oldOwner.removeOwnedLeagueId(newLeague.getId());
+
+            // Copy everything in the old league to the new league.
+            newLeague.setEndDate(oldLeague.getEndDate());  // Set end date to -1 too?
+            newLeague.cloneLeagueSetup(oldLeague.getPlayers(), oldLeague.getOwners(),
+                                       oldLeague.getCalendar(), oldLeague.getResults(), oldLeague.getRounds());
+
+            // Invitations in the old league are sent out to players in the new league.
+            for (String e : oldLeague.getPlayerInvites()) {
+                invitePlayerToLeague(newLeague.getId(), e);
+            }  // ???? doesn't explicitly state us to do this, may be wrong
+
+            // Sends invitations out to all players in the league that aren't owners,
+            // as owners are already added to the new league.
+            for (LeagueMember e : oldLeague.getPlayers()) {
+                if (!oldLeague.getOwners().contains(e.getPlayerId())) {
+                    invitePlayerToLeague(newLeague.getId(), getPlayerIfExist(e.getPlayerId()).getEmail());
                 }
             }
-            if (!isThisOldOwner) {
-                invitePlayerToLeague(newLeague.getId(), getPlayerIfExist(players, e.getPlayerId()).getEmail());
+
+            // Adds the leagueId to the corresponding arrays in the player class for each owner
+            IntList oldOwners = oldLeague.getOwners();
+            for (int i = 0; i < oldOwners.size(); i++) {
+                Player ownerPlayer = getPlayerForUpdate(oldOwners.get(i));
+                ownerPlayer.appendOwnedLeagueIds(newLeague.getId());
+                ownerPlayer.appendLeagueIds(newLeague.getId());
             }
         }
-
-        // Adds the leagueId to the corresponding arrays in the player class for each owner
-        for (int ownerId : oldLeague.getOwners()) {
-            Player ownerPlayer = getPlayerIfExist(players, ownerId);
-            ownerPlayer.appendOwnedLeagueIds(newLeague.getId());
-            ownerPlayer.appendLeagueIds(newLeague.getId());
+        finally {
+            journalSuppressed--;
         }
 
         return newLeague.getId();
@@ -1257,7 +1807,7 @@ public class GamesLeague implements GamesLeagueInterface {
         throws IDInvalidException{
 
         //Check if player exists
-        if (!doesPlayerExist(players, playerId)) {
+        if (!doesPlayerExist(playerId)) {
             throw new IDInvalidException("Error: playerId does not match to any player in the system");
         } 
         // Checks if player is in the league
@@ -1266,22 +1816,15 @@ public class GamesLeague implements GamesLeagueInterface {
         }
 
         // Gets the league being queried
-        League activeLeague = getLeagueIfExist(leagues, leagueId);
+        League activeLeague = getLeagueIfExist(leagueId);
 
         // Checks if league exists
         if (activeLeague == null) {
             throw new IDInvalidException("Error: leagueId does not match to any league in the system");
         }
 
-        // Loop through the list of active players
-        for (int activeId : activeLeague.getActivePlayers()) {
-            // Returns true if the player ID matches an ID in the active player list
-            if (activeId == playerId) {
-                return true;
-            }
-        }
-        
-        return false;
+        // Check the active bit of the player's slot
+        return activeLeague.isActive(activeLeague.getSlot(playerId));
     };
 
     /** 
@@ -1296,13 +1839,19 @@ public class GamesLeague implements GamesLeagueInterface {
     public void setLeaguePlayerInactive(int leagueId, int playerId) 
         throws IDInvalidException, IllegalOperationException {
 
+        // Record the call in the journal before it makes any changes
+        writeJournalRecord(GameJournal.SET_INACTIVE, record -> {
+            record.writeSignedVarInt(leagueId);
+            record.writeSignedVarInt(playerId);
+        });
+
         // Checks if player exists
-        if (!doesPlayerExist(players, playerId)) {
+        if (!doesPlayerExist(playerId)) {
             throw new IDInvalidException("Error: playerID does not match to any player in the system");
         }
 
         // Gets league being queried
-        League inactiveLeague = getLeagueIfExist(leagues, leagueId);
+        League inactiveLeague = getLeagueForUpdate(leagueId);
 
         // Check if league exists
         if (inactiveLeague == null) {
@@ -1330,13 +1879,19 @@ public class GamesLeague implements GamesLeagueInterface {
     public void setLeaguePlayerActive(int leagueId, int playerId) 
         throws IDInvalidException, IllegalOperationException{
 
+        // Record the call in the journal before it makes any changes
+        writeJournalRecord(GameJournal.SET_ACTIVE, record -> {
+            record.writeSignedVarInt(leagueId);
+            record.writeSignedVarInt(playerId);
+        });
+
         // Checks if player exists
-        if (!doesPlayerExist(players, playerId)) {
+        if (!doesPlayerExist(playerId)) {
             throw new IDInvalidException("Error: Player does not exist in the system.");
         }
 
         // Gets league being queried
-        League activeLeague = getLeagueIfExist(leagues, leagueId);
+        League activeLeague = getLeagueForUpdate(leagueId);
 
         // Checks if league exists
         if (activeLeague == null) {
@@ -1364,12 +1919,18 @@ public class GamesLeague implements GamesLeagueInterface {
      */
     public void addOwner(int leagueId, int playerId) 
         throws IDInvalidException, IllegalOperationException{
+
+        // Record the call in the journal before it makes any changes
+        writeJournalRecord(GameJournal.ADD_OWNER, record -> {
+            record.writeSignedVarInt(leagueId);
+            record.writeSignedVarInt(playerId);
+        });
         
         // Get the league being queried
-        League tempLeague = getLeagueIfExist(leagues, leagueId);
+        League tempLeague = getLeagueForUpdate(leagueId);
 
         // Get the player being queried
-        Player tempPlayer = getPlayerIfExist(players, playerId);
+        Player tempPlayer = getPlayerForUpdate(playerId);
 
         // Check if the league exists and the player exists
         if (tempLeague == null){
@@ -1404,11 +1965,17 @@ public class GamesLeague implements GamesLeagueInterface {
     public void removeOwner(int leagueId, int playerId) 
         throws IDInvalidException, IllegalOperationException{
 
+        // Record the call in the journal before it makes any changes
+        writeJournalRecord(GameJournal.REMOVE_OWNER, record -> {
+            record.writeSignedVarInt(leagueId);
+            record.writeSignedVarInt(playerId);
+        });
+
         // Get the league being queried
-        League tempLeague = getLeagueIfExist(leagues, leagueId);
+        League tempLeague = getLeagueForUpdate(leagueId);
 
         // Get the player being queried
-        Player tempPlayer = getPlayerIfExist(players, playerId);
+        Player tempPlayer = getPlayerForUpdate(playerId);
 
         // Check if the league exists and the player exists
         if (tempLeague == null){
@@ -1448,14 +2015,22 @@ public class GamesLeague implements GamesLeagueInterface {
      */
     public void registerGameReport(int day, int leagueId, int playerId, String gameReport) 
         throws IDInvalidException, IllegalOperationException{
+
+        // Record the call in the journal before it makes any changes
+        writeJournalRecord(GameJournal.GAME_REPORT, record -> {
+            record.writeSignedVarInt(day);
+            record.writeSignedVarInt(leagueId);
+            record.writeSignedVarInt(playerId);
+            record.writeString(gameReport);
+        });
         
         // Get the league being queried
-        League tempLeague = getLeagueIfExist(leagues, leagueId);
+        League tempLeague = getLeagueForUpdate(leagueId);
 
         // Check that the league and player exist
         if (tempLeague == null) {
             throw new IDInvalidException("Error: No league with this ID exists.");
-        } else if (!doesPlayerExist(players, playerId)){
+        } else if (!doesPlayerExist(playerId)){
             throw new IDInvalidException("Error: No player with this ID exists.");
         }
         
@@ -1465,30 +2040,31 @@ public class GamesLeague implements GamesLeagueInterface {
         }
 
         // Get the player being queried
-        LeagueMember tempMember = tempLeague.getPlayerById(playerId);
+        LeagueMember tempMember = tempLeague.getPlayerForUpdate(playerId);
 
         if (tempMember == null) {
             throw new IllegalOperationException("Error: That player is not in the league.");
         }
 
         // Get the players GameDay relating to that day
-        GameDay tempDay = tempMember.getGameDayByDay(day);
+        GameDay tempDay = tempLeague.getGameDayForUpdate(playerId, day);
         
         // If the GameDay does not exist add a new report
         if (tempDay == null){
-            tempMember.addGameDay(day, gameReport);
+            tempMember.addGameDay(day, GameDay.limitLength(gameReport, maxGameReportLength));
         }
         // If the GameDay does exist then append the new sting onto the report
         else{
-            tempDay.setGameReport(tempDay.getGameReport() + " " + gameReport);
+            tempDay.appendGameReport(gameReport, maxGameReportLength);
         }
 
-        if(tempLeague.getDayByDay(day).getStatus() == Status.PENDING){
-            tempLeague.getDayByDay(day).setStatus(Status.IN_PROGRESS);
+        if(tempLeague.getDayStatus(day) == Status.PENDING){
+            tempLeague.setDayStatus(day, Status.IN_PROGRESS);
         }
 
-        incrementRoundPlayed(playerId);
-
+        // The extra round is part of this change, so it is made directly rather than through incrementRoundPlayed,
+        // which would journal it on its own
+        getPlayerForUpdate(playerId).incrementRoundsPlayed();
     };
 
 
@@ -1508,12 +2084,12 @@ public class GamesLeague implements GamesLeagueInterface {
         throws IDInvalidException, InvalidDateException{
         
         // Gets the league being queried
-        League tempLeague = getLeagueIfExist(leagues, leagueId);
+        League tempLeague = getLeagueIfExist(leagueId);
 
         // Checks that the league exists
         if (tempLeague == null){
             throw new IDInvalidException("Error: No league with that ID exists");
-        } else if (!doesPlayerExist(players, playerId)) {
+        } else if (!doesPlayerExist(playerId)) {
             throw new IDInvalidException("Error: No player with that ID exists");
         }
 
@@ -1540,6 +2116,33 @@ public class GamesLeague implements GamesLeagueInterface {
         return tempDay.getGameReport();
     };
 
+    /**
+     * Gets the most characters a game report can hold
+     * 
+     * @return The maximum length of a game report, or -1 if there is no limit
+     */
+    public int getMaxGameReportLength(){
+        return maxGameReportLength;
+    }
+
+    /**
+     * Sets the most characters a game report can hold. Anything registered past this is cut off, and reports
+     * that are already longer are left as they are. The limit is written to the journal and saved with the
+     * system, so replayed reports are cut off the same way they were when first registered.
+     * 
+     * @param maxLength The maximum length of a game report, or -1 for no limit
+     * @throws IllegalArgumentException If the maximum length is less than -1
+     */
+    public void setMaxGameReportLength(int maxLength) throws IllegalArgumentException{
+        // Record the call in the journal before it makes any changes
+        writeJournalRecord(GameJournal.SET_MAX_REPORT_LENGTH, record -> record.writeSignedVarInt(maxLength));
+
+        if (maxLength < -1){
+            throw new IllegalArgumentException("Error: The maximum game report length is not valid");
+        }
+        maxGameReportLength = maxLength;
+    }
+
 
     /**
      * Register day game scores. Will be called when all play in a round is complete.
@@ -1555,8 +2158,21 @@ public class GamesLeague implements GamesLeagueInterface {
     public void registerDayScores(int day, int leagueId, int[] scores) 
         throws IDInvalidException, IllegalArgumentException{
 
+        // Record the call in the journal before it makes any changes
+        writeJournalRecord(GameJournal.DAY_SCORES, record -> {
+            record.writeSignedVarInt(day);
+            record.writeSignedVarInt(leagueId);
+            // A null array is written as a length of -1
+            record.writeSignedVarInt(scores == null ? -1 : scores.length);
+            if (scores != null){
+                for (int score : scores){
+                    record.writeSignedVarInt(score);
+                }
+            }
+        });
+
         // Get the league being queried
-        League tempLeague = getLeagueIfExist(leagues, leagueId);
+        League tempLeague = getLeagueForUpdate(leagueId);
 
         // Check that the league exists
         if (tempLeague == null){
@@ -1564,65 +2180,55 @@ public class GamesLeague implements GamesLeagueInterface {
         }
 
         // Find the current epoch date
-        int currentDate = (int) DateProvider.now().toEpochDay();
-
-        // Get the status of the league on that day
-        LeagueDay dayStatus = tempLeague.getDayByDay(day);
+        int currentDate = (int) now().toEpochDay();
 
         // Check that the league is not already closed and the day is not more than two days before the current date
-        if (dayStatus.getStatus() == Status.CLOSED || (currentDate - day) >= 2){
+        if (tempLeague.getDayStatus(day) == Status.CLOSED || (currentDate - day) >= 2){
             throw new IllegalArgumentException("Error: The day is not valid");
         }
 
-        int[] playerIds = getLeaguePlayers(leagueId);
-
-        // Loop though each player, set their score and calculate their points
-        for (int i = 0; i < scores.length; i++){
-            LeagueMember tempMember = tempLeague.getPlayerById(playerIds[i]);
+        // Check that there are scores, and not a score for more players than there are in the league
+        if (scores == null){
+            throw new IllegalArgumentException("Error: There are no scores to register");
+        }
+        if (scores.length > tempLeague.getPlayers().size()){
+            throw new IllegalArgumentException("Error: There are more scores than players in the league");
+        }
 
-            if(tempMember.getGameDayByDay(day) == null){
-                tempMember.addGameDay(day, "");
-            }
+        ResultTable results = tempLeague.getResults();
 
-            tempMember.getGameDayByDay(day).setScore(scores[i]);
+        // Loop though each player's slot, set their score and calculate their points
+        for (int i = 0; i < scores.length; i++){
+            results.setScore(day, i, scores[i]);
             // If the GameType is wordmaster then the points are the same as the scores
             if (tempLeague.getGameType() == GameType.WORDMASTER){
-                tempMember.getGameDayByDay(day).setPoints(scores[i]);
+                tempLeague.setPoints(day, i, scores[i]);
             }
         }
 
         // If the GameType is diceroll then the player(s) with the lowest score get 3 points, the player(s) with the second lowest score get 1 point and anyone else gets nothing
         if (tempLeague.getGameType() == GameType.DICEROLL){
-            // Sort the scores in descending order
-            int[] orderedScores = bubbleSort(scores);
-
-            int counter = 2;
-            int first = -1;
-            int second = -1;
-            do{
-                // Find the lowest score
-                first = orderedScores[orderedScores.length-1];
-                // Find the second lowest score that is not the same as the lowest score
-                second = orderedScores[orderedScores.length-counter++];
-            }while(first == second);
-
-            // Loop though the list of scores
-            for (int j = 0; j < scores.length; j++){
-                // If a score is equal to the lowest score the player gets 3 points
-                if (scores[j] == first){
-                    tempLeague.getPlayerById(playerIds[j]).getGameDayByDay(day).setPoints(3);
+            // Find the order of the players from the highest score to the lowest
+            int[] order = Ranking.sortedOrder(scores);
+
+            // Walk up from the lowest score, the first group of equal scores gets 3 points and the next group gets 1 point
+            int group = 0;
+            for (int j = order.length - 1; j >= 0 && group < 2; j--){
+                // Move on to the next group when the score changes
+                if (j < order.length - 1 && scores[order[j]] != scores[order[j + 1]]){
+                    group++;
+                }
+                if (group == 0){
+                    tempLeague.setPoints(day, order[j], 3);
                 }
-                // If the score is equal to the second lowest score then the player gets 1 point
-                if (scores[j] == second){
-                    tempLeague.getPlayerById(playerIds[j]).getGameDayByDay(day).setPoints(1);
+                else if (group == 1){
+                    tempLeague.setPoints(day, order[j], 1);
                 }
             }
         }
 
-
-
         tempLeague.incrementTotalRounds();
-        dayStatus.setStatus(Status.CLOSED);
+        tempLeague.setDayStatus(day, Status.CLOSED);
     };
 
 
@@ -1638,8 +2244,14 @@ public class GamesLeague implements GamesLeagueInterface {
     public void voidDayPoints(int day, int leagueId) 
         throws IDInvalidException, IllegalArgumentException{
 
+        // Record the call in the journal before it makes any changes
+        writeJournalRecord(GameJournal.VOID_DAY, record -> {
+            record.writeSignedVarInt(day);
+            record.writeSignedVarInt(leagueId);
+        });
+
         // Get the league being queried
-        League tempLeague = getLeagueIfExist(leagues, leagueId);
+        League tempLeague = getLeagueForUpdate(leagueId);
 
         // Check that the league exists
         if (tempLeague == null){
@@ -1647,26 +2259,15 @@ public class GamesLeague implements GamesLeagueInterface {
         }
 
         // Find the current epoch date
-        int currentDate = (int) DateProvider.now().toEpochDay();
+        int currentDate = (int) now().toEpochDay();
 
         // Check if the day is valid for the league and it is not 2 or more days before the current date
-        if (!tempLeague.isDayInLeague(day) || (currentDate - day) >= 2){
-            throw new IllegalArgumentException("Error: The day is not valid");
-        }
-
-        int[] playerIds = getLeaguePlayers(leagueId);
-
-        // Loop through each player and set their points for that day to 0
-        for (int i = 0; i < playerIds.length; i++){
-            LeagueMember tempMember = tempLeague.getPlayerById(playerIds[i]);
-
-            if (tempMember.getGameDayByDay(day) == null){
-                tempMember.addGameDay(day, "");
-            }
-            else{
-                tempMember.getGameDayByDay(day).setPoints(0);
-            }
+        if (!tempLeague.isDayInLeague(day) || (currentDate - day) >= 2){
+            throw new IllegalArgumentException("Error: The day is not valid");
         }
+
+        // Set every player's points for that day to 0
+        tempLeague.voidDay(day);
     };  
 
 
@@ -1688,7 +2289,7 @@ public class GamesLeague implements GamesLeagueInterface {
         throws IDInvalidException, InvalidDateException{
 
         // Get the league being queried
-        League tempLeague = getLeagueIfExist(leagues, leagueId);
+        League tempLeague = getLeagueIfExist(leagueId);
 
         // Check that the league exists
         if (tempLeague == null){
@@ -1700,7 +2301,7 @@ public class GamesLeague implements GamesLeagueInterface {
             throw new InvalidDateException("Error: Date is out of range for this league");
         }
 
-        return tempLeague.getDayByDay(day).getStatus();
+        return tempLeague.getDayStatus(day);
     };
 
 
@@ -1722,7 +2323,7 @@ public class GamesLeague implements GamesLeagueInterface {
         throws IDInvalidException, InvalidDateException{
         
         // Get the league being queried
-        League tempLeague = getLeagueIfExist(leagues, leagueId);
+        League tempLeague = getLeagueIfExist(leagueId);
 
         // Check the league exists
         if (tempLeague == null){
@@ -1734,18 +2335,8 @@ public class GamesLeague implements GamesLeagueInterface {
             throw new InvalidDateException("Error: Date is out of range");
         }
 
-        int[] scores = new int[tempLeague.getPlayers().size()];
-
-        // Loop through each player, get their score for that day and add it to the array
-        for (int i = 0; i < scores.length; i++){
-            LeagueMember tempPlayer = tempLeague.getPlayerById(tempLeague.getPlayers().get(i).getPlayerId());
-            if(tempPlayer.getGameDayByDay(day) != null){
-                scores[i] = tempPlayer.getGameDayByDay(day).getScore();
-            }
-            else{
-                scores[i] = 0;
-            }
-        }
+        // Copy the row of scores for that day, with a 0 for any player that has no score
+        int[] scores = tempLeague.getResults().getDayScores(day, tempLeague.getPlayers().size());
         return scores;
     };
 
@@ -1767,7 +2358,7 @@ public class GamesLeague implements GamesLeagueInterface {
         throws IDInvalidException, InvalidDateException{
 
         // Get the league being queried
-        League tempLeague = getLeagueIfExist(leagues, leagueId);
+        League tempLeague = getLeagueIfExist(leagueId);
 
         // Check if the league exists
         if (tempLeague == null){
@@ -1779,18 +2370,8 @@ public class GamesLeague implements GamesLeagueInterface {
             throw new InvalidDateException("Error: Date is out of range");
         }
 
-        int[] points = new int[tempLeague.getPlayers().size()];
-
-        // Loop through each player, get their points for that day and add them to the array
-        for (int i = 0; i < points.length; i++){
-            LeagueMember tempPlayer = tempLeague.getPlayerById(tempLeague.getPlayers().get(i).getPlayerId());
-            if(tempPlayer.getGameDayByDay(day) != null){
-                points[i] = tempPlayer.getGameDayByDay(day).getPoints();
-            }
-            else{
-                points[i] = 0;
-            }
-        }
+        // Copy the row of points for that day, with a 0 for any player that has no points
+        int[] points = tempLeague.getResults().getDayPoints(day, tempLeague.getPlayers().size());
         return points;
     };
 
@@ -1812,7 +2393,7 @@ public class GamesLeague implements GamesLeagueInterface {
         throws IDInvalidException, InvalidDateException{
 
         // Get the league being queried
-        League tempLeague = getLeagueIfExist(leagues, leagueId);
+        League tempLeague = getLeagueIfExist(leagueId);
 
         // Check if the league exists
         if (tempLeague == null){
@@ -1824,6 +2405,12 @@ public class GamesLeague implements GamesLeagueInterface {
             throw new InvalidDateException("Error: Date is out of range");
         }
 
+        // Use the live leaderboard if it is up to date for the day
+        Leaderboard board = tempLeague.getLeaderboard(Period.DAY, day);
+        if (board != null){
+            return board.getRanks();
+        }
+
         // Get the array of points for that day
         int[] points = getDayPoints(leagueId, day);
 
@@ -1850,7 +2437,7 @@ public class GamesLeague implements GamesLeagueInterface {
         throws IDInvalidException, InvalidDateException{
         
         // Get the league being queried
-        League tempLeague = getLeagueIfExist(leagues, leagueId);
+        League tempLeague = getLeagueIfExist(leagueId);
 
         // Check the league exists
         if (tempLeague == null){
@@ -1869,11 +2456,11 @@ public class GamesLeague implements GamesLeagueInterface {
         int lastDay = getLastValidDay(tempLeague, getFirstDayOfWeek(day), day, 6);
 
         // If the first valid day is pending then the whole week must be pending
-        if (tempLeague.getDayByDay(firstDay).getStatus() == Status.PENDING){
+        if (tempLeague.getDayStatus(firstDay) == Status.PENDING){
             return Status.PENDING;
         }
         // If the last valid day is closed then the whole week must be closed
-        else if (tempLeague.getDayByDay(lastDay).getStatus() == Status.CLOSED){
+        else if (tempLeague.getDayStatus(lastDay) == Status.CLOSED){
             return Status.CLOSED;
         }
         // Anything in between must mean the week is in progress
@@ -1900,7 +2487,7 @@ public class GamesLeague implements GamesLeagueInterface {
         throws IDInvalidException, InvalidDateException{
 
         // Get the league being queried
-        League tempLeague = getLeagueIfExist(leagues, leagueId);
+        League tempLeague = getLeagueIfExist(leagueId);
 
         // Check if the league exists
         if (tempLeague == null){
@@ -1937,7 +2524,7 @@ public class GamesLeague implements GamesLeagueInterface {
         throws IDInvalidException, InvalidDateException{
 
         // Get the league being queried
-        League tempLeague = getLeagueIfExist(leagues, leagueId);
+        League tempLeague = getLeagueIfExist(leagueId);
 
         // Check the league exists
         if (tempLeague == null){
@@ -1949,6 +2536,12 @@ public class GamesLeague implements GamesLeagueInterface {
             throw new InvalidDateException("Error: Date is out of range for this league");
         }
 
+        // Use the live leaderboard if it is up to date for the day
+        Leaderboard board = tempLeague.getLeaderboard(Period.WEEK, day);
+        if (board != null){
+            return board.getRanks();
+        }
+
         // Get the first valid day of the week
         int firstDay = getFirstValidDay(tempLeague, getFirstDayOfWeek(day), day);
         // Get the total points between the first valid day of the week and the current day
@@ -1978,7 +2571,7 @@ public class GamesLeague implements GamesLeagueInterface {
         throws IDInvalidException, InvalidDateException{
 
         // Get the league being queried
-        League tempLeague = getLeagueIfExist(leagues, leagueId);
+        League tempLeague = getLeagueIfExist(leagueId);
 
         // Check that the league exists
         if (tempLeague == null){
@@ -2000,11 +2593,11 @@ public class GamesLeague implements GamesLeagueInterface {
         int lastDay = getLastValidDay(tempLeague, date.getDayOfMonth()-1, day, date.lengthOfMonth()-1);
 
         // If the first valid day of the month is pending then the whole month must be pending
-        if (tempLeague.getDayByDay(firstDay).getStatus() == Status.PENDING){
+        if (tempLeague.getDayStatus(firstDay) == Status.PENDING){
             return Status.PENDING;
         }
         // If the last valid day of the month is closed then the whole month must be closed
-        else if (tempLeague.getDayByDay(lastDay).getStatus() == Status.CLOSED){
+        else if (tempLeague.getDayStatus(lastDay) == Status.CLOSED){
             return Status.CLOSED;
         }
         // Anything in between must mean the month is in progress
@@ -2031,7 +2624,7 @@ public class GamesLeague implements GamesLeagueInterface {
         throws IDInvalidException, InvalidDateException{
         
         // Get the league being queried
-        League tempLeague = getLeagueIfExist(leagues, leagueId);
+        League tempLeague = getLeagueIfExist(leagueId);
 
         // Check if the league exists
         if (tempLeague == null){
@@ -2069,7 +2662,7 @@ public class GamesLeague implements GamesLeagueInterface {
             throws IDInvalidException, InvalidDateException{
 
             // Get the league being queried
-            League tempLeague = getLeagueIfExist(leagues, leagueId);
+            League tempLeague = getLeagueIfExist(leagueId);
 
             // Check if league exists
             if (tempLeague == null){
@@ -2081,6 +2674,12 @@ public class GamesLeague implements GamesLeagueInterface {
                 throw new InvalidDateException("Error: Date is not valid");
             }
     
+            // Use the live leaderboard if it is up to date for the day
+            Leaderboard board = tempLeague.getLeaderboard(Period.MONTH, day);
+            if (board != null){
+                return board.getRanks();
+            }
+
             // Convert the epoch day into LocalDate type
             LocalDate date = LocalDate.ofEpochDay((long) day);
             // Get the first valid day of the month
@@ -2113,7 +2712,7 @@ public class GamesLeague implements GamesLeagueInterface {
             throws IDInvalidException, InvalidDateException{
 
             // Get the league being queried
-            League tempLeague = getLeagueIfExist(leagues, leagueId);
+            League tempLeague = getLeagueIfExist(leagueId);
 
             // Check if the league exists
             if (tempLeague == null){
@@ -2135,11 +2734,11 @@ public class GamesLeague implements GamesLeagueInterface {
             int lastDay = getLastValidDay(tempLeague, date.getDayOfYear()-1, day, date.lengthOfYear()-1);
     
             // If the status of the first day is pending then the whole year must be pending
-            if (tempLeague.getDayByDay(firstDay).getStatus() == Status.PENDING){
+            if (tempLeague.getDayStatus(firstDay) == Status.PENDING){
                 return Status.PENDING;
             }
             // If the status of the last day is closed then the whole year must be closed 
-            else if (tempLeague.getDayByDay(lastDay).getStatus() == Status.CLOSED){
+            else if (tempLeague.getDayStatus(lastDay) == Status.CLOSED){
                 return Status.CLOSED;
             }
             // Anything in between means the year is in progress
@@ -2165,7 +2764,7 @@ public class GamesLeague implements GamesLeagueInterface {
         throws IDInvalidException, InvalidDateException{
 
         // Get the league being queried
-        League tempLeague = getLeagueIfExist(leagues, leagueId);
+        League tempLeague = getLeagueIfExist(leagueId);
 
         // Check if the league exists
         if (tempLeague == null){
@@ -2203,7 +2802,7 @@ public class GamesLeague implements GamesLeagueInterface {
         throws IDInvalidException, InvalidDateException{
 
         // Get the league being queried
-        League tempLeague = getLeagueIfExist(leagues, leagueId);
+        League tempLeague = getLeagueIfExist(leagueId);
 
         // Check that the league exists
         if (tempLeague == null){
@@ -2215,6 +2814,12 @@ public class GamesLeague implements GamesLeagueInterface {
             throw new InvalidDateException("Error: Date is not valid");
         }
 
+        // Use the live leaderboard if it is up to date for the day
+        Leaderboard board = tempLeague.getLeaderboard(Period.YEAR, day);
+        if (board != null){
+            return board.getRanks();
+        }
+
         // Convert the epoch day to LocalDate type
         LocalDate date = LocalDate.ofEpochDay((long) day);
         // Get the first valid day of the year
@@ -2228,13 +2833,200 @@ public class GamesLeague implements GamesLeagueInterface {
     };
 
 
+    /**
+     * Get a single player's rank and points in a league for the day, week, month or year containing a day.
+     * This avoids ranking every player in the league.
+     * 
+     * @param leagueId  The ID of the league being queried.
+     * @param playerId  The ID of the player being queried.
+     * @param period    The period the points are totalled over.
+     * @param day       Epoch day that is within the period being queried.
+     * 
+     * @return The leaderboard entry of the player.
+     * 
+     * @throws IDInvalidException If the league or player ID does not match to any league or player in the system.
+     * @throws InvalidDateException If the day is not a valid day for the league.
+     * @throws IllegalOperationException If the player is not in the league.
+     * @throws IllegalArgumentException If the period is null.
+     */
+    public LeaderboardEntry getPlayerRank(int leagueId, int playerId, Period period, int day)
+        throws IDInvalidException, InvalidDateException, IllegalOperationException, IllegalArgumentException{
+
+        // Get the league being queried
+        League tempLeague = getLeagueIfExist(leagueId);
+
+        // Check that the league and player exist
+        if (tempLeague == null){
+            throw new IDInvalidException("Error: League ID does not match to an existing league.");
+        } else if (!doesPlayerExist(playerId)) {
+            throw new IDInvalidException("Error: No player with that ID exists");
+        }
+
+        // Check that the day is valid for the league
+        if (!tempLeague.isDayInLeague(day)){
+            throw new InvalidDateException("Error: Date is not valid");
+        }
+
+        if (period == null){
+            throw new IllegalArgumentException("Error: The period is not valid");
+        }
+
+        // Find where the player's results are stored
+        int slot = tempLeague.getSlot(playerId);
+        if (slot == -1){
+            throw new IllegalOperationException("Error: That player is not in the league.");
+        }
+
+        // Use the live leaderboard if it is up to date for the day
+        Leaderboard board = tempLeague.getLeaderboard(period, day);
+        if (board != null){
+            return new LeaderboardEntry(playerId, board.getPoints(slot), board.getRank(slot));
+        }
+
+        // Otherwise count the players with more points, totalling each one from the running totals
+        ResultTable results = tempLeague.getResults();
+        int firstDay = getFirstValidDay(tempLeague, day - period.startOf(day), day);
+        int points = results.sumSlotPoints(firstDay, day, slot);
+        int above = 0;
+        for (int s = 0; s < tempLeague.getPlayers().size(); s++){
+            if (results.sumSlotPoints(firstDay, day, s) > points){
+                above++;
+            }
+        }
+        return new LeaderboardEntry(playerId, points, above + 1);
+    }
+
+
+    /**
+     * Get the highest ranked players of a league for the day, week, month or year containing a day.
+     * 
+     * @param leagueId  The ID of the league being queried.
+     * @param period    The period the points are totalled over.
+     * @param day       Epoch day that is within the period being queried.
+     * @param k         The number of players to return.
+     * 
+     * @return The top k entries of the leaderboard, from the highest points to the lowest.
+     * 
+     * @throws IDInvalidException If the ID does not match to any league in the system.
+     * @throws InvalidDateException If the day is not a valid day for the league.
+     * @throws IllegalArgumentException If the period is null or k is less than 1.
+     */
+    public LeaderboardEntry[] getTopPlayers(int leagueId, Period period, int day, int k)
+        throws IDInvalidException, InvalidDateException, IllegalArgumentException{
+        return getLeaderboardPage(leagueId, period, day, 0, k);
+    }
+
+
+    /**
+     * Get one page of a league's leaderboard for the day, week, month or year containing a day.
+     * Players with equal points are listed in order of their player ID and share the best rank.
+     * 
+     * @param leagueId  The ID of the league being queried.
+     * @param period    The period the points are totalled over.
+     * @param day       Epoch day that is within the period being queried.
+     * @param page      The page to return, starting from 0.
+     * @param pageSize  The number of players on each page.
+     * 
+     * @return The entries on the page, which is empty if the page is after the end of the leaderboard.
+     * 
+     * @throws IDInvalidException If the ID does not match to any league in the system.
+     * @throws InvalidDateException If the day is not a valid day for the league.
+     * @throws IllegalArgumentException If the period is null, the page is negative or the page size is less than 1.
+     */
+    public LeaderboardEntry[] getLeaderboardPage(int leagueId, Period period, int day, int page, int pageSize)
+        throws IDInvalidException, InvalidDateException, IllegalArgumentException{
+
+        // Get the league being queried
+        League tempLeague = getLeagueIfExist(leagueId);
+
+        // Check that the league exists
+        if (tempLeague == null){
+            throw new IDInvalidException("Error: League ID does not match to an existing league.");
+        }
+
+        // Check that the day is valid for the league
+        if (!tempLeague.isDayInLeague(day)){
+            throw new InvalidDateException("Error: Date is not valid");
+        }
+
+        // Check that the page can be found
+        if (period == null || page < 0 || pageSize < 1){
+            throw new IllegalArgumentException("Error: The page is not valid");
+        }
+
+        // Find the positions of the first and last entries on the page
+        int members = tempLeague.getPlayers().size();
+        long start = (long) page * pageSize;
+        if (start >= members){
+            return new LeaderboardEntry[0];
+        }
+        int first = (int) start;
+        int end = (int) Math.min(members, start + pageSize);
+        LeaderboardEntry[] entries = new LeaderboardEntry[end - first];
+
+        // Use the live leaderboard if it is up to date for the day, walking down the tree to each position
+        Leaderboard board = tempLeague.getLeaderboard(period, day);
+        if (board != null){
+            int rank = 0;
+            for (int i = first; i < end; i++){
+                int slot = board.slotAt(i);
+                int points = board.getPoints(slot);
+                // Only count the players above when the points change
+                if (i == first || points != entries[i - first - 1].getPoints()){
+                    rank = board.countAbove(points) + 1;
+                }
+                entries[i - first] = new LeaderboardEntry(board.getPlayerId(slot), points, rank);
+            }
+            return entries;
+        }
+
+        // Otherwise total up the period and keep only the players up to the end of the page
+        int[] totals = getPeriodPoints(tempLeague, period, day);
+        int[] playerIds = new int[members];
+        for (int i = 0; i < members; i++){
+            playerIds[i] = tempLeague.getPlayers().get(i).getPlayerId();
+        }
+        long[] top = Ranking.top(totals, playerIds, end);
+
+        // Every player with more points than someone on the page is in the top, so ranks can be read from it
+        int rank = 0;
+        for (int i = 0; i < end; i++){
+            if (i == 0 || Ranking.unpackValue(top[i]) != Ranking.unpackValue(top[i - 1])){
+                rank = i + 1;
+            }
+            if (i >= first){
+                entries[i - first] = new LeaderboardEntry(Ranking.unpackId(top[i]), Ranking.unpackValue(top[i]), rank);
+            }
+        }
+        return entries;
+    }
+
+
     /**
      * Method empties this GamesLeague instance of its contents and resets all
      * internal counters.
      */
     public void eraseGamesLeagueData(){
+        // Record the call in the journal before it makes any changes
+        writeJournalRecord(GameJournal.ERASE, null);
+
         players.clear();
-        leagues.clear();
+        playerIndex.clear();
+        leagueIndex.clear();
+        unloadedLeagues.clear();
+        snapshot = null;
+        emailIndex.clear();
+        normalisedEmailIndex.clear();
+        displayNameIndex.clear();
+        leagueNameIndex.clear();
+        inviteIndex.clear();
+
+        // Start handing out IDs from 0 again
+        Player.setCounter(0);
+        League.setCounter(0);
+
+        // The next checkpoint has to replace everything that was written before
+        markCheckpointReset();
     };
 
 
@@ -2250,21 +3042,61 @@ public class GamesLeague implements GamesLeagueInterface {
      *                     contents to the file.
      */
     public void saveGamesLeagueData(String filename) throws IOException{
-        
-        ObjectOutputStream out = new ObjectOutputStream(new FileOutputStream(filename));
-        // Convert the players ArrayList to an array to simplify serialisation
-        Player[] tempPlayers = players.toArray(new Player[players.size()]);
-        out.writeObject(tempPlayers);
-        // Convert the leagues ArrayList to an array to simplify serialisation
-        League[] tempLeagues = leagues.toArray(new League[leagues.size()]);
-        out.writeObject(tempLeagues);
-        out.close();
+        saveGamesLeagueData(filename, SnapshotFormat.SERIALIZED);
+    };
+
+
+    /**
+     * Saves this GamesLeague instance contents into a file in the given format.
+     * Files in either format can be loaded with loadGamesLeagueData.
+     * The file is synced to the disk and then, if a journal is open and checkpointing has not been started,
+     * the journal is emptied since every change in it is now in the file.
+     *
+     * @param filename Location of the file to be saved.
+     * @param format The format to save the file in.
+     * @throws IOException If there is a problem experienced when trying to save the 
+     *                     contents to the file.
+     */
+    public void saveGamesLeagueData(String filename, SnapshotFormat format) throws IOException{
+
+        // Binary snapshots are written by their own class, copying leagues that have never been read straight
+        // from the snapshot they are still in
+        if (format == SnapshotFormat.BINARY){
+            ArrayList<League> loaded = new ArrayList<>();
+            IntList unloaded = new IntList();
+            BinarySnapshot source = splitLeagues(loaded, unloaded);
+            BinarySnapshot.write(filename, players, loaded, source, unloaded, journalSequence, maxGameReportLength);
+        }
+        else {
+            FileOutputStream file = new FileOutputStream(filename);
+            ObjectOutputStream out = new ObjectOutputStream(file);
+            // Convert the players ArrayList to an array to simplify serialisation
+            Player[] tempPlayers = players.toArray(new Player[players.size()]);
+            out.writeObject(tempPlayers);
+            // Convert the leagues to an array to simplify serialisation
+            ArrayList<League> allLeagues = getAllLeagues();
+            League[] tempLeagues = allLeagues.toArray(new League[allLeagues.size()]);
+            out.writeObject(tempLeagues);
+            // The journal sequence number says which journal records are already in the file
+            out.writeObject(Long.valueOf(journalSequence));
+            out.writeObject(Integer.valueOf(maxGameReportLength));
+            out.flush();
+            file.getFD().sync();
+            out.close();
+        }
+
+        // Every change in the journal is now in the file, so the journal can be emptied
+        // While checkpointing, the journal is only emptied up to each checkpoint, as that is the file that gets loaded
+        if (journal != null && checkpointer == null){
+            journal.truncate();
+        }
     };
 
 
     /**
      * Method should load and replace this GamesLeague instance contents with the
      * serialised contents stored in the file given in the argument.
+     * If a journal is open, every call in it that was made after the file was saved is replayed.
      *
      * @param filename Location of the file to be loaded.
      * @throws IOException If there is a problem experienced when trying
@@ -2273,75 +3105,467 @@ public class GamesLeague implements GamesLeagueInterface {
      */
     public void loadGamesLeagueData(String filename) throws IOException, ClassNotFoundException{
 
-        ObjectInputStream in = new ObjectInputStream(new FileInputStream(filename));
         // Create new temporary arrays to store the incoming data
         Player[] tempPlayers = null;
         League[] tempLeagues = null;
-        // Read in the first object
-        Object obj = in.readObject();
-        // Check that the object is an array of players
-        if (obj instanceof Player[]){
-            // Cast the object variable to the temporary array
-            tempPlayers = (Player[]) obj;
-        }
-        // Read in the next object
-        obj = in.readObject();
-        // Check that the object is an array of leagues
-        if (obj instanceof League[]){
-            // Cast the object variable to the temporary array
-            tempLeagues = (League[]) obj;
-        }
-
-        // Add each element of the player array to the main players ArrayList
+        BinarySnapshot newSnapshot = null;
+        long loadedSequence = 0;
+        Integer loadedMaxLength = null;
+
+        // Binary snapshots start with their own magic number, anything else is read as a serialised file
+        // Only the players and league directory of a binary snapshot are read now, the leagues are read when first used
+        if (BinarySnapshot.isBinarySnapshot(filename)){
+            newSnapshot = BinarySnapshot.open(filename);
+            tempPlayers = newSnapshot.getPlayers();
+            loadedSequence = newSnapshot.getJournalSequence();
+            loadedMaxLength = newSnapshot.getMaxGameReportLength();
+        }
+        else {
+            ObjectInputStream in = new ObjectInputStream(new FileInputStream(filename));
+            // Read in the first object
+            Object obj = in.readObject();
+            // Check that the object is an array of players
+            if (obj instanceof Player[]){
+                // Cast the object variable to the temporary array
+                tempPlayers = (Player[]) obj;
+            }
+            // Read in the next object
+            obj = in.readObject();
+            // Check that the object is an array of leagues
+            if (obj instanceof League[]){
+                // Cast the object variable to the temporary array
+                tempLeagues = (League[]) obj;
+            }
+            // Read the journal sequence number and report limit, which files saved before they were added do not have
+            try {
+                obj = in.readObject();
+                if (obj instanceof Long){
+                    loadedSequence = (Long) obj;
+                }
+                obj = in.readObject();
+                if (obj instanceof Integer){
+                    loadedMaxLength = (Integer) obj;
+                }
+            }
+            catch (EOFException e){
+                // Anything not in the file keeps its default
+            }
+            in.close();
+        }
+
+        // Add each element of the player array to the main players ArrayList and the player index
         if (tempPlayers != null){
             players.clear();
+            playerIndex.clear();
+            emailIndex.clear();
+            normalisedEmailIndex.clear();
+            displayNameIndex.clear();
             for (Player p : tempPlayers){
                 players.add(p);
+                playerIndex.put(p.getId(), p);
+                indexPlayer(p);
+                // Make sure new players are never given an ID that was loaded from the file
+                Player.raiseCounter(p.getId() + 1);
             }
         }
 
-        // Add each element of the league array to the main leagues ArrayList
+        // Add each element of the league array to the league index
+        if (tempLeagues != null || newSnapshot != null){
+            leagueIndex.clear();
+            unloadedLeagues.clear();
+            leagueNameIndex.clear();
+            inviteIndex.clear();
+            snapshot = null;
+        }
         if (tempLeagues != null){
-            leagues.clear();
             for (League l : tempLeagues){
-                leagues.add(l);
+                leagueIndex.put(l.getId(), l);
+                leagueNameIndex.put(l.getName(), l.getId());
+                indexInvites(l);
+                // Make sure new leagues are never given an ID that was loaded from the file
+                League.raiseCounter(l.getId() + 1);
+            }
+        }
+
+        // Leagues in a binary snapshot are only recorded as unloaded, with their names and invites from the directory
+        if (newSnapshot != null){
+            for (int i = 0; i < newSnapshot.getLeagueCount(); i++){
+                int id = newSnapshot.getLeagueId(i);
+                unloadedLeagues.put(id, i);
+                leagueNameIndex.put(newSnapshot.getLeagueName(i), id);
+                for (String email : newSnapshot.getLeagueInvites(i)){
+                    indexInvite(email, id);
+                }
+                League.raiseCounter(id + 1);
             }
+            if (unloadedLeagues.size() > 0){
+                snapshot = newSnapshot;
+            }
+        }
+
+        // The next checkpoint has to replace everything that was written before
+        markCheckpointReset();
+
+        // Files saved before the report limit was saved keep the current limit
+        if (loadedMaxLength != null){
+            maxGameReportLength = loadedMaxLength;
         }
 
-        in.close();
+        // Replay the changes made since the file was saved
+        journalSequence = loadedSequence;
+        if (journal != null){
+            replayJournal();
+        }
     };
 
+
     /**
-     * This performs a bubble sort on a given array. Sorts the array in descending order.
-     * 
-     * @param tempArray The primitive integer array to be sorted.
-     * @return The sorted array.
+     * Starts recording every call that can make a change in a journal file, so changes made since the last save
+     * can be recovered after a crash. Any calls in the journal that are newer than the current contents are
+     * replayed first, so opening the journal straight after loading the last saved file recovers every change
+     * made since. Records are written to the disk in groups, and a group that is not full is written once its
+     * first record has waited for the default maximum flush delay.
+     *
+     * @param filename Location of the journal file, which is created if it does not exist.
+     * @param groupCommitSize Number of records written to the disk together with one fsync.
+     * @throws IOException If the journal cannot be opened or replayed.
+     * @see #openJournal(String, int, long)
      */
-    public int[] bubbleSort(int[] tempArray){
-        boolean swap = false;
-
-        int[] array = tempArray.clone();
-
-        int temp = 0;
-        for (int i = 0; i < array.length; i++){
-            // Each pass is one element shorter than the last because we know the last element must be in the correct place
-            for (int j = 1; j < array.length - i; j++){
-                // If the previous element is less than the current element then they should be swapped
-                if (array[j-1] < array[j]){
-                    temp = array[j-1];
-                    array[j-1] = array[j];
-                    array[j] = temp;
-                    swap = true;
+    public void openJournal(String filename, int groupCommitSize) throws IOException{
+        openJournal(filename, groupCommitSize, GameJournal.DEFAULT_MAX_FLUSH_DELAY);
+    }
+
+    /**
+     * Starts recording every call that can make a change in a journal file, replaying any newer calls first.
+     * Records are written to the disk in groups, and a group that is not full is written once its first record
+     * has waited for maxFlushDelay milliseconds, so a crash can only lose the calls made within that time.
+     *
+     * @param filename Location of the journal file, which is created if it does not exist.
+     * @param groupCommitSize Number of records written to the disk together with one fsync.
+     * @param maxFlushDelay The longest time in milliseconds a record waits for the rest of its group.
+     * @throws IOException If the journal cannot be opened or replayed.
+     */
+    public void openJournal(String filename, int groupCommitSize, long maxFlushDelay) throws IOException{
+        closeJournal();
+        GameJournal newJournal = GameJournal.open(filename, groupCommitSize, maxFlushDelay);
+        journal = newJournal;
+        try {
+            replayJournal();
+        }
+        catch (IOException e){
+            journal = null;
+            newJournal.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Writes every journal record that is still waiting for its group to the disk.
+     *
+     * @throws IOException If the journal cannot be written.
+     */
+    public void flushJournal() throws IOException{
+        if (journal != null){
+            journal.flush();
+        }
+    }
+
+    /**
+     * Writes any waiting records to the journal and stops journalling.
+     *
+     * @throws IOException If the journal cannot be written or closed.
+     */
+    public void closeJournal() throws IOException{
+        if (journal != null){
+            GameJournal oldJournal = journal;
+            journal = null;
+            oldJournal.close();
+        }
+    }
+
+    /**
+     * Starts writing checkpoints to a binary snapshot file. The whole system is saved to the file first,
+     * then each call to checkpoint adds what has changed since the last one in the background.
+     *
+     * @param filename Location of the snapshot file.
+     * @throws IOException If the file cannot be saved or opened.
+     */
+    public void startCheckpointing(String filename) throws IOException{
+        stopCheckpointing();
+        saveGamesLeagueData(filename, SnapshotFormat.BINARY);
+        checkpointer = new Checkpointer(filename, BinarySnapshot.open(filename));
+        dirtyLeagues.clear();
+        dirtyPlayers.clear();
+        checkpointReset = false;
+        lastCheckpoint = null;
+    }
+
+    /**
+     * Takes a checkpoint of everything that has changed since the last one and writes it in the background.
+     * Players that have changed are copied and leagues that have changed are frozen, so a league is copied
+     * if it is changed again before it has been written. Once a checkpoint is on the disk, the journal records
+     * it contains are removed from the journal the next time this is called.
+     *
+     * @return A future that gives the journal sequence number of the checkpoint once it is on the disk.
+     * @throws IllegalOperationException If checkpointing has not been started.
+     * @throws IOException If the journal records in the last checkpoint cannot be removed.
+     */
+    public Future<Long> checkpoint() throws IOException{
+        if (checkpointer == null){
+            throw new IllegalOperationException("Error: Checkpointing has not been started");
+        }
+        discardCheckpointedJournal();
+
+        // Everything is written again after an erase or load, and leagues that have never been read are copied
+        // straight from the snapshot they are still in
+        Checkpointer.Checkpoint changes = new Checkpointer.Checkpoint(journalSequence, maxGameReportLength, checkpointReset);
+        if (checkpointReset){
+            for (int id : getPlayerIds()){
+                dirtyPlayers.add(id);
+            }
+            ArrayList<League> loaded = new ArrayList<>();
+            IntList unloaded = new IntList();
+            BinarySnapshot source = splitLeagues(loaded, unloaded);
+            for (League l : loaded){
+                dirtyLeagues.add(l.getId());
+            }
+            for (int i = 0; i < unloaded.size(); i++){
+                changes.addUnloadedLeague(source, unloaded.get(i));
+            }
+        }
+
+        for (int id : dirtyPlayers){
+            Player p = getPlayerIfExist(id);
+            if (p != null){
+                changes.addPlayer(p.copy());
+            }
+        }
+        for (int id : dirtyLeagues){
+            League l = getLeagueIfExist(id);
+            if (l == null){
+                changes.removeLeague(id);
+            }
+            else {
+                l.freeze();
+                changes.addLeague(l);
+            }
+        }
+        dirtyPlayers.clear();
+        dirtyLeagues.clear();
+        checkpointReset = false;
+
+        lastCheckpoint = checkpointer.submit(changes);
+        return lastCheckpoint;
+    }
+
+    /**
+     * Waits for the last checkpoint to be written and stops checkpointing.
+     *
+     * @throws IOException If the snapshot file cannot be closed or the journal records in the last checkpoint cannot be removed.
+     */
+    public void stopCheckpointing() throws IOException{
+        if (checkpointer != null){
+            Checkpointer oldCheckpointer = checkpointer;
+            checkpointer = null;
+            oldCheckpointer.close();
+            discardCheckpointedJournal();
+            lastCheckpoint = null;
+        }
+    }
+
+    /**
+     * Marks that everything has been erased or loaded, so the next checkpoint holds every player and league
+     */
+    private void markCheckpointReset(){
+        if (checkpointer != null){
+            checkpointReset = true;
+            dirtyLeagues.clear();
+            dirtyPlayers.clear();
+        }
+    }
+
+    /**
+     * Removes the journal records in the last checkpoint if it has finished being written. If it could not be
+     * written, its changes are written with the next checkpoint and the records are kept until then.
+     *
+     * @throws IOException If the journal records cannot be removed
+     */
+    private void discardCheckpointedJournal() throws IOException{
+        if (lastCheckpoint == null || !lastCheckpoint.isDone()){
+            return;
+        }
+        try {
+            long sequence = lastCheckpoint.get();
+            if (journal != null){
+                journal.discardThrough(sequence);
+            }
+        }
+        catch (ExecutionException e){
+            // Nothing is removed from the journal until a checkpoint has been written
+        }
+        catch (InterruptedException e){
+            Thread.currentThread().interrupt();
+        }
+        lastCheckpoint = null;
+    }
+
+    /**
+     * Replays every record in the journal that is newer than the current contents. Each call is made
+     * again on the day it was first made, so checks against the current date give the same result.
+     *
+     * @throws IOException If the journal cannot be read, records are missing, a record makes a call throw an exception
+     *                     that the call cannot throw, or a league cannot be read from the snapshot.
+     */
+    private void replayJournal() throws IOException{
+        journal.startReading();
+        journalSuppressed++;
+        try {
+            while (journal.nextRecord()){
+                long sequence = journal.getSequence();
+                // Records that are already in the loaded file are skipped
+                if (sequence <= journalSequence){
+                    continue;
+                }
+                if (sequence != journalSequence + 1){
+                    throw new IOException("Error: Journal is missing the records before record " + sequence);
+                }
+
+                replayDate = LocalDate.ofEpochDay(journal.getDay());
+                try {
+                    replayRecord(journal.getOpcode(), journal.getArguments());
+                }
+                catch (UncheckedIOException e){
+                    throw new IOException("Error: Journal record " + sequence + " could not be replayed", e.getCause());
+                }
+                catch (IDInvalidException | InvalidNameException | IllegalNameException | InvalidEmailException
+                        | IllegalEmailException | IllegalOperationException | InvalidDateException
+                        | IllegalArgumentException e){
+                    // The call threw the same exception when it was first made, so the state still matches
+                }
+                catch (RuntimeException e){
+                    // No call throws anything else, so the record was not decoded as it was written
+                    throw new IOException("Error: Journal record " + sequence + " could not be replayed", e);
+                }
+                journalSequence = sequence;
+            }
+        }
+        finally {
+            journalSuppressed--;
+            replayDate = null;
+        }
+    }
+
+    /**
+     * Makes a call stored in a journal record again
+     *
+     * @param opcode The GameJournal opcode of the call
+     * @param in The decoder positioned at the call's arguments
+     * @throws IOException If the opcode is not known or the arguments cannot be read
+     */
+    private void replayRecord(int opcode, SnapshotDecoder in) throws IOException{
+        switch (opcode){
+            case GameJournal.CREATE_PLAYER:
+                // New players and leagues must be given the same ID as before
+                Player.setCounter(in.readSignedVarInt());
+                createPlayer(in.readString(), in.readString(), in.readString(), in.readString());
+                break;
+            case GameJournal.DEACTIVATE_PLAYER:
+                deactivatePlayer(in.readSignedVarInt());
+                break;
+            case GameJournal.UPDATE_DISPLAY_NAME:
+                updatePlayerDisplayName(in.readSignedVarInt(), in.readString());
+                break;
+            case GameJournal.INCREMENT_ROUNDS:
+                incrementRoundPlayed(in.readSignedVarInt());
+                break;
+            case GameJournal.CREATE_LEAGUE: {
+                League.setCounter(in.readSignedVarInt());
+                int owner = in.readSignedVarInt();
+                String name = in.readString();
+                int gameType = in.readVarInt();
+                if (gameType < 0 || gameType > GameType.values().length){
+                    throw new IOException("Error: Journal record game type is not valid");
                 }
+                createLeague(owner, name, gameType == 0 ? null : GameType.values()[gameType - 1]);
+                break;
             }
-            // If the sort completes a whole pass without swapping then the array is already sorted and can be returned
-            if (!swap) {
-                return array;
-            } else {
-                swap = false;
+            case GameJournal.REMOVE_LEAGUE:
+                removeLeague(in.readSignedVarInt());
+                break;
+            case GameJournal.UPDATE_LEAGUE_NAME:
+                updateLeagueName(in.readSignedVarInt(), in.readString());
+                break;
+            case GameJournal.INVITE:
+                invitePlayerToLeague(in.readSignedVarInt(), in.readString());
+                break;
+            case GameJournal.ACCEPT_INVITE:
+                acceptInviteToLeague(in.readSignedVarInt(), in.readSignedVarInt());
+                break;
+            case GameJournal.REMOVE_INVITE:
+                removeInviteFromLeague(in.readSignedVarInt(), in.readString());
+                break;
+            case GameJournal.SET_START_DATE:
+                setLeagueStartDate(in.readSignedVarInt(), in.readSignedVarInt());
+                break;
+            case GameJournal.SET_END_DATE:
+                setLeagueEndDate(in.readSignedVarInt(), in.readSignedVarInt());
+                break;
+            case GameJournal.RESET_LEAGUE:
+                resetLeague(in.readSignedVarInt());
+                break;
+            case GameJournal.CLONE_LEAGUE:
+                League.setCounter(in.readSignedVarInt());
+                cloneLeague(in.readSignedVarInt(), in.readString());
+                break;
+            case GameJournal.SET_INACTIVE:
+                setLeaguePlayerInactive(in.readSignedVarInt(), in.readSignedVarInt());
+                break;
+            case GameJournal.SET_ACTIVE:
+                setLeaguePlayerActive(in.readSignedVarInt(), in.readSignedVarInt());
+                break;
+            case GameJournal.ADD_OWNER:
+                addOwner(in.readSignedVarInt(), in.readSignedVarInt());
+                break;
+            case GameJournal.REMOVE_OWNER:
+                removeOwner(in.readSignedVarInt(), in.readSignedVarInt());
+                break;
+            case GameJournal.GAME_REPORT:
+                registerGameReport(in.readSignedVarInt(), in.readSignedVarInt(), in.readSignedVarInt(), in.readString());
+                break;
+            case GameJournal.DAY_SCORES: {
+                int day = in.readSignedVarInt();
+                int leagueId = in.readSignedVarInt();
+                int length = in.readSignedVarInt();
+                int[] scores = length < 0 ? null : new int[length];
+                for (int i = 0; i < length; i++){
+                    scores[i] = in.readSignedVarInt();
+                }
+                registerDayScores(day, leagueId, scores);
+                break;
             }
+            case GameJournal.VOID_DAY:
+                voidDayPoints(in.readSignedVarInt(), in.readSignedVarInt());
+                break;
+            case GameJournal.ERASE:
+                eraseGamesLeagueData();
+                break;
+            case GameJournal.SET_MAX_REPORT_LENGTH:
+                setMaxGameReportLength(in.readSignedVarInt());
+                break;
+            default:
+                throw new IOException("Error: Journal record has an unknown opcode " + opcode);
         }
-        return array;
+    }
+
+    /**
+     * Sorts a given array in descending order. This used to be a bubble sort, and now uses the
+     * O(n log n) sort in Ranking.
+     * 
+     * @param tempArray The primitive integer array to be sorted.
+     * @return The sorted array.
+     */
+    public int[] bubbleSort(int[] tempArray){
+        return Ranking.sortDescending(tempArray);
     }
 
     /**
@@ -2394,7 +3618,8 @@ public class GamesLeague implements GamesLeagueInterface {
      * @return The full epoch day of the first valid day for the before the entered day
      */
     public int getFirstValidDay(League tempLeague, int day, int fullDay){
-        int validDay = -1;
+        // If every day back to the start of the week, month, or year is in the league then the first day is valid
+        int validDay = fullDay - day;
         // Loop from the current day in the week, month, or year down to the first day (0)
         for (int i = 0; i <= day; i++){
             // Check if the current day is in the league
@@ -2422,9 +3647,10 @@ public class GamesLeague implements GamesLeagueInterface {
      * @return The full epoch day of the last valid day for the before the entered day
      */
     public int getLastValidDay(League tempLeague, int day, int fullDay, int length){
-        int validDay = -1;
+        // If every day up to the end of the week, month, or year is in the league then the last day is valid
+        int validDay = fullDay + (length - day);
         // Loop up to the end of the week, month, or year
-        for (int i = 0; i <= length; i++){
+        for (int i = 0; i <= length - day; i++){
             // Check if the day is in the league
             if (!tempLeague.isDayInLeague(fullDay + i)){
                 // If the day is not in the league then the previous day is the last valid day of the league
@@ -2436,6 +3662,19 @@ public class GamesLeague implements GamesLeagueInterface {
         return validDay;
     }
 
+    /**
+     * Totals up every player's points from the first valid day of a period up to a day
+     * 
+     * @param tempLeague The league to be totalled
+     * @param period The period being totalled
+     * @param day The epoch day to total up to
+     * @return An array of total points for each player that is consistent with the order of getLeaguePlayers()
+     */
+    private int[] getPeriodPoints(League tempLeague, Period period, int day){
+        int firstDay = getFirstValidDay(tempLeague, day - period.startOf(day), day);
+        return tempLeague.getTotalPoints(firstDay, day);
+    }
+
     /**
      * This ranks a given integer array in descending order and then reorders the rankings to be
      * consistent with the original array, e.g an array of [23, 10, 23, 50, 15] would return rankings
@@ -2445,35 +3684,6 @@ public class GamesLeague implements GamesLeagueInterface {
      * @return The correctly ordered array of rankings
      */
     public int[] rank(int[] toRank){
-        // Sort the array in descending order
-        int[] rankings = bubbleSort(toRank);
-        // New array for storing rankings in the correct order
-        int[] rankingsOrdered = new int[rankings.length];
-
-        int prev = -1;
-        int prevRank = -1;
-
-        // This loop locates where each element in the original list has ended up in the ordered list
-        for (int i = 0; i < rankings.length; i++){
-            for (int j = 0; j < rankings.length; j++){
-                // If the value in the original list is found in the ordered list
-                if (rankings[j] == toRank[i]){
-                    // Check if the element to rank is the same as the last ranked element
-                    if (rankings[j] == prev){
-                        // This indicates a tie, so the rank is the same as the last rank 
-                        rankingsOrdered[i] = prevRank;
-                    }
-                    else{
-                        // If it is not a tie then the index of the element in the ordered list is used to calculate the rank
-                        rankingsOrdered[i] = j+1; 
-                    }
-                    // These refer to the previous points that were ranked and the rank that they were given
-                    prev = rankings[j];
-                    prevRank = rankingsOrdered[i];
-                }
-            }
-        }
-
-        return rankingsOrdered;
+        return Ranking.rank(toRank);
     }
 }
@@ -0,0 +1,126 @@
+package gamesleague;
+
+/**
+ * Lookup table that maps the sequential IDs handed out to players and leagues onto their objects.
+ * Since the IDs come from a counter starting at 0, they can be used directly as an array index.
+ *
+ * @param <T> The type of object stored in the index
+ */
+public class IdIndex<T> implements java.io.Serializable {
+    /**
+     * Objects stored at the position of their ID, or null where no object has that ID.
+     */
+    private Object[] entries;
+
+    /**
+     * Number of objects currently stored in the index.
+     */
+    private int size;
+
+    /**
+     * Constructor for the IdIndex class
+     */
+    public IdIndex(){
+        entries = new Object[16];
+        size = 0;
+    }
+
+    /**
+     * Gets the object stored against an ID
+     *
+     * @param id The ID of the object to be found
+     * @return The memory address of the object or null if no object has that ID
+     */
+    @SuppressWarnings("unchecked")
+    public T get(int id){
+        // IDs outside the table can never have been stored
+        if (id < 0 || id >= entries.length){
+            return null;
+        }
+        return (T) entries[id];
+    }
+
+    /**
+     * Checks if an object is stored against an ID
+     *
+     * @param id The ID to be checked
+     * @return True if an object has that ID, False if not
+     */
+    public boolean contains(int id){
+        return get(id) != null;
+    }
+
+    /**
+     * Stores an object against an ID, replacing any object already stored against it
+     *
+     * @param id The ID of the object
+     * @param value The object to be stored
+     */
+    public void put(int id, T value){
+        if (id < 0){
+            throw new IDInvalidException("Error: IDs cannot be negative.");
+        }
+
+        // Grow the table until the ID fits, doubling each time so that sequential inserts stay cheap
+        if (id >= entries.length){
+            int newLength = entries.length;
+            while (id >= newLength){
+                newLength *= 2;
+            }
+            Object[] grown = new Object[newLength];
+            System.arraycopy(entries, 0, grown, 0, entries.length);
+            entries = grown;
+        }
+
+        if (entries[id] == null){
+            size++;
+        }
+        entries[id] = value;
+    }
+
+    /**
+     * Removes the object stored against an ID
+     *
+     * @param id The ID of the object to be removed
+     */
+    public void remove(int id){
+        if (id >= 0 && id < entries.length && entries[id] != null){
+            entries[id] = null;
+            size--;
+        }
+    }
+
+    /**
+     * Gets every ID that has an object stored against it
+     *
+     * @return The IDs in ascending order
+     */
+    public int[] ids(){
+        int[] ids = new int[size];
+        int count = 0;
+        for (int i = 0; i < entries.length && count < size; i++){
+            if (entries[i] != null){
+                ids[count++] = i;
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Removes every object from the index
+     *
+     */
+    public void clear(){
+        entries = new Object[16];
+        size = 0;
+    }
+
+    /**
+     * Gets the number of objects in the index
+     *
+     * @return The number of objects stored
+     */
+    public int size(){
+        return size;
+    }
+}
@@ -0,0 +1,151 @@
+package gamesleague;
+
+import java.util.Arrays;
+
+/**
+ * Growable list of int IDs, stored without boxing them into Integers. Unlike IntSet, the same ID can be in the
+ * list more than once, so it is used where the order and any repeats of the IDs are part of the data.
+ */
+public class IntList implements java.io.Serializable {
+    /**
+     * The IDs in the list, with the unused space after them.
+     */
+    private int[] values;
+
+    /**
+     * Number of IDs in the list.
+     */
+    private int size;
+
+    /**
+     * Constructor for the IntList class
+     */
+    public IntList(){
+        values = new int[4];
+        size = 0;
+    }
+
+    /**
+     * Constructor for the IntList class, which starts with a copy of another list's IDs
+     *
+     * @param other The list to copy the IDs from
+     */
+    public IntList(IntList other){
+        values = Arrays.copyOf(other.values, Math.max(other.size, 4));
+        size = other.size;
+    }
+
+    /**
+     * Gets the number of IDs in the list
+     *
+     * @return The size of the list
+     */
+    public int size(){
+        return size;
+    }
+
+    /**
+     * Checks if the list holds no IDs
+     *
+     * @return True if the list is empty, False if not
+     */
+    public boolean isEmpty(){
+        return size == 0;
+    }
+
+    /**
+     * Gets the ID at a position in the list
+     *
+     * @param index The position of the ID
+     * @return The ID at that position
+     * @throws IndexOutOfBoundsException If there is no ID at that position
+     */
+    public int get(int index){
+        if (index < 0 || index >= size){
+            throw new IndexOutOfBoundsException("Error: There is no ID at position " + index);
+        }
+        return values[index];
+    }
+
+    /**
+     * Finds the first position of an ID in the list
+     *
+     * @param value The ID to be found
+     * @return The first position of the ID, or -1 if it is not in the list
+     */
+    public int indexOf(int value){
+        for (int i = 0; i < size; i++){
+            if (values[i] == value){
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Checks if an ID is in the list
+     *
+     * @param value The ID to be checked
+     * @return True if the ID is in the list, False if not
+     */
+    public boolean contains(int value){
+        return indexOf(value) != -1;
+    }
+
+    /**
+     * Adds an ID to the end of the list
+     *
+     * @param value The ID to be added
+     */
+    public void add(int value){
+        if (size == values.length){
+            values = Arrays.copyOf(values, size * 2);
+        }
+        values[size++] = value;
+    }
+
+    /**
+     * Adds every ID in another list to the end of this one
+     *
+     * @param other The list to add the IDs from
+     */
+    public void addAll(IntList other){
+        if (size + other.size > values.length){
+            values = Arrays.copyOf(values, Math.max(values.length * 2, size + other.size));
+        }
+        System.arraycopy(other.values, 0, values, size, other.size);
+        size += other.size;
+    }
+
+    /**
+     * Removes the first copy of an ID from the list, keeping the rest in the same order
+     *
+     * @param value The ID to be removed
+     * @return True if the ID was removed, False if it was not in the list
+     */
+    public boolean remove(int value){
+        int index = indexOf(value);
+        if (index == -1){
+            return false;
+        }
+        System.arraycopy(values, index + 1, values, index, size - index - 1);
+        size--;
+        return true;
+    }
+
+    /**
+     * Removes every ID from the list
+     */
+    public void clear(){
+        size = 0;
+    }
+
+    /**
+     * Copies the IDs into an array
+     *
+     * @return A new array of the IDs, in list order
+     */
+    public int[] toArray(){
+        return Arrays.copyOf(values, size);
+    }
+}
@@ -0,0 +1,223 @@
+package gamesleague;
+
+import java.util.Arrays;
+
+/**
+ * Set of int IDs that keeps them in the order they were added, stored without boxing them into Integers.
+ * Small sets are searched directly, and once a set grows past a few IDs a hash table is kept alongside so that
+ * checking for an ID does not depend on how many IDs are in the set.
+ */
+public class IntSet implements java.io.Serializable {
+    /**
+     * Most IDs a set can hold before it builds a hash table.
+     */
+    private static final int SCAN_LIMIT = 8;
+
+    /**
+     * The IDs in the order they were added, with the unused space after them.
+     */
+    private int[] values;
+
+    /**
+     * Number of IDs in the set.
+     */
+    private int size;
+
+    /**
+     * Hash table holding one more than the position of each ID in values, or 0 where a bucket is empty. Null
+     * while the set is small enough to be searched directly.
+     */
+    private int[] table = null;
+
+    /**
+     * Constructor for the IntSet class
+     */
+    public IntSet(){
+        values = new int[4];
+        size = 0;
+    }
+
+    /**
+     * Gets the number of IDs in the set
+     *
+     * @return The size of the set
+     */
+    public int size(){
+        return size;
+    }
+
+    /**
+     * Checks if the set holds no IDs
+     *
+     * @return True if the set is empty, False if not
+     */
+    public boolean isEmpty(){
+        return size == 0;
+    }
+
+    /**
+     * Gets the ID at a position in the set
+     *
+     * @param index The position of the ID, counting in the order the IDs were added
+     * @return The ID at that position
+     * @throws IndexOutOfBoundsException If there is no ID at that position
+     */
+    public int get(int index){
+        if (index < 0 || index >= size){
+            throw new IndexOutOfBoundsException("Error: There is no ID at position " + index);
+        }
+        return values[index];
+    }
+
+    /**
+     * Checks if an ID is in the set
+     *
+     * @param value The ID to be checked
+     * @return True if the ID is in the set, False if not
+     */
+    public boolean contains(int value){
+        return indexOf(value) != -1;
+    }
+
+    /**
+     * Finds the position of an ID in the set
+     *
+     * @param value The ID to be found
+     * @return The position of the ID, or -1 if it is not in the set
+     */
+    public int indexOf(int value){
+        if (table == null){
+            for (int i = 0; i < size; i++){
+                if (values[i] == value){
+                    return i;
+                }
+            }
+            return -1;
+        }
+        int mask = table.length - 1;
+        for (int b = bucket(value, mask); table[b] != 0; b = (b + 1) & mask){
+            if (values[table[b] - 1] == value){
+                return table[b] - 1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Adds an ID to the end of the set if it is not already in it
+     *
+     * @param value The ID to be added
+     * @return True if the ID was added, False if it was already in the set
+     */
+    public boolean add(int value){
+        if (contains(value)){
+            return false;
+        }
+        if (size == values.length){
+            values = Arrays.copyOf(values, size * 2);
+        }
+        values[size++] = value;
+
+        // The table is kept at most half full so searches stay short
+        if (table != null && size * 2 <= table.length){
+            insert(size - 1);
+        }
+        else if (size > SCAN_LIMIT){
+            rebuild();
+        }
+        return true;
+    }
+
+    /**
+     * Adds every ID in another set that is not already in this one, in the order they are in the other set
+     *
+     * @param other The set to add the IDs from
+     */
+    public void addAll(IntSet other){
+        for (int i = 0; i < other.size; i++){
+            add(other.values[i]);
+        }
+    }
+
+    /**
+     * Removes an ID from the set, keeping the rest in the same order
+     *
+     * @param value The ID to be removed
+     * @return True if the ID was removed, False if it was not in the set
+     */
+    public boolean remove(int value){
+        int index = indexOf(value);
+        if (index == -1){
+            return false;
+        }
+        System.arraycopy(values, index + 1, values, index, size - index - 1);
+        size--;
+
+        // Every ID after the removed one has moved, so the table is built again
+        if (table != null){
+            rebuild();
+        }
+        return true;
+    }
+
+    /**
+     * Removes every ID from the set
+     */
+    public void clear(){
+        size = 0;
+        table = null;
+    }
+
+    /**
+     * Copies the IDs into an array
+     *
+     * @return A new array of the IDs, in the order they were added
+     */
+    public int[] toArray(){
+        return Arrays.copyOf(values, size);
+    }
+
+    /**
+     * Builds the hash table again from the IDs, or drops it if the set is small enough to be searched directly
+     */
+    private void rebuild(){
+        if (size <= SCAN_LIMIT){
+            table = null;
+            return;
+        }
+        int length = 16;
+        while (length < size * 2){
+            length *= 2;
+        }
+        table = new int[length];
+        for (int i = 0; i < size; i++){
+            insert(i);
+        }
+    }
+
+    /**
+     * Adds the ID at a position to the hash table
+     *
+     * @param index The position of the ID in values
+     */
+    private void insert(int index){
+        int mask = table.length - 1;
+        int b = bucket(values[index], mask);
+        while (table[b] != 0){
+            b = (b + 1) & mask;
+        }
+        table[b] = index + 1;
+    }
+
+    /**
+     * Finds the bucket an ID starts its search from, mixing the bits so that sequential IDs are spread out
+     *
+     * @param value The ID
+     * @param mask One less than the length of the table
+     * @return The bucket in the table
+     */
+    private static int bucket(int value, int mask){
+        int h = value * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mask;
+    }
+}
@@ -0,0 +1,447 @@
+package gamesleague;
+
+import java.util.Arrays;
+
+/**
+ * Live leaderboard of a league's members for one week, month, year or day. It holds every member's
+ * total points for the period and keeps the members sorted by (points descending, player ID ascending)
+ * in a treap, which is a binary search tree balanced by giving each node a random priority.
+ * Every node also stores the size of its subtree, so the number of members above a total can be
+ * counted and the member at any position can be found in O(log n) without sorting.
+ *
+ * Nodes are member slots, so the tree is stored in primitive arrays indexed by slot.
+ */
+public class Leaderboard implements java.io.Serializable {
+    /**
+     * The period this leaderboard totals points over.
+     */
+    private Period period;
+
+    /**
+     * The first epoch day counted in the totals.
+     */
+    private int firstDay;
+
+    /**
+     * The last epoch day counted in the totals.
+     */
+    private int lastDay;
+
+    /**
+     * The latest epoch day that points have been changed on. Totals are only up to date for queries on
+     * or after this day, since they already include every day before it.
+     */
+    private int latestDay;
+
+    /**
+     * Number of members in the leaderboard.
+     */
+    private int size;
+
+    /**
+     * Total points of each member slot.
+     */
+    private int[] points;
+
+    /**
+     * Player ID of each member slot, used to order members with equal points.
+     */
+    private int[] playerIds;
+
+    /**
+     * Left child, right child and subtree size of each slot's node, with -1 meaning no child.
+     */
+    private int[] left, right, subtreeSize;
+
+    /**
+     * Random priority of each slot's node. Parents always have a higher priority than their children.
+     */
+    private int[] priority;
+
+    /**
+     * Slot at the root of the tree, or -1 if the tree is empty.
+     */
+    private int root;
+
+    /**
+     * State of the random number generator used for priorities.
+     */
+    private int seed;
+
+    /**
+     * Used by split to return the two halves of a tree.
+     */
+    private int splitLeft, splitRight;
+
+    /**
+     * Constructor for the Leaderboard class
+     *
+     * @param period The period the leaderboard covers
+     * @param firstDay The first epoch day counted in the totals
+     * @param lastDay The last epoch day counted in the totals
+     * @param latestDay The latest epoch day with points that are counted in the totals
+     */
+    public Leaderboard(Period period, int firstDay, int lastDay, int latestDay){
+        this.period = period;
+        this.firstDay = firstDay;
+        this.lastDay = lastDay;
+        this.latestDay = latestDay;
+        size = 0;
+        points = new int[8];
+        playerIds = new int[8];
+        left = new int[8];
+        right = new int[8];
+        subtreeSize = new int[8];
+        priority = new int[8];
+        root = -1;
+        seed = 0x2545F491;
+    }
+
+    /**
+     * Gets the period the leaderboard covers
+     *
+     * @return The enum Period of the leaderboard
+     */
+    public Period getPeriod(){
+        return period;
+    }
+
+    /**
+     * Gets the first day counted in the totals
+     *
+     * @return The first epoch day of the leaderboard
+     */
+    public int getFirstDay(){
+        return firstDay;
+    }
+
+    /**
+     * Gets the last day counted in the totals
+     *
+     * @return The last epoch day of the leaderboard
+     */
+    public int getLastDay(){
+        return lastDay;
+    }
+
+    /**
+     * Gets the latest day that has points counted in the totals
+     *
+     * @return The latest epoch day with points
+     */
+    public int getLatestDay(){
+        return latestDay;
+    }
+
+    /**
+     * Checks if the totals are correct for a query on a day, which needs the day to be in the
+     * leaderboard and every day with points in the leaderboard to be on or before it
+     *
+     * @param day The epoch day being queried
+     * @return True if the leaderboard can answer the query, False if not
+     */
+    public boolean covers(int day){
+        return day >= firstDay && day <= lastDay && day >= latestDay;
+    }
+
+    /**
+     * Gets the number of members in the leaderboard
+     *
+     * @return The number of members
+     */
+    public int size(){
+        return size;
+    }
+
+    /**
+     * Adds the next member slot to the leaderboard
+     *
+     * @param playerId The ID of the member's player
+     * @param total The member's total points for the period
+     */
+    public void addMember(int playerId, int total){
+        int slot = size++;
+
+        // Grow the arrays if there is no room for the new slot
+        if (slot >= points.length){
+            int newLength = points.length * 2;
+            points = Arrays.copyOf(points, newLength);
+            playerIds = Arrays.copyOf(playerIds, newLength);
+            left = Arrays.copyOf(left, newLength);
+            right = Arrays.copyOf(right, newLength);
+            subtreeSize = Arrays.copyOf(subtreeSize, newLength);
+            priority = Arrays.copyOf(priority, newLength);
+        }
+
+        points[slot] = total;
+        playerIds[slot] = playerId;
+        priority[slot] = nextPriority();
+        insert(slot);
+    }
+
+    /**
+     * Adds points to a member's total for a day and moves them to their new position
+     *
+     * @param day The epoch day the points were changed on
+     * @param slot The slot of the member
+     * @param delta The change in the member's points
+     */
+    public void addPoints(int day, int slot, int delta){
+        if (day > latestDay){
+            latestDay = day;
+        }
+        if (delta == 0){
+            return;
+        }
+        remove(slot);
+        points[slot] += delta;
+        insert(slot);
+    }
+
+    /**
+     * Gets a member's total points
+     *
+     * @param slot The slot of the member
+     * @return The total points of the member
+     */
+    public int getPoints(int slot){
+        return points[slot];
+    }
+
+    /**
+     * Gets the player ID of a member
+     *
+     * @param slot The slot of the member
+     * @return The ID of the member's player
+     */
+    public int getPlayerId(int slot){
+        return playerIds[slot];
+    }
+
+    /**
+     * Counts how many members have a total strictly higher than the given points
+     *
+     * @param total The total points to compare against
+     * @return The number of members with more points
+     */
+    public int countAbove(int total){
+        int count = 0;
+        int node = root;
+        // Members with more points are always to the left, so count whole left subtrees while moving right
+        while (node != -1){
+            if (points[node] > total){
+                count += sizeOf(left[node]) + 1;
+                node = right[node];
+            }
+            else {
+                node = left[node];
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Gets the rank of a member, where members with equal points share the best rank
+     *
+     * @param slot The slot of the member
+     * @return The rank of the member, starting from 1
+     */
+    public int getRank(int slot){
+        return countAbove(points[slot]) + 1;
+    }
+
+    /**
+     * Finds the member at a position in the leaderboard
+     *
+     * @param position The position starting from 0 for the member with the most points
+     * @return The slot of the member at that position
+     */
+    public int slotAt(int position){
+        int node = root;
+        while (node != -1){
+            int leftSize = sizeOf(left[node]);
+            if (position < leftSize){
+                node = left[node];
+            }
+            else if (position == leftSize){
+                return node;
+            }
+            else {
+                position -= leftSize + 1;
+                node = right[node];
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Ranks every member in slot order by walking through the tree in order
+     *
+     * @return The rank of each member, in the same order as their slots
+     */
+    public int[] getRanks(){
+        int[] ranks = new int[size];
+        int[] stack = new int[size];
+        int depth = 0;
+        int node = root;
+        int position = 0;
+        int rank = 0;
+        int previous = -1;
+
+        while (node != -1 || depth > 0){
+            // Go as far left as possible before visiting a node
+            while (node != -1){
+                stack[depth++] = node;
+                node = left[node];
+            }
+            node = stack[--depth];
+
+            // Only move the rank on when the points change
+            if (previous == -1 || points[node] != points[previous]){
+                rank = position + 1;
+            }
+            ranks[node] = rank;
+            previous = node;
+            position++;
+
+            node = right[node];
+        }
+        return ranks;
+    }
+
+    /**
+     * Checks if one node comes before another, i.e it has more points or the same points and a lower player ID
+     *
+     * @param a The slot of the first node
+     * @param b The slot of the second node
+     * @return True if a comes before b, False if not
+     */
+    private boolean before(int a, int b){
+        if (points[a] != points[b]){
+            return points[a] > points[b];
+        }
+        return playerIds[a] < playerIds[b];
+    }
+
+    /**
+     * Gets the size of a subtree
+     *
+     * @param node The root of the subtree or -1
+     * @return The number of nodes in the subtree
+     */
+    private int sizeOf(int node){
+        return node == -1 ? 0 : subtreeSize[node];
+    }
+
+    /**
+     * Recalculates the subtree size of a node after its children have changed
+     *
+     * @param node The node to be updated
+     */
+    private void update(int node){
+        subtreeSize[node] = sizeOf(left[node]) + sizeOf(right[node]) + 1;
+    }
+
+    /**
+     * Generates the next random priority with an xorshift generator
+     *
+     * @return A random priority
+     */
+    private int nextPriority(){
+        seed ^= seed << 13;
+        seed ^= seed >>> 17;
+        seed ^= seed << 5;
+        return seed;
+    }
+
+    /**
+     * Joins two trees where every node in the first comes before every node in the second
+     *
+     * @param a The root of the first tree or -1
+     * @param b The root of the second tree or -1
+     * @return The root of the joined tree
+     */
+    private int merge(int a, int b){
+        if (a == -1){
+            return b;
+        }
+        if (b == -1){
+            return a;
+        }
+        if (priority[a] > priority[b]){
+            right[a] = merge(right[a], b);
+            update(a);
+            return a;
+        }
+        left[b] = merge(a, left[b]);
+        update(b);
+        return b;
+    }
+
+    /**
+     * Splits a tree into the nodes that come before a node, stored in splitLeft, and the rest, stored in splitRight
+     *
+     * @param node The root of the tree being split or -1
+     * @param key The slot of the node to split at
+     */
+    private void split(int node, int key){
+        if (node == -1){
+            splitLeft = -1;
+            splitRight = -1;
+            return;
+        }
+        if (before(node, key)){
+            split(right[node], key);
+            right[node] = splitLeft;
+            update(node);
+            splitLeft = node;
+        }
+        else {
+            split(left[node], key);
+            left[node] = splitRight;
+            update(node);
+            splitRight = node;
+        }
+    }
+
+    /**
+     * Removes the first node of a tree
+     *
+     * @param node The root of the tree
+     * @return The root of the tree without its first node
+     */
+    private int removeFirst(int node){
+        if (left[node] == -1){
+            return right[node];
+        }
+        left[node] = removeFirst(left[node]);
+        update(node);
+        return node;
+    }
+
+    /**
+     * Puts a slot's node into the tree at the position of its points
+     *
+     * @param slot The slot to be inserted
+     */
+    private void insert(int slot){
+        left[slot] = -1;
+        right[slot] = -1;
+        subtreeSize[slot] = 1;
+        split(root, slot);
+        int after = splitRight;
+        root = merge(merge(splitLeft, slot), after);
+    }
+
+    /**
+     * Takes a slot's node out of the tree
+     *
+     * @param slot The slot to be removed
+     */
+    private void remove(int slot){
+        // Everything from the slot onwards is split off, so the slot is the first node of that half
+        split(root, slot);
+        int before = splitLeft;
+        root = merge(before, removeFirst(splitRight));
+    }
+}
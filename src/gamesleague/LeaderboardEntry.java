@@ -0,0 +1,71 @@
+package gamesleague;
+
+/**
+ * A single row of a league leaderboard, holding a player's total points and rank for a period.
+ */
+public class LeaderboardEntry implements java.io.Serializable {
+    /**
+     * ID of the player this entry is for.
+     */
+    private int playerId;
+
+    /**
+     * Total points of the player for the period.
+     */
+    private int points;
+
+    /**
+     * Rank of the player for the period, where players with equal points share the best rank.
+     */
+    private int rank;
+
+    /**
+     * Constructor for the LeaderboardEntry class
+     * 
+     * @param playerId The ID of the player
+     * @param points The total points of the player
+     * @param rank The rank of the player
+     */
+    public LeaderboardEntry(int playerId, int points, int rank){
+        this.playerId = playerId;
+        this.points = points;
+        this.rank = rank;
+    }
+
+    /**
+     * Gets the ID of the player
+     * 
+     * @return The integer ID of the player
+     */
+    public int getPlayerId(){
+        return playerId;
+    }
+
+    /**
+     * Gets the total points of the player
+     * 
+     * @return The total points of the player for the period
+     */
+    public int getPoints(){
+        return points;
+    }
+
+    /**
+     * Gets the rank of the player
+     * 
+     * @return The rank of the player for the period, starting from 1
+     */
+    public int getRank(){
+        return rank;
+    }
+
+    /**
+     * Gets the entry as a string in the form rank. playerId (points)
+     * 
+     * @return The string version of the entry
+     */
+    @Override
+    public String toString(){
+        return rank + ". " + playerId + " (" + points + ")";
+    }
+}
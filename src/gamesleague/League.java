@@ -1,6 +1,8 @@
 package gamesleague;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.time.LocalDate;
 
 /**
@@ -33,20 +35,66 @@ public class League implements java.io.Serializable {
      */
     private ArrayList<LeagueMember> players;
 
+    /**
+     * IDs of the players currently in the league, in the same order as players, so the position of a player's ID
+     * is also their slot.
+     */
+    private IntSet memberIds;
+
+    /**
+     * One bit for each member slot, which is set if the member is active in the league, so a member can be
+     * checked without going through the list of LeagueMembers.
+     */
+    private long[] activeSlots;
+
+    /**
+     * IDs of the active members in slot order, built when first asked for and dropped whenever a member joins,
+     * leaves or changes whether they are active. They are rebuilt when needed, so are not saved.
+     */
+    private transient int[] activeIds;
+
     /**
      * List of players currently invited to the league.
      */
     private ArrayList<String> playerInvites;
 
+    /**
+     * The same emails as playerInvites, so checking for an invite is a hash lookup instead of a search.
+     */
+    private HashSet<String> inviteSet;
+
     /**
      * List of current owners of the league.
      */
-    private ArrayList<Integer> owners;
+    private IntList owners;
 
     /**
-     * ArrayList containing all the LeagueDays created for this league.
+     * Status of every day in the league.
      */
-    private ArrayList<LeagueDay> days;
+    private LeagueCalendar calendar;
+
+    /**
+     * Scores and points of every member, stored by day and member slot.
+     */
+    private ResultTable results;
+
+    /**
+     * Live leaderboards for the most recent day, week, month and year with points, indexed by the
+     * ordinal of their Period. They are rebuilt from the results when needed, so are not saved.
+     */
+    private transient Leaderboard[] leaderboards;
+
+    /**
+     * True while a Checkpointer is writing this league to disk in the background, so it must not be changed.
+     * Changes are made to a copy of the league instead, which takes its place in the system.
+     */
+    private transient volatile boolean frozen;
+
+    /**
+     * The frozen league this league was copied from, or null if there is none or it has finished being written.
+     * Members and GameDays that are still shared with it are copied before they are changed.
+     */
+    private transient League copiedFrom;
 
     /**
      * The epoch date that the league starts.
@@ -78,10 +126,40 @@ public class League implements java.io.Serializable {
         endDate = -1;
         id = counter++;
         players = new ArrayList<>();
+        memberIds = new IntSet();
+        activeSlots = new long[1];
         playerInvites = new ArrayList<>();
-        owners = new ArrayList<>();
+        inviteSet = new HashSet<>();
+        owners = new IntList();
         owners.add(owner);
-        days = new ArrayList<>();
+        calendar = new LeagueCalendar();
+        results = new ResultTable();
+        totalRounds = 0;
+    }
+
+    /**
+     * Constructor used to restore a saved league, which keeps its saved ID and starts with no owners
+     * 
+     * @param id The ID of the league
+     * @param owner The player ID of the original owner of the league
+     * @param name The name of the league
+     * @param gameType The GameType that the league is set up for
+     */
+    public League(int id, int owner, String name, GameType gameType){
+        this.owner = owner;
+        this.name = name;
+        this.gameType = gameType;
+        startDate = -1;
+        endDate = -1;
+        this.id = id;
+        players = new ArrayList<>();
+        memberIds = new IntSet();
+        activeSlots = new long[1];
+        playerInvites = new ArrayList<>();
+        inviteSet = new HashSet<>();
+        owners = new IntList();
+        calendar = new LeagueCalendar();
+        results = new ResultTable();
         totalRounds = 0;
     }
 
@@ -90,24 +168,90 @@ public class League implements java.io.Serializable {
      * 
      * @param players The list of players in the league
      * @param owners The list of owners of the league
-     * @param days The list of days that have been played in the league
+     * @param calendar The status of every day in the league
+     * @param results The scores and points of the league being cloned
      * @param totalRounds The total rounds played in the league
      */
-    public void cloneLeagueSetup(ArrayList<LeagueMember> players, ArrayList<Integer> owners, 
-    ArrayList<LeagueDay> days, int totalRounds) {
-        this.owners = owners;
+    public void cloneLeagueSetup(ArrayList<LeagueMember> players, IntList owners, 
+    LeagueCalendar calendar, ResultTable results, int totalRounds) {
+        // Copy the owners and members so changes to the new league don't change the old one
+        this.owners = new IntList(owners);
         this.players.clear();
-
-        for (int ownerId : owners) {
-            for (LeagueMember lm : players) {
-                if (lm.getPlayerId() == ownerId) {
-                    this.players.add(lm);
+        this.memberIds.clear();
+        Arrays.fill(activeSlots, 0);
+        activeIds = null;
+
+        // Slots of the copied members in the original league, so their results can be copied across
+        int[] slots = new int[players.size()];
+        int copied = 0;
+
+        for (int o = 0; o < owners.size(); o++) {
+            for (int i = 0; i < players.size(); i++) {
+                if (players.get(i).getPlayerId() == owners.get(o)) {
+                    addMember(players.get(i).copy());
+                    slots[copied++] = i;
                 }
             }
         }
 
-        this.days = days;
+        this.calendar = calendar.copy();
+        this.results = results.copySlots(Arrays.copyOf(slots, copied));
         this.totalRounds = totalRounds;
+        leaderboards = null;
+    }
+
+    /**
+     * Creates a copy of the league that can be changed without changing this one, which must not be changed
+     * afterwards. The copy shares the members and results of this league and copies each one before it
+     * is changed. The live leaderboards are moved to the copy rather than rebuilt, since only the copy
+     * will be changed and queried afterwards.
+     *
+     * @return The new league, which is not frozen
+     */
+    public League copy(){
+        League copy = new League(id, owner, name, gameType);
+        for (LeagueMember m : players){
+            copy.addMember(m);
+        }
+        copy.copiedFrom = this;
+        // This league was copied from a league that has since been written, so nothing it shares has to be copied
+        copiedFrom = null;
+        // The array of active IDs is never changed once built, so the copy can share it
+        copy.activeIds = activeIds;
+        copy.playerInvites.addAll(playerInvites);
+        copy.inviteSet.addAll(inviteSet);
+        copy.owners.addAll(owners);
+        copy.calendar = calendar.copy();
+        copy.results = results.copy();
+        copy.leaderboards = leaderboards;
+        leaderboards = null;
+        copy.startDate = startDate;
+        copy.endDate = endDate;
+        copy.totalRounds = totalRounds;
+        return copy;
+    }
+
+    /**
+     * Marks the league as being written by a Checkpointer, so it is copied before it is next changed
+     */
+    public void freeze(){
+        frozen = true;
+    }
+
+    /**
+     * Marks the league as finished being written, so it can be changed again
+     */
+    public void thaw(){
+        frozen = false;
+    }
+
+    /**
+     * Checks if the league is being written by a Checkpointer
+     *
+     * @return True if the league must be copied before it is changed, False if not
+     */
+    public boolean isFrozen(){
+        return frozen;
     }
 
     /**
@@ -119,6 +263,15 @@ public class League implements java.io.Serializable {
         return totalRounds;
     }
 
+    /**
+     * Sets the total rounds played in the league
+     * 
+     * @param totalRounds The new total rounds played in the league
+     */
+    public void setRounds(int totalRounds) {
+        this.totalRounds = totalRounds;
+    }
+
     /**
      * This increases the number of rounds played in the league by 1
      * 
@@ -206,6 +359,35 @@ public class League implements java.io.Serializable {
         return id;
     }
 
+    /**
+     * Gets the ID that will be given to the next new league
+     * 
+     * @return The ID of the next league to be created
+     */
+    public static int getCounter(){
+        return counter;
+    }
+
+    /**
+     * Sets the ID that will be given to the next new league
+     * 
+     * @param nextId The ID of the next league to be created
+     */
+    public static void setCounter(int nextId){
+        counter = nextId;
+    }
+
+    /**
+     * Makes sure the next new league is given an ID of at least the given value
+     * 
+     * @param nextId The lowest ID that the next league can be given
+     */
+    public static void raiseCounter(int nextId){
+        if (counter < nextId){
+            counter = nextId;
+        }
+    }
+
     /**
      * Gets the list of members in the league
      * 
@@ -215,6 +397,36 @@ public class League implements java.io.Serializable {
         return players;
     }
 
+    /**
+     * Adds a LeagueMember to the end of the list of members, used when the league is being copied or restored
+     * 
+     * @param member The LeagueMember to be added
+     */
+    public void addMember(LeagueMember member){
+        players.add(member);
+        memberIds.add(member.getPlayerId());
+        setActiveSlot(players.size() - 1, member.isActive());
+    }
+
+    /**
+     * Checks if a player is a member of the league
+     * 
+     * @param playerId The ID of the player to be checked
+     * @return True if the player is in the league, False if not
+     */
+    public boolean isMember(int playerId){
+        return memberIds.contains(playerId);
+    }
+
+    /**
+     * Gets the IDs of the members of the league
+     * 
+     * @return A new array of player IDs in slot order
+     */
+    public int[] getMemberIds(){
+        return memberIds.toArray();
+    }
+
     /**
      * If the player isn't already a LeagueMember, they are added as a LeagueMember.
      * 
@@ -223,12 +435,7 @@ public class League implements java.io.Serializable {
     public void addPlayer(Player player){
 
         // Check if player is already in league
-        boolean found = false;
-        for (LeagueMember p : players) {
-            if (p.getPlayerId() == player.getId()) {
-                found = true;
-            }
-        }
+        boolean found = isMember(player.getId());
 
         // If player is already in league, print a message
         if (found) {
@@ -236,7 +443,16 @@ public class League implements java.io.Serializable {
         }
         // If the player is not in the league then add them to the league 
         else if (!found) {
-            players.add(new LeagueMember(player.getId()));
+            addMember(new LeagueMember(player.getId()));
+
+            // New members start every live leaderboard with no points
+            if (leaderboards != null){
+                for (Leaderboard board : leaderboards){
+                    if (board != null){
+                        board.addMember(player.getId(), 0);
+                    }
+                }
+            }
         }
     }
 
@@ -248,22 +464,26 @@ public class League implements java.io.Serializable {
     public void removePlayer(Player player){
 
         // Check if the player is in the league
-        boolean found = false;
-        LeagueMember removeLeagueMember = null;
-        for (LeagueMember p : players) {
-            if (p.getPlayerId() == player.getId()) {
-                found = true;
-                removeLeagueMember = p;
-            }
-        }
+        int slot = getSlot(player.getId());
+        boolean found = slot != -1;
 
         // If they are not in the league then print an error message
         if (!found) {
             System.out.println("Player not found in league");
         } 
-        // If they are in the league then remove them
+        // If they are in the league then remove them and their column of results
         else if (found) {
-            players.remove(removeLeagueMember);
+            results.removeSlot(slot);
+            players.remove(slot);
+            memberIds.remove(player.getId());
+
+            // Every member after the removed one has moved slot, so the active bits are set again
+            Arrays.fill(activeSlots, 0);
+            for (int s = 0; s < players.size(); s++){
+                setActiveSlot(s, players.get(s).isActive());
+            }
+            // Every member after the removed one has moved slot
+            leaderboards = null;
         }
     }
 
@@ -274,15 +494,8 @@ public class League implements java.io.Serializable {
      * @return True if the player is invited to the league, False if not
      */
     public boolean doesInviteExist(String email){
-        
-        // Loops through list of invited emails
-        for (String e : playerInvites){
-            // If the email is a match return true
-            if (e.equals(email)){
-                return true;
-            }
-        }
-        return false;
+        // Looks the email up in the set of invited emails
+        return inviteSet.contains(email);
     }
 
     /**
@@ -300,6 +513,7 @@ public class League implements java.io.Serializable {
 
         // Adds new invite
         playerInvites.add(email);
+        inviteSet.add(email);
     }
 
     /**
@@ -317,6 +531,7 @@ public class League implements java.io.Serializable {
 
         // Removes invite
         playerInvites.remove(email);
+        inviteSet.remove(email);
     }
 
     /**
@@ -331,9 +546,9 @@ public class League implements java.io.Serializable {
     /**
      * Gets the list of owners of the league
      * 
-     * @return The list of player IDs belonging to the owners
+     * @return The memory address of the list of player IDs belonging to the owners
      */
-    public ArrayList<Integer> getOwners(){
+    public IntList getOwners(){
         return owners;
     }
 
@@ -346,10 +561,8 @@ public class League implements java.io.Serializable {
     public void addOwner(int playerId) throws IDInvalidException{
 
         // Check if player is already an owner
-        for (int i : owners){
-            if (i == playerId){
-                throw new IDInvalidException("This player cannot be added as an owner, as they already are an owner.");
-            }
+        if (owners.contains(playerId)){
+            throw new IDInvalidException("This player cannot be added as an owner, as they already are an owner.");
         }
 
         // Adds new owner
@@ -364,21 +577,10 @@ public class League implements java.io.Serializable {
      */
     public void removeOwner(int playerId) throws IDInvalidException{
 
-        // Checks if player is an owner
-        boolean found = false;
-        for (int i : owners){
-            if (i == playerId){
-                found = true;
-            }
-        }
-
-        // If the player is not an owner then throw an exception
-        if (!found){
+        // Remove the owner from the list of owners, throwing an exception if the player is not an owner
+        if (!owners.remove(playerId)){
             throw new IDInvalidException("Cannot remove this player as the owner, since they aren't an owner.");
         }
-
-        // Remove the owner from the list of owners
-        owners.remove(Integer.valueOf(playerId));
     }
 
     /**
@@ -386,14 +588,14 @@ public class League implements java.io.Serializable {
      * 
      * @return List of inactive player Ids.
      */
-    public ArrayList<Integer> getInactivePlayers(){
+    public IntList getInactivePlayers(){
 
-        ArrayList<Integer> inactivePlayers = new ArrayList<>();
+        IntList inactivePlayers = new IntList();
 
-        // Loops through the list of players and adds any inactive ones to the list
-        for (LeagueMember p : players) {
-            if (!p.isActive()) {
-                inactivePlayers.add(p.getPlayerId());
+        // Loops through the member slots and adds any inactive ones to the list
+        for (int s = 0; s < players.size(); s++) {
+            if (!isActive(s)) {
+                inactivePlayers.add(memberIds.get(s));
             }
         }
         return inactivePlayers;
@@ -404,19 +606,73 @@ public class League implements java.io.Serializable {
      * 
      * @return List of active player Ids.
      */
-    public ArrayList<Integer> getActivePlayers(){
+    public IntList getActivePlayers(){
 
-        ArrayList<Integer> activePlayers = new ArrayList<>();
+        IntList activePlayers = new IntList();
 
-        // Loops through the list of players and adds any active ones to the list
-        for (LeagueMember p : players) {
-            if (p.isActive()) {
-                activePlayers.add(p.getPlayerId());
-            }
+        // Adds the active members to the list in slot order
+        for (int id : getActivePlayerIds()) {
+            activePlayers.add(id);
         }
         return activePlayers;
     }
 
+    /**
+     * Checks if the member in a slot is active in the league
+     * 
+     * @param slot The slot of the member
+     * @return True if the member is active, False if not or if there is no member in that slot
+     */
+    public boolean isActive(int slot){
+        if (slot < 0 || slot >= players.size()){
+            return false;
+        }
+        return (activeSlots[slot >>> 6] & (1L << slot)) != 0;
+    }
+
+    /**
+     * Gets the IDs of the active members in the league. The same array is returned until a member joins, leaves
+     * or changes whether they are active, so it must not be changed.
+     * 
+     * @return An array of active player IDs in slot order
+     */
+    public int[] getActivePlayerIds(){
+        if (activeIds == null){
+            int count = 0;
+            for (long word : activeSlots){
+                count += Long.bitCount(word);
+            }
+            int[] ids = new int[count];
+            int i = 0;
+            for (int s = 0; s < players.size(); s++){
+                if (isActive(s)){
+                    ids[i++] = memberIds.get(s);
+                }
+            }
+            activeIds = ids;
+        }
+        return activeIds;
+    }
+
+    /**
+     * Sets or clears the active bit of a member slot
+     * 
+     * @param slot The slot of the member
+     * @param active True if the member is active, False if not
+     */
+    private void setActiveSlot(int slot, boolean active){
+        if ((slot >>> 6) >= activeSlots.length){
+            activeSlots = Arrays.copyOf(activeSlots, Math.max(activeSlots.length * 2, (slot >>> 6) + 1));
+        }
+        if (active){
+            activeSlots[slot >>> 6] |= 1L << slot;
+        }
+        else {
+            activeSlots[slot >>> 6] &= ~(1L << slot);
+        }
+        activeIds = null;
+    }
+
     /**
      * Changes the player to inactive in the league.
      * 
@@ -424,11 +680,11 @@ public class League implements java.io.Serializable {
      */
     public void setInactivePlayer(int playerId) {
 
-        // Loops through the list of players to find the correct player and sets them to inactive
-        for (LeagueMember p : players) {
-            if (p.getPlayerId() == playerId) {
-                p.setActive(false);
-            }
+        // Finds the player's slot and sets them to inactive
+        int slot = getSlot(playerId);
+        if (slot != -1) {
+            getMemberForUpdate(slot).setActive(false);
+            setActiveSlot(slot, false);
         }
     }
 
@@ -439,11 +695,11 @@ public class League implements java.io.Serializable {
      */
     public void setActivePlayer(int playerId) {
 
-        // Loops through the list of players to find the correct one and sets them to active
-        for (LeagueMember p : players) {
-            if (p.getPlayerId() == playerId) {
-                p.setActive(true);
-            }
+        // Finds the player's slot and sets them to active
+        int slot = getSlot(playerId);
+        if (slot != -1) {
+            getMemberForUpdate(slot).setActive(true);
+            setActiveSlot(slot, true);
         }
     }
 
@@ -454,11 +710,10 @@ public class League implements java.io.Serializable {
      */
     public void emptyGameReports(int playerId) {
 
-        // Loops through the list of players and empties their game reports
-        for (LeagueMember m : players) {
-            if (m.getPlayerId() == playerId) {
-                m.emptyGameDays();
-            }
+        // Finds the player's slot and empties their game reports
+        LeagueMember m = getPlayerForUpdate(playerId);
+        if (m != null) {
+            m.emptyGameDays();
         }
     }
 
@@ -468,9 +723,11 @@ public class League implements java.io.Serializable {
      */
     public void resetLeague() {
         totalRounds = 0;
-        days.clear();
-        for (LeagueMember m : players) {
-            m.resetLeagueMember();
+        calendar.clear();
+        results.clear();
+        leaderboards = null;
+        for (int s = 0; s < players.size(); s++) {
+            getMemberForUpdate(s).resetLeagueMember();
         }
     }
 
@@ -490,6 +747,8 @@ public class League implements java.io.Serializable {
      */
     public void setStartDate(int startDate){
         this.startDate = startDate;
+        // The days counted in each leaderboard depend on the start date
+        leaderboards = null;
     }
 
     /**
@@ -508,24 +767,194 @@ public class League implements java.io.Serializable {
      */
     public void setEndDate(int endDate){
         this.endDate = endDate;
+        // The days counted in each leaderboard depend on the end date
+        leaderboards = null;
+    }
+
+    /**
+     * Gets the scores and points of the league
+     * 
+     * @return The memory address of the league's ResultTable
+     */
+    public ResultTable getResults(){
+        return results;
+    }
+
+    /**
+     * Sets a member's points for a day, keeping the live leaderboards up to date
+     * 
+     * @param day The epoch day of the points
+     * @param slot The slot of the member
+     * @param value The new points of the member
+     */
+    public void setPoints(int day, int slot, int value){
+        int delta = value - results.getPoints(day, slot);
+        results.setPoints(day, slot, value);
+        updateLeaderboards(day, slot, delta);
+    }
+
+    /**
+     * Sets the points of every member to 0 on a day, keeping the live leaderboards up to date
+     * 
+     * @param day The epoch day to be voided
+     */
+    public void voidDay(int day){
+        for (int s = 0; s < players.size(); s++){
+            setPoints(day, s, 0);
+        }
+    }
+
+    /**
+     * Gets the live leaderboard for the period containing a day, if its totals are correct for that day
+     * 
+     * @param period The period of the leaderboard
+     * @param day The epoch day being queried
+     * @return The memory address of the leaderboard or null if there is no up to date leaderboard for the day
+     */
+    public Leaderboard getLeaderboard(Period period, int day){
+        if (leaderboards == null){
+            return null;
+        }
+        Leaderboard board = leaderboards[period.ordinal()];
+
+        // The leaderboard has to be for the same days as the query, and no day after the query can have points in it
+        if (board == null || board.getFirstDay() != getPeriodFirstDay(period, day) || !board.covers(day)){
+            return null;
+        }
+        return board;
     }
 
     /**
-     * Gets the list of days in the league
+     * Finds the first day of a period that is in the league
      * 
-     * @return The memory address of the ArrayList of LeagueDays
+     * @param period The period being checked
+     * @param day An epoch day within the period
+     * @return The first epoch day of the period that is on or after the start date
      */
-    public ArrayList<LeagueDay> getDays(){
-        return days;
+    private int getPeriodFirstDay(Period period, int day){
+        return Math.max(period.startOf(day), startDate);
     }
 
     /**
-     * Adds a new LeagueDay to the league
+     * Finds the last day of a period that is in the league
      * 
-     * @param day The epoch day that needs to be added
+     * @param period The period being checked
+     * @param day An epoch day within the period
+     * @return The last epoch day of the period that is on or before the end date
      */
-    public void addDay(int day){
-        days.add(new LeagueDay(day));
+    private int getPeriodLastDay(Period period, int day){
+        if (endDate == -1){
+            return period.endOf(day);
+        }
+        return Math.min(period.endOf(day), endDate);
+    }
+
+    /**
+     * Passes a change in a member's points on to each live leaderboard. If the day is in a later period
+     * than a leaderboard, the leaderboard moves on to that period and is rebuilt from the results.
+     * Changes to earlier periods are left to be totalled from the results when they are queried.
+     * 
+     * @param day The epoch day the points changed on
+     * @param slot The slot of the member
+     * @param delta The change in the member's points
+     */
+    private void updateLeaderboards(int day, int slot, int delta){
+        if (leaderboards == null){
+            leaderboards = new Leaderboard[Period.values().length];
+        }
+
+        for (Period period : Period.values()){
+            int firstDay = getPeriodFirstDay(period, day);
+            int lastDay = getPeriodLastDay(period, day);
+
+            // Days outside the league are never counted in a leaderboard
+            if (day < firstDay || day > lastDay){
+                continue;
+            }
+
+            Leaderboard board = leaderboards[period.ordinal()];
+            if (board == null || board.getLastDay() < firstDay){
+                leaderboards[period.ordinal()] = buildLeaderboard(period, firstDay, lastDay);
+            }
+            else if (board.getFirstDay() == firstDay){
+                board.addPoints(day, slot, delta);
+            }
+        }
+    }
+
+    /**
+     * Builds a leaderboard from the points stored in the results
+     * 
+     * @param period The period of the leaderboard
+     * @param firstDay The first epoch day to be counted
+     * @param lastDay The last epoch day to be counted
+     * @return The new leaderboard
+     */
+    private Leaderboard buildLeaderboard(Period period, int firstDay, int lastDay){
+        int[] totals = results.sumPoints(firstDay, lastDay, players.size());
+        Leaderboard board = new Leaderboard(period, firstDay, lastDay, Math.min(lastDay, results.getLastDay()));
+        for (int s = 0; s < players.size(); s++){
+            board.addMember(players.get(s).getPlayerId(), totals[s]);
+        }
+        return board;
+    }
+
+    /**
+     * Replaces the scores and points of the league
+     * 
+     * @param results The new ResultTable
+     */
+    public void setResults(ResultTable results){
+        this.results = results;
+        leaderboards = null;
+    }
+
+    /**
+     * Finds the slot a player's results are stored in, which is their position in the list of LeagueMembers
+     * 
+     * @param playerId The ID of the player
+     * @return The slot of the player or -1 if the player is not in the league
+     */
+    public int getSlot(int playerId){
+        return memberIds.indexOf(playerId);
+    }
+
+    /**
+     * Gets the calendar of day statuses in the league
+     * 
+     * @return The memory address of the LeagueCalendar
+     */
+    public LeagueCalendar getCalendar(){
+        return calendar;
+    }
+
+    /**
+     * Replaces the calendar of day statuses in the league
+     * 
+     * @param calendar The new LeagueCalendar
+     */
+    public void setCalendar(LeagueCalendar calendar){
+        this.calendar = calendar;
+    }
+
+    /**
+     * Gets the status of a day in the league
+     * 
+     * @param day The epoch day to be checked
+     * @return The status of the day, which is PENDING if nothing has happened on it
+     */
+    public Status getDayStatus(int day){
+        return calendar.getStatus(day);
+    }
+
+    /**
+     * Sets the status of a day in the league
+     * 
+     * @param day The epoch day to be set
+     * @param status The new status of the day
+     */
+    public void setDayStatus(int day, Status status){
+        calendar.setStatus(day, status);
     }
 
     /**
@@ -536,37 +965,82 @@ public class League implements java.io.Serializable {
      */
     public LeagueMember getPlayerById(int playerId){
 
-        // Loops through the list of players to find the correct one to return
-        for (LeagueMember l : players){
-            if (l.getPlayerId() == playerId){
-                return l;
-            }
-        }
+        // Looks up the player's slot, which is their position in the list of players
+        int slot = getSlot(playerId);
 
         // Returns null if player is not found
-        return null;
+        if (slot == -1){
+            return null;
+        }
+        return players.get(slot);
     }
 
     /**
-     * Finds a specific LeagueDay from the list of LeagueDays using the epoch day
+     * Finds a member that is about to be changed. If the member is still shared with the frozen league this
+     * league was copied from, a copy of the member takes its place first.
      * 
-     * @param day The epoch day of the League day to be found
-     * @return The memory address of the league object or null if the League day does not exist
+     * @param playerId The ID of the player to be found
+     * @return The memory address of the member that can be changed or null if the player is not in the league
      */
-    public LeagueDay getDayByDay(int day){
+    public LeagueMember getPlayerForUpdate(int playerId){
+        int slot = getSlot(playerId);
+        if (slot == -1){
+            return null;
+        }
+        return getMemberForUpdate(slot);
+    }
 
-        // Loops over all the days in the league to find the right one to return
-        for (LeagueDay d : days){
-            if (d.getDay() == day){
-                return d;
-            }
+    /**
+     * Gets the member in a slot so it can be changed, copying it first if it is shared with the frozen league
+     * this league was copied from
+     * 
+     * @param slot The member's slot in the league
+     * @return The memory address of the member that can be changed
+     */
+    private LeagueMember getMemberForUpdate(int slot){
+        LeagueMember member = players.get(slot);
+        if (getSharedMember(member.getPlayerId()) == member){
+            member = member.copyShared();
+            players.set(slot, member);
         }
+        return member;
+    }
 
-        // Adds day if no league day already exists
-        addDay(day);
+    /**
+     * Finds a GameDay that is about to be changed. If the GameDay is still shared with the frozen league this
+     * league was copied from, a copy of it takes its place first.
+     * 
+     * @param playerId The ID of the player the GameDay belongs to
+     * @param day The epoch day of the GameDay
+     * @return The memory address of the GameDay that can be changed or null if it does not exist
+     */
+    public GameDay getGameDayForUpdate(int playerId, int day){
+        LeagueMember member = getPlayerForUpdate(playerId);
+        if (member == null){
+            return null;
+        }
+        GameDay gameDay = member.getGameDayByDay(day);
+        LeagueMember shared = getSharedMember(playerId);
+        if (gameDay != null && shared != null && shared.getGameDayByDay(day) == gameDay){
+            gameDay = gameDay.copy();
+            member.getGameDays().put(day, gameDay);
+        }
+        return gameDay;
+    }
 
-        // Call the method again to return correct LeagueDay
-        return getDayByDay(day);
+    /**
+     * Finds a member of the frozen league this league was copied from, which may share members and GameDays
+     * with this league
+     * 
+     * @param playerId The ID of the player to be found
+     * @return The member of the frozen league, or null if there is none
+     */
+    private LeagueMember getSharedMember(int playerId){
+        // Once the frozen league has been written nothing reads it, so nothing shared with it has to be copied
+        if (copiedFrom != null && !copiedFrom.isFrozen()){
+            copiedFrom = null;
+        }
+        return copiedFrom == null ? null : copiedFrom.getPlayerById(playerId);
     }
 
     /**
@@ -590,25 +1064,7 @@ public class League implements java.io.Serializable {
      * @return An array of total points for each player that is consistent with the order of getLeaguePlayers()
      */
     public int[] getTotalPoints(int firstDay, int lastDay){
-
-        int[] totals = new int[players.size()];
-
-        // Loops over the totals array
-        for (int i = 0; i < totals.length; i++){
-            int sum = 0;
-            // Loops over every day from the start day to the end day and adds the points for each day to the total
-            for (int j = firstDay; j <= lastDay; j++){
-                if(players.get(i).getGameDayByDay(j) != null){
-                    sum += players.get(i).getGameDayByDay(j).getPoints();
-                }
-                else{
-                    sum += 0;
-                }
-            }
-            totals[i] = sum;
-        }
-
-        return totals;
+        return results.sumPoints(firstDay, lastDay, players.size());
     }
 
     /**
@@ -619,24 +1075,6 @@ public class League implements java.io.Serializable {
      * @return An array of total scores for each player that is consistent with the order of getLeaguePlayers()
      */
     public int[] getTotalScore(int firstDay, int lastDay){
-
-        int[] totals = new int[players.size()];
-
-        // Loops over the totals array
-        for (int i = 0; i < totals.length; i++){
-            int sum = 0;
-            // Loops over every day from the start to the end day and adds the scores for each day to the total
-            for (int j = firstDay; j <= lastDay; j++){
-                if(players.get(i).getGameDayByDay(lastDay) != null){
-                    sum += players.get(i).getGameDayByDay(j).getScore();
-                }
-                else{
-                    sum += 0;
-                }
-            }
-            totals[i] = sum;
-        }
-        
-        return totals;
+        return results.sumScores(firstDay, lastDay, players.size());
     }
 }
\ No newline at end of file
@@ -0,0 +1,177 @@
+package gamesleague;
+
+import java.util.Arrays;
+
+/**
+ * Calendar holding the Status of every day in a league. Each status only needs 2 bits, so 32 days are
+ * packed into each long, and a year of days takes under 100 bytes. Each long holds one block of 32 days,
+ * and only blocks that have a day set are stored, kept in order alongside an array of their block numbers,
+ * so days that are far apart take no more room than days next to each other. The latest block is checked
+ * before the blocks are binary searched, since that is nearly always the block being read or set.
+ *
+ * Days that have never been set are PENDING, which is stored as 0, so a missing day never needs to be created.
+ */
+public class LeagueCalendar implements java.io.Serializable {
+    /**
+     * Number of days packed into each long.
+     */
+    private static final int DAYS_PER_WORD = 32;
+
+    /**
+     * Statuses in the order of the numbers they are stored as.
+     */
+    private static final Status[] STATUSES = Status.values();
+
+    /**
+     * Block number of each stored word in ascending order, where block b holds the days 32 * b to 32 * b + 31.
+     */
+    private int[] blocks;
+
+    /**
+     * Packed statuses, with the day 32 * b + i stored in bits 2 * i and above of the word for block b.
+     */
+    private long[] words;
+
+    /**
+     * Number of words currently stored.
+     */
+    private int size;
+
+    /**
+     * Constructor for the LeagueCalendar class
+     */
+    public LeagueCalendar(){
+        blocks = new int[0];
+        words = new long[0];
+        size = 0;
+    }
+
+    /**
+     * Constructor used to restore a saved calendar
+     *
+     * @param blocks The block number of each word in ascending order
+     * @param words The packed statuses of each block
+     */
+    public LeagueCalendar(int[] blocks, long[] words){
+        this.blocks = blocks;
+        this.words = words;
+        size = words.length;
+    }
+
+    /**
+     * Gets the number of blocks of 32 days that are stored
+     *
+     * @return The number of stored words
+     */
+    public int getWordCount(){
+        return size;
+    }
+
+    /**
+     * Gets the block number of a stored word
+     *
+     * @param index The position of the word, which must be less than the number of stored words
+     * @return The block number of the word, which holds the days from 32 times it
+     */
+    public int getBlock(int index){
+        return blocks[index];
+    }
+
+    /**
+     * Gets a stored word of packed statuses
+     *
+     * @param index The position of the word, which must be less than the number of stored words
+     * @return The packed statuses of the word's block
+     */
+    public long getWord(int index){
+        return words[index];
+    }
+
+    /**
+     * Searches the stored blocks for a block number
+     *
+     * @param block The block number being searched for
+     * @return The position of the block, or (-(insertion point) - 1) if it is not stored
+     */
+    private int search(int block){
+        if (size == 0 || blocks[size - 1] < block){
+            return -size - 1;
+        }
+        if (blocks[size - 1] == block){
+            return size - 1;
+        }
+        return Arrays.binarySearch(blocks, 0, size, block);
+    }
+
+    /**
+     * Gets the status of an epoch day
+     *
+     * @param day The epoch day being checked
+     * @return The status of the day, which is PENDING if it has never been set
+     */
+    public Status getStatus(int day){
+        int index = search(Math.floorDiv(day, DAYS_PER_WORD));
+        if (index < 0){
+            return Status.PENDING;
+        }
+        int shift = Math.floorMod(day, DAYS_PER_WORD) * 2;
+        return STATUSES[(int) (words[index] >>> shift) & 3];
+    }
+
+    /**
+     * Sets the status of an epoch day, adding a block for it if needed
+     *
+     * @param day The epoch day being set
+     * @param status The new status of the day
+     */
+    public void setStatus(int day, Status status){
+        int block = Math.floorDiv(day, DAYS_PER_WORD);
+        int index = search(block);
+
+        if (index < 0){
+            // Pending days don't need to be stored if their block isn't
+            if (status == Status.PENDING){
+                return;
+            }
+
+            // Make room for the block at its place in order
+            index = -index - 1;
+            if (size == words.length){
+                int newLength = Math.max(4, words.length * 2);
+                blocks = Arrays.copyOf(blocks, newLength);
+                words = Arrays.copyOf(words, newLength);
+            }
+            System.arraycopy(blocks, index, blocks, index + 1, size - index);
+            System.arraycopy(words, index, words, index + 1, size - index);
+            blocks[index] = block;
+            words[index] = 0;
+            size++;
+        }
+
+        int shift = Math.floorMod(day, DAYS_PER_WORD) * 2;
+        words[index] = (words[index] & ~(3L << shift)) | ((long) status.ordinal() << shift);
+    }
+
+    /**
+     * Sets every day back to PENDING
+     *
+     */
+    public void clear(){
+        blocks = new int[0];
+        words = new long[0];
+        size = 0;
+    }
+
+    /**
+     * Creates a copy of the calendar that can be changed without changing this one
+     *
+     * @return The new calendar
+     */
+    public LeagueCalendar copy(){
+        LeagueCalendar copy = new LeagueCalendar();
+        copy.blocks = blocks.clone();
+        copy.words = words.clone();
+        copy.size = size;
+        return copy;
+    }
+}
@@ -1,7 +1,5 @@
 package gamesleague;
 
-import java.util.ArrayList;
-
 /**
  * Represents a single player in the league, and can store data such as whether the player is active in the league and GameDay classes.
  */
@@ -17,9 +15,9 @@ public class LeagueMember implements java.io.Serializable{
     private boolean active;
 
     /**
-     * List of gameDays associated with this player.
+     * GameDays associated with this player, indexed by their epoch day.
      */
-    private ArrayList<GameDay> gameDays;
+    private DayTable<GameDay> gameDays;
 
     /**
      * Constructor for LeagueMember class
@@ -29,7 +27,34 @@ public class LeagueMember implements java.io.Serializable{
     public LeagueMember(int playerId){
         this.playerId = playerId;
         active = true;
-        gameDays = new ArrayList<>();
+        gameDays = new DayTable<>();
+    }
+
+    /**
+     * Creates a copy of the LeagueMember with copies of its GameDays, so either can be changed without changing the other
+     * 
+     * @return The new LeagueMember
+     */
+    public LeagueMember copy(){
+        LeagueMember copy = new LeagueMember(playerId);
+        copy.active = active;
+        for (GameDay d : gameDays.values()){
+            copy.addGameDay(d.getDay(), d.getGameReport());
+        }
+        return copy;
+    }
+
+    /**
+     * Creates a copy of the LeagueMember that shares its GameDays with this one, so GameDays can be added to or
+     * removed from either without changing the other. A shared GameDay has to be copied before it is changed.
+     * 
+     * @return The new LeagueMember
+     */
+    public LeagueMember copyShared(){
+        LeagueMember copy = new LeagueMember(playerId);
+        copy.active = active;
+        copy.gameDays = gameDays.copy();
+        return copy;
     }
 
     /**
@@ -60,11 +85,11 @@ public class LeagueMember implements java.io.Serializable{
     }
 
     /**
-     * Gets the ArrayList of GameDays related to this LeagueMember
+     * Gets the table of GameDays related to this LeagueMember
      * 
-     * @return The memory address of the gameDays ArrayList
+     * @return The memory address of the gameDays table
      */
-    public ArrayList<GameDay> getGameDays(){
+    public DayTable<GameDay> getGameDays(){
         return gameDays;
     }
 
@@ -75,7 +100,7 @@ public class LeagueMember implements java.io.Serializable{
      * @param gameReport The game report for that GameDay
      */
     public void addGameDay(int day, String gameReport){
-        gameDays.add(new GameDay(day, gameReport));
+        gameDays.put(day, new GameDay(day, gameReport));
     }
 
     /**
@@ -86,27 +111,20 @@ public class LeagueMember implements java.io.Serializable{
      */
     public GameDay getGameDayByDay(int day){
 
-        // Loops over the list of GameDays to find the correct one to return
-        for(GameDay d : gameDays){
-            if (d.getDay() == day){
-                return d;
-            }
-        }
-
-        // Returns null if the GameDay cannot be found
-        return null;
+        // Looks the day up directly in the table, which returns null if the GameDay cannot be found
+        return gameDays.get(day);
     }
 
     /**
      * This method goes through every GameDay object related to this LeagueMember and
-     * sets their game reports to an empty string
+     * replaces it with one that has an empty game report, so GameDays shared with a copy are not changed
      * 
      */
     public void emptyGameDays() {
 
-        // Loops over every game day and sets all the game reports to empty strings
-        for(GameDay d : gameDays){
-            d.setGameReport("");
+        // Loops over every game day and replaces it with an empty one
+        for(GameDay d : gameDays.values()){
+            gameDays.put(d.getDay(), new GameDay(d.getDay(), ""));
         }
     }
 
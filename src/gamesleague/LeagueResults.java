@@ -0,0 +1,180 @@
+package gamesleague;
+
+/**
+ * Read-only snapshot of a league's members, dates, day statuses, scores and points, taken after a change to them.
+ * Nothing in a snapshot is changed once it has been made, so it can be read from any thread without a lock, and
+ * every query on it sees the league as it was after one whole change.
+ *
+ * Each snapshot of a league has a version one higher than the snapshot taken before it.
+ */
+public class LeagueResults {
+    /**
+     * Version of the snapshot, starting from 1 for the first snapshot of a league.
+     */
+    private final long version;
+
+    /**
+     * Player ID of each member, in slot order.
+     */
+    private final int[] playerIds;
+
+    /**
+     * The epoch dates that the league starts and closes.
+     */
+    private final int startDate;
+    private final int endDate;
+
+    /**
+     * Status of every day in the league.
+     */
+    private final LeagueCalendar calendar;
+
+    /**
+     * Scores and points of every member, with running totals already built.
+     */
+    private final ResultTable results;
+
+    /**
+     * Constructor for the LeagueResults class, which takes a snapshot of a league. The league must not be
+     * changed while the snapshot is being taken.
+     *
+     * @param league The league to take a snapshot of
+     * @param previous The last snapshot taken of the league, or null if this is the first
+     */
+    public LeagueResults(League league, LeagueResults previous){
+        version = previous == null ? 1 : previous.version + 1;
+        playerIds = new int[league.getPlayers().size()];
+        for (int s = 0; s < playerIds.length; s++){
+            playerIds[s] = league.getPlayers().get(s).getPlayerId();
+        }
+        startDate = league.getStartDate();
+        endDate = league.getEndDate();
+        calendar = league.getCalendar().copy();
+        results = league.getResults().snapshot();
+    }
+
+    /**
+     * Gets the version of the snapshot
+     *
+     * @return The version, which is higher for later snapshots of the same league
+     */
+    public long getVersion(){
+        return version;
+    }
+
+    /**
+     * Gets the members of the league, in the order that every array of results is in
+     *
+     * @return An array of the members' player IDs
+     */
+    public int[] getPlayerIds(){
+        return playerIds.clone();
+    }
+
+    /**
+     * Checks if a given day is within the league start and end dates
+     *
+     * @param day The epoch day that needs to be checked
+     * @return True if the day is within the league, False if not
+     */
+    public boolean isDayInLeague(int day){
+        return day >= startDate && (day <= endDate || endDate == -1);
+    }
+
+    /**
+     * Checks that a day can be queried
+     *
+     * @param day The epoch day being queried
+     * @throws InvalidDateException If the day is not a valid day for the league
+     */
+    private void checkDay(int day) throws InvalidDateException{
+        if (!isDayInLeague(day)){
+            throw new InvalidDateException("Error: Date is out of range for this league");
+        }
+    }
+
+    /**
+     * Finds the first day of a period that is in the league
+     *
+     * @param period The period being checked
+     * @param day An epoch day within the period that is in the league
+     * @return The first epoch day of the period that is on or after the start date
+     */
+    private int getPeriodFirstDay(Period period, int day){
+        return Math.max(period.startOf(day), startDate);
+    }
+
+    /**
+     * Finds the last day of a period that is in the league
+     *
+     * @param period The period being checked
+     * @param day An epoch day within the period that is in the league
+     * @return The last epoch day of the period that is on or before the end date
+     */
+    private int getPeriodLastDay(Period period, int day){
+        if (endDate == -1){
+            return period.endOf(day);
+        }
+        return Math.min(period.endOf(day), endDate);
+    }
+
+    /**
+     * Gets the scores of every member on a day
+     *
+     * @param day The epoch day being queried
+     * @return An array of every member's scores, in slot order
+     * @throws InvalidDateException If the day is not a valid day for the league
+     */
+    public int[] getDayScores(int day) throws InvalidDateException{
+        checkDay(day);
+        return results.getDayScores(day, playerIds.length);
+    }
+
+    /**
+     * Gets the status of the day, week, month or year containing a day. The period is pending if its first day
+     * in the league is pending, closed if its last day in the league is closed, and in progress otherwise.
+     *
+     * @param period The period being queried
+     * @param day An epoch day within the period
+     * @return The status of the period
+     * @throws InvalidDateException If the day is not a valid day for the league
+     */
+    public Status getStatus(Period period, int day) throws InvalidDateException{
+        checkDay(day);
+        if (calendar.getStatus(getPeriodFirstDay(period, day)) == Status.PENDING){
+            return Status.PENDING;
+        }
+        else if (calendar.getStatus(getPeriodLastDay(period, day)) == Status.CLOSED){
+            return Status.CLOSED;
+        }
+        return Status.IN_PROGRESS;
+    }
+
+    /**
+     * Totals up every member's points from the first day of a period in the league up to a day
+     *
+     * @param period The period being totalled
+     * @param day The epoch day to total up to
+     * @return An array of total points for each member, in slot order
+     * @throws InvalidDateException If the day is not a valid day for the league
+     */
+    public int[] getPoints(Period period, int day) throws InvalidDateException{
+        checkDay(day);
+        if (period == Period.DAY){
+            return results.getDayPoints(day, playerIds.length);
+        }
+        return results.sumPoints(getPeriodFirstDay(period, day), day, playerIds.length);
+    }
+
+    /**
+     * Ranks every member by their points from the first day of a period in the league up to a day
+     *
+     * @param period The period being ranked
+     * @param day The epoch day to total up to
+     * @return The rank of each member, in slot order
+     * @throws InvalidDateException If the day is not a valid day for the league
+     */
+    public int[] getRanking(Period period, int day) throws InvalidDateException{
+        return Ranking.rank(getPoints(period, day));
+    }
+}
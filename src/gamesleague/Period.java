@@ -0,0 +1,68 @@
+package gamesleague;
+
+import java.time.LocalDate;
+
+/**
+ * Enum representing the periods of time that league points and rankings can be totalled over.
+ */
+public enum Period {
+    /**
+     * A single day.
+     */
+    DAY,
+
+    /**
+     * A week, starting on Monday.
+     */
+    WEEK,
+
+    /**
+     * A calendar month.
+     */
+    MONTH,
+
+    /**
+     * A calendar year.
+     */
+    YEAR;
+
+    /**
+     * Finds the first day of the period that contains an epoch day
+     *
+     * @param day The epoch day within the period
+     * @return The epoch day that the period starts on
+     */
+    public int startOf(int day){
+        LocalDate date = LocalDate.ofEpochDay(day);
+        switch (this){
+            case WEEK:
+                return day - (date.getDayOfWeek().getValue() - 1);
+            case MONTH:
+                return day - (date.getDayOfMonth() - 1);
+            case YEAR:
+                return day - (date.getDayOfYear() - 1);
+            default:
+                return day;
+        }
+    }
+
+    /**
+     * Finds the last day of the period that contains an epoch day
+     *
+     * @param day The epoch day within the period
+     * @return The epoch day that the period ends on
+     */
+    public int endOf(int day){
+        LocalDate date = LocalDate.ofEpochDay(day);
+        switch (this){
+            case WEEK:
+                return startOf(day) + 6;
+            case MONTH:
+                return startOf(day) + date.lengthOfMonth() - 1;
+            case YEAR:
+                return startOf(day) + date.lengthOfYear() - 1;
+            default:
+                return day;
+        }
+    }
+}
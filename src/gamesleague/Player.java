@@ -1,7 +1,6 @@
 package gamesleague;
 
 import java.time.LocalDate;
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.io.IOException;
 
@@ -41,19 +40,19 @@ public class Player implements java.io.Serializable {
     private boolean deactivated = false;
 
     /**
-     * List of leagues that the player is in.
+     * Set of leagues that the player is in.
      */
-    private ArrayList<Integer> leagueIds;
+    private IntSet leagueIds;
 
     /**
-     * List of leagues that the player owns.
+     * Set of leagues that the player owns.
      */
-    private ArrayList<Integer> ownedLeagueIds;
+    private IntSet ownedLeagueIds;
 
     /**
      * List of leagues that the player has been invited to.
      */
-    private ArrayList<Integer> leagueInviteIds;
+    private IntList leagueInviteIds;
 
     /**
      * Status of whether the account is currently active or not.
@@ -79,18 +78,70 @@ public class Player implements java.io.Serializable {
      * @param phone Player's phone number
      */
     public Player (String email, String displayName, String name, String phone) {
+        this(email, displayName, name, phone, DateProvider.now());
+    }
+
+    /**
+     * Constructor for a new player created on a given date
+     *
+     * @param email Player's email
+     * @param displayName Player's display name
+     * @param name Player's name
+     * @param phone Player's phone number
+     * @param dateCreated Date the player was created
+     */
+    public Player (String email, String displayName, String name, String phone, LocalDate dateCreated) {
         this.email = email;
         this.displayName = displayName;
         this.name = name;
         this.phone = phone;
         this.id = counter++;
-        leagueIds = new ArrayList<>();
-        ownedLeagueIds = new ArrayList<>();
-        leagueInviteIds = new ArrayList<>();
-        dateCreated = DateProvider.now();
+        leagueIds = new IntSet();
+        ownedLeagueIds = new IntSet();
+        leagueInviteIds = new IntList();
+        this.dateCreated = dateCreated;
         roundsPlayed = 0;
     }
 
+    /**
+     * Constructor used to restore a saved player, which keeps its saved ID and creation date
+     * 
+     * @param id Player's ID
+     * @param email Player's email
+     * @param displayName Player's display name
+     * @param name Player's name
+     * @param phone Player's phone number
+     * @param dateCreated Date the player was created
+     */
+    public Player (int id, String email, String displayName, String name, String phone, LocalDate dateCreated) {
+        this.email = email;
+        this.displayName = displayName;
+        this.name = name;
+        this.phone = phone;
+        this.id = id;
+        leagueIds = new IntSet();
+        ownedLeagueIds = new IntSet();
+        leagueInviteIds = new IntList();
+        this.dateCreated = dateCreated;
+        roundsPlayed = 0;
+    }
+
+    /**
+     * Creates a copy of the player that can be changed without changing this one
+     *
+     * @return The new player
+     */
+    public Player copy(){
+        Player copy = new Player(id, email, displayName, name, phone, dateCreated);
+        copy.deactivated = deactivated;
+        copy.inactive = inactive;
+        copy.roundsPlayed = roundsPlayed;
+        copy.leagueIds.addAll(leagueIds);
+        copy.ownedLeagueIds.addAll(ownedLeagueIds);
+        copy.leagueInviteIds.addAll(leagueInviteIds);
+        return copy;
+    }
+
     /**
      * Get the player's email.
      *
@@ -172,6 +223,35 @@ public class Player implements java.io.Serializable {
         return this.id;
     }
 
+    /**
+     * Gets the ID that will be given to the next new player
+     * 
+     * @return The ID of the next player to be created
+     */
+    public static int getCounter(){
+        return counter;
+    }
+
+    /**
+     * Sets the ID that will be given to the next new player
+     * 
+     * @param nextId The ID of the next player to be created
+     */
+    public static void setCounter(int nextId){
+        counter = nextId;
+    }
+
+    /**
+     * Makes sure the next new player is given an ID of at least the given value
+     * 
+     * @param nextId The lowest ID that the next player can be given
+     */
+    public static void raiseCounter(int nextId){
+        if (counter < nextId){
+            counter = nextId;
+        }
+    }
+
 
     /**
      * Gets the status of whether the player is deactivated or not.
@@ -216,11 +296,11 @@ public class Player implements java.io.Serializable {
 
 
     /**
-     * Gets the ArrayList containing the Ids of the leagues the player is in.
+     * Gets the set containing the Ids of the leagues the player is in.
      * 
-     * @return The ArrayList containing the Ids of the leagues the player is in.
+     * @return The set containing the Ids of the leagues the player is in.
      */
-    public ArrayList<Integer> getLeagueIds(){
+    public IntSet getLeagueIds(){
         return leagueIds;
     }
 
@@ -241,29 +321,18 @@ public class Player implements java.io.Serializable {
      */
     public void removeLeagueId(int leagueId) throws IllegalOperationException{
 
-        // Check if the league ID is in the list
-        boolean found = false;
-        for (int i : leagueIds){
-            if (i == leagueId){
-                found = true;
-            }
-        }
-
-        // Throw an exception if the ID does not exist in the list
-        if (!found){
+        // Remove the ID from the set, throwing an exception if it was not in it
+        if (!leagueIds.remove(leagueId)){
             throw new IllegalOperationException("Player cannot be removed from this league, since they aren't a part of it.");
         }
-
-        // Remove the ID from the list
-        leagueIds.remove(Integer.valueOf(leagueId));
     }
 
     /**
-     * Gets the ArrayList containing the Ids of the leagues the player owns.
+     * Gets the set containing the Ids of the leagues the player owns.
      * 
-     * @return The ArrayList containing the Ids of the leagues the player owns.
+     * @return The set containing the Ids of the leagues the player owns.
      */
-    public ArrayList<Integer> getOwnedLeagueIds(){
+    public IntSet getOwnedLeagueIds(){
         return ownedLeagueIds;
     }
 
@@ -284,29 +353,18 @@ public class Player implements java.io.Serializable {
      */
     public void removeOwnedLeagueId(int leagueId)  throws IllegalOperationException{
 
-        // Check ID exists in the list
-        boolean found = false;
-        for (int i : ownedLeagueIds){
-            if (i == leagueId){
-                found = true;
-            }
-        }
-
-        // Throw an exception if the ID does not exist
-        if (!found){
+        // Remove the league ID from the set, throwing an exception if it was not in it
+        if (!ownedLeagueIds.remove(leagueId)){
             throw new IllegalOperationException ("Player does not own this league, so cannot be removed as owner.");
         }
-
-        // Remove the league ID from the list
-        ownedLeagueIds.remove(Integer.valueOf(leagueId));
     }
 
     /**
-     * Gets the ArrayList containing the Ids of the leagues the player has been invited to.
+     * Gets the list containing the Ids of the leagues the player has been invited to.
      * 
-     * @return The ArrayList containing the Ids of the leagues the player has been invited to.
+     * @return The list containing the Ids of the leagues the player has been invited to.
      */
-    public ArrayList<Integer> getLeagueInviteIds(){
+    public IntList getLeagueInviteIds(){
         return leagueInviteIds;
     }
 
@@ -327,22 +385,10 @@ public class Player implements java.io.Serializable {
      */
     public void removeLeagueInviteId(int inviteId)  throws IllegalOperationException{
 
-        // Check if the ID is in the list
-        boolean found = false;
-        for (int i : leagueInviteIds){
-            if (i == inviteId){
-                found = true;
-                break;
-            }
-        }
-
-        // Throw an exception if the ID is not found
-        if (!found){
+        // Remove the ID from the list, throwing an exception if it was not in it
+        if (!leagueInviteIds.remove(inviteId)){
             throw new IllegalOperationException("Error: Player hasn't been invited to this league, so invite cannot be removed.");
         }
-
-        // Remove the ID from the list
-        leagueInviteIds.remove(Integer.valueOf(inviteId));
     }
 
     /**
@@ -369,4 +415,13 @@ public class Player implements java.io.Serializable {
     public void incrementRoundsPlayed(){
         roundsPlayed++;
     }
+
+    /**
+     * Sets the number of total rounds played by the player.
+     * 
+     * @param roundsPlayed The new number of rounds played.
+     */
+    public void setRoundsPlayed(int roundsPlayed){
+        this.roundsPlayed = roundsPlayed;
+    }
 }
@@ -0,0 +1,203 @@
+package gamesleague;
+
+import java.util.Arrays;
+
+/**
+ * Sorts and ranks arrays of points or scores without boxing them.
+ * Each value is packed into a long together with its index, so sorting the longs with Arrays.sort
+ * sorts the values while remembering where each one came from.
+ */
+public class Ranking {
+
+    /**
+     * Packs a value and its index into a long that sorts by value, with lower indexes coming last among equal values
+     *
+     * @param value The value being sorted
+     * @param index The position of the value in its array
+     * @return The packed key
+     */
+    private static long pack(int value, int index){
+        return ((long) value << 32) | (Integer.MAX_VALUE - index);
+    }
+
+    /**
+     * Gets the index stored in a packed key
+     *
+     * @param key The packed key
+     * @return The index of the value the key was made from
+     */
+    private static int unpackIndex(long key){
+        return Integer.MAX_VALUE - (int) (key & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Finds the order of an array's indexes when its values are sorted in descending order.
+     * Equal values keep the order they had in the original array.
+     *
+     * @param values The values to be sorted, which are not changed
+     * @return The indexes of the values, from the highest value to the lowest
+     */
+    public static int[] sortedOrder(int[] values){
+        long[] keys = new long[values.length];
+        for (int i = 0; i < values.length; i++){
+            keys[i] = pack(values[i], i);
+        }
+
+        // Sorting the keys in ascending order puts the lowest value first, so they are read backwards
+        Arrays.sort(keys);
+
+        int[] order = new int[values.length];
+        for (int i = 0; i < keys.length; i++){
+            order[i] = unpackIndex(keys[keys.length - 1 - i]);
+        }
+        return order;
+    }
+
+    /**
+     * Sorts a copy of an array in descending order
+     *
+     * @param values The values to be sorted, which are not changed
+     * @return The sorted copy
+     */
+    public static int[] sortDescending(int[] values){
+        int[] sorted = values.clone();
+        Arrays.sort(sorted);
+
+        // Reverse the ascending order in place
+        for (int i = 0, j = sorted.length - 1; i < j; i++, j--){
+            int temp = sorted[i];
+            sorted[i] = sorted[j];
+            sorted[j] = temp;
+        }
+        return sorted;
+    }
+
+    /**
+     * Ranks an array in descending order, where tied values share the best rank and the following
+     * rank is skipped for each tie, e.g an array of [23, 10, 23, 50, 15] is ranked [2, 5, 2, 1, 4]
+     *
+     * @param values The values to be ranked
+     * @return The ranks, in the same order as the values
+     */
+    public static int[] rank(int[] values){
+        int[] order = sortedOrder(values);
+        int[] ranks = new int[values.length];
+
+        // Walk down the sorted values once, only moving the rank on when the value changes
+        int rank = 0;
+        for (int i = 0; i < order.length; i++){
+            if (i == 0 || values[order[i]] != values[order[i - 1]]){
+                rank = i + 1;
+            }
+            ranks[order[i]] = rank;
+        }
+        return ranks;
+    }
+
+    /**
+     * Finds the highest values in an array using a heap that never holds more than k values, so only
+     * the values that are returned need to be sorted. Equal values are ordered by the lowest ID first.
+     *
+     * @param values The values to be searched, which are not changed
+     * @param ids The ID of each value, which must not be negative
+     * @param k The number of values to find
+     * @return Keys for the highest values from the highest to the lowest, read with unpackValue and unpackId
+     */
+    public static long[] top(int[] values, int[] ids, int k){
+        k = Math.min(k, values.length);
+        if (k <= 0){
+            return new long[0];
+        }
+
+        // Min-heap of the best keys seen so far, so the root is the first one to be pushed out
+        long[] heap = new long[k];
+        int size = 0;
+        for (int i = 0; i < values.length; i++){
+            long key = pack(values[i], ids[i]);
+            if (size < k){
+                heap[size] = key;
+                siftUp(heap, size++);
+            }
+            else if (key > heap[0]){
+                heap[0] = key;
+                siftDown(heap, size);
+            }
+        }
+
+        // Sort the kept keys and reverse them so the highest comes first
+        Arrays.sort(heap);
+        for (int i = 0, j = heap.length - 1; i < j; i++, j--){
+            long temp = heap[i];
+            heap[i] = heap[j];
+            heap[j] = temp;
+        }
+        return heap;
+    }
+
+    /**
+     * Gets the value stored in a key returned by top
+     *
+     * @param key The packed key
+     * @return The value the key was made from
+     */
+    public static int unpackValue(long key){
+        return (int) (key >> 32);
+    }
+
+    /**
+     * Gets the ID stored in a key returned by top
+     *
+     * @param key The packed key
+     * @return The ID the key was made from
+     */
+    public static int unpackId(long key){
+        return unpackIndex(key);
+    }
+
+    /**
+     * Moves a key up a min-heap until its parent is smaller
+     *
+     * @param heap The heap
+     * @param i The position of the key
+     */
+    private static void siftUp(long[] heap, int i){
+        while (i > 0){
+            int parent = (i - 1) / 2;
+            if (heap[parent] <= heap[i]){
+                return;
+            }
+            long temp = heap[parent];
+            heap[parent] = heap[i];
+            heap[i] = temp;
+            i = parent;
+        }
+    }
+
+    /**
+     * Moves the root of a min-heap down until both its children are larger
+     *
+     * @param heap The heap
+     * @param size The number of keys in the heap
+     */
+    private static void siftDown(long[] heap, int size){
+        int i = 0;
+        while (true){
+            int smallest = i;
+            int left = 2 * i + 1;
+            int right = left + 1;
+            if (left < size && heap[left] < heap[smallest]){
+                smallest = left;
+            }
+            if (right < size && heap[right] < heap[smallest]){
+                smallest = right;
+            }
+            if (smallest == i){
+                return;
+            }
+            long temp = heap[smallest];
+            heap[smallest] = heap[i];
+            heap[i] = temp;
+            i = smallest;
+        }
+    }
+}
@@ -0,0 +1,677 @@
+package gamesleague;
+
+import java.util.Arrays;
+
+/**
+ * Stores the scores and points of every member of a league in columns of primitive ints.
+ * Each epoch day with results has one row of points and one row of scores, and each member of the league
+ * has a fixed slot (column) in every row, which matches their position in the league's player list.
+ * Rows are kept in day order and only created for days that have results, so days that are far apart
+ * take no more room than days next to each other. A row that is shorter than the number of members
+ * means the missing members have 0 for that day.
+ * A running total of each member's points is kept alongside the points, so the total points between
+ * any two days can be found with two lookups and a subtraction.
+ *
+ * A read-only snapshot of the table can be taken for a LeagueResults. Snapshots share their rows with the table,
+ * so the table copies a row before changing it if the last snapshot taken is still using it. Copies made while a
+ * league is being checkpointed share their rows with the frozen table in the same way.
+ */
+public class ResultTable implements java.io.Serializable {
+    /**
+     * The epoch day of each row, in ascending order.
+     */
+    private int[] days;
+
+    /**
+     * Rows of points laid out [row][member slot].
+     */
+    private int[][] points;
+
+    /**
+     * Rows of scores laid out [row][member slot].
+     */
+    private int[][] scores;
+
+    /**
+     * Running totals of points laid out [row][member slot], where each element is the sum of the member's
+     * points from row 0 up to and including that row. A row that is shorter than the number of members means the
+     * missing members have not scored any points yet. This is rebuilt from the points whenever it is missing.
+     */
+    private transient int[][] cumulative;
+
+    /**
+     * Number of rows from the start of the table that are in use.
+     */
+    private int usedRows;
+
+    /**
+     * The last snapshot taken of the table, or null if there is none. Rows that it shares are copied before they
+     * are changed, and its running totals are reused by the next snapshot.
+     */
+    private transient ResultTable lastSnapshot;
+
+    /**
+     * The first row whose points have changed since the last snapshot was taken.
+     */
+    private transient int changedFrom;
+
+    /**
+     * The frozen table this table was copied from, or null if there is none. Rows that it shares are copied before
+     * they are changed.
+     */
+    private transient ResultTable copiedFrom;
+
+    /**
+     * Constructor for the ResultTable class
+     */
+    public ResultTable(){
+        days = new int[0];
+        points = new int[0][];
+        scores = new int[0][];
+        cumulative = null;
+        usedRows = 0;
+        lastSnapshot = null;
+        changedFrom = 0;
+        copiedFrom = null;
+    }
+
+    /**
+     * Gets the epoch day of the first row in the table
+     *
+     * @return The epoch day stored in row 0, or 0 if the table is empty
+     */
+    public int getFirstDay(){
+        return usedRows == 0 ? 0 : days[0];
+    }
+
+    /**
+     * Gets the epoch day of the last row in the table
+     *
+     * @return The epoch day stored in the last row, or -1 if the table is empty
+     */
+    public int getLastDay(){
+        return usedRows == 0 ? -1 : days[usedRows - 1];
+    }
+
+    /**
+     * Gets the number of days that have results
+     *
+     * @return The number of rows in use
+     */
+    public int getRowCount(){
+        return usedRows;
+    }
+
+    /**
+     * Gets the epoch day of a row
+     *
+     * @param row The row index, which must be less than the number of rows in use
+     * @return The epoch day stored in the row
+     */
+    public int getRowDay(int row){
+        return days[row];
+    }
+
+    /**
+     * Gets the points stored in a row
+     *
+     * @param row The row index, which must be less than the number of rows in use
+     * @return The memory address of the row of points
+     */
+    public int[] getRowPoints(int row){
+        return points[row];
+    }
+
+    /**
+     * Gets the scores stored in a row
+     *
+     * @param row The row index, which must be less than the number of rows in use
+     * @return The memory address of the row of scores
+     */
+    public int[] getRowScores(int row){
+        return scores[row];
+    }
+
+    /**
+     * Searches the rows for an epoch day
+     *
+     * @param day The epoch day being searched for
+     * @return The row index of the day, or (-(insertion point) - 1) if the day has no row
+     */
+    private int searchRow(int day){
+        // Results are nearly always added for the latest day, so the end of the table is checked first
+        if (usedRows == 0 || days[usedRows - 1] < day){
+            return -usedRows - 1;
+        }
+        if (days[usedRows - 1] == day){
+            return usedRows - 1;
+        }
+        return Arrays.binarySearch(days, 0, usedRows, day);
+    }
+
+    /**
+     * Finds the row that an epoch day is stored in
+     *
+     * @param day The epoch day being searched for
+     * @return The row index or -1 if the day has no results
+     */
+    private int rowOf(int day){
+        int row = searchRow(day);
+        return row < 0 ? -1 : row;
+    }
+
+    /**
+     * Counts the rows that are before an epoch day
+     *
+     * @param day The epoch day, which is a long so the day after the last int day can be used
+     * @return The number of rows with a day before it, which is also the first row on or after it
+     */
+    private int rowsBefore(long day){
+        int low = 0;
+        int high = usedRows;
+        while (low < high){
+            int mid = (low + high) >>> 1;
+            if (days[mid] < day){
+                low = mid + 1;
+            }
+            else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Makes sure a row exists for an epoch day with at least enough columns for a slot, adding the row if needed
+     *
+     * @param day The epoch day that needs a row
+     * @param slot The member slot that needs to fit in the row
+     * @return The row index of the day
+     */
+    private int ensureRow(int day, int slot){
+        int row = searchRow(day);
+
+        // Add a row in day order if the day has no results yet
+        if (row < 0){
+            row = -row - 1;
+            if (usedRows == days.length){
+                int newLength = Math.max(8, days.length * 2);
+                days = Arrays.copyOf(days, newLength);
+                points = Arrays.copyOf(points, newLength);
+                scores = Arrays.copyOf(scores, newLength);
+            }
+            System.arraycopy(days, row, days, row + 1, usedRows - row);
+            System.arraycopy(points, row, points, row + 1, usedRows - row);
+            System.arraycopy(scores, row, scores, row + 1, usedRows - row);
+            days[row] = day;
+            points[row] = new int[slot + 1];
+            scores[row] = new int[slot + 1];
+            usedRows++;
+
+            // Rows after the new one have moved, so their running totals are rebuilt the next time they are needed
+            if (cumulative != null && cumulative.length > row){
+                cumulative = Arrays.copyOf(cumulative, row);
+            }
+            changedFrom = Math.min(changedFrom, row);
+        }
+        // Widen the row so that the slot fits
+        else if (slot >= points[row].length){
+            points[row] = Arrays.copyOf(points[row], slot + 1);
+            scores[row] = Arrays.copyOf(scores[row], slot + 1);
+        }
+        return row;
+    }
+
+    /**
+     * Stores whole rows of points and scores for an epoch day, replacing any results already stored for it
+     *
+     * @param day The epoch day of the rows
+     * @param pointsRow The points of every member in slot order
+     * @param scoresRow The scores of every member in slot order, which must be the same length as the points
+     */
+    public void putRow(int day, int[] pointsRow, int[] scoresRow){
+        int row = ensureRow(day, Math.max(pointsRow.length - 1, 0));
+        points[row] = pointsRow;
+        scores[row] = scoresRow;
+        // The running totals no longer match the points
+        cumulative = null;
+        changedFrom = Math.min(changedFrom, row);
+    }
+
+    /**
+     * Checks if any results have been stored for an epoch day
+     *
+     * @param day The epoch day to be checked
+     * @return True if the day has a row of results, False if not
+     */
+    public boolean hasDay(int day){
+        return rowOf(day) != -1;
+    }
+
+    /**
+     * Gets the points of a member on a day
+     *
+     * @param day The epoch day being queried
+     * @param slot The member's slot in the league
+     * @return The points of the member, or 0 if none have been stored
+     */
+    public int getPoints(int day, int slot){
+        int row = rowOf(day);
+        if (row == -1 || slot >= points[row].length){
+            return 0;
+        }
+        return points[row][slot];
+    }
+
+    /**
+     * Sets the points of a member on a day
+     *
+     * @param day The epoch day of the points
+     * @param slot The member's slot in the league
+     * @param value The new points of the member
+     */
+    public void setPoints(int day, int slot, int value){
+        // The row has to be found before the array is read, since finding it can replace the array
+        int row = ensureRow(day, slot);
+        unshareRow(row);
+        changedFrom = Math.min(changedFrom, row);
+        addToCumulative(row, slot, value - points[row][slot]);
+        points[row][slot] = value;
+    }
+
+    /**
+     * Gets the score of a member on a day
+     *
+     * @param day The epoch day being queried
+     * @param slot The member's slot in the league
+     * @return The score of the member, or 0 if none has been stored
+     */
+    public int getScore(int day, int slot){
+        int row = rowOf(day);
+        if (row == -1 || slot >= scores[row].length){
+            return 0;
+        }
+        return scores[row][slot];
+    }
+
+    /**
+     * Sets the score of a member on a day
+     *
+     * @param day The epoch day of the score
+     * @param slot The member's slot in the league
+     * @param value The new score of the member
+     */
+    public void setScore(int day, int slot, int value){
+        // The row has to be found before the array is read, since finding it can replace the array
+        int row = ensureRow(day, slot);
+        unshareRow(row);
+        scores[row][slot] = value;
+    }
+
+    /**
+     * Copies one day of points into an array with one element per member
+     *
+     * @param day The epoch day being queried
+     * @param members The number of members in the league
+     * @return An array of every member's points on the day, in slot order
+     */
+    public int[] getDayPoints(int day, int members){
+        return copyRow(points, day, members);
+    }
+
+    /**
+     * Copies one day of scores into an array with one element per member
+     *
+     * @param day The epoch day being queried
+     * @param members The number of members in the league
+     * @return An array of every member's scores on the day, in slot order
+     */
+    public int[] getDayScores(int day, int members){
+        return copyRow(scores, day, members);
+    }
+
+    /**
+     * Copies a row into an array with one element per member, padding missing members with 0
+     *
+     * @param rows The rows to copy from
+     * @param day The epoch day of the row
+     * @param members The number of members in the league
+     * @return The copied row
+     */
+    private int[] copyRow(int[][] rows, int day, int members){
+        int[] copy = new int[members];
+        int row = rowOf(day);
+        if (row != -1){
+            System.arraycopy(rows[row], 0, copy, 0, Math.min(members, rows[row].length));
+        }
+        return copy;
+    }
+
+    /**
+     * Sets the points of every member to 0 on a day
+     *
+     * @param day The epoch day to be voided
+     * @param members The number of members in the league
+     */
+    public void voidDay(int day, int members){
+        if (members == 0){
+            return;
+        }
+        int row = ensureRow(day, members - 1);
+        unshareRow(row);
+        changedFrom = Math.min(changedFrom, row);
+        for (int s = 0; s < points[row].length; s++){
+            addToCumulative(row, s, -points[row][s]);
+        }
+        Arrays.fill(points[row], 0);
+    }
+
+    /**
+     * Gets the running totals of points, rebuilding them or adding rows for new days if needed
+     *
+     * @return The running totals with a row for every row in use
+     */
+    private int[][] getCumulative(){
+
+        // Rebuild the running totals from the points if they have been thrown away
+        if (cumulative == null){
+            cumulative = new int[0][];
+        }
+
+        // Add a row for each new day, starting from the totals of the day before
+        if (cumulative.length < usedRows){
+            int oldLength = cumulative.length;
+            cumulative = Arrays.copyOf(cumulative, usedRows);
+            for (int r = oldLength; r < usedRows; r++){
+                int[] previous = r == 0 ? new int[0] : cumulative[r - 1];
+                int[] row = points[r];
+                int[] totals = Arrays.copyOf(previous, Math.max(previous.length, row.length));
+                for (int s = 0; s < row.length; s++){
+                    totals[s] += row[s];
+                }
+                cumulative[r] = totals;
+            }
+        }
+        return cumulative;
+    }
+
+    /**
+     * Adds a change in a member's points to the running totals of the row it happened on and every row after it
+     *
+     * @param row The row the points changed on
+     * @param slot The member's slot in the league
+     * @param delta The change in the member's points
+     */
+    private void addToCumulative(int row, int slot, int delta){
+        if (delta == 0){
+            return;
+        }
+
+        // Rows that don't exist yet will be built from the points when they are needed
+        int[][] totals = getCumulative();
+        for (int r = row; r < usedRows; r++){
+            if (slot >= totals[r].length){
+                totals[r] = Arrays.copyOf(totals[r], slot + 1);
+            }
+            totals[r][slot] += delta;
+        }
+    }
+
+    /**
+     * Gets the running total of a member's points up to and including a row
+     *
+     * @param totals The running totals
+     * @param row The row of the total, or -1 for the total before the first row
+     * @param slot The member's slot in the league
+     * @return The running total of the member's points
+     */
+    private static int totalAt(int[][] totals, int row, int slot){
+        if (row < 0 || slot >= totals[row].length){
+            return 0;
+        }
+        return totals[row][slot];
+    }
+
+    /**
+     * Totals up every member's points between two days
+     *
+     * @param fromDay The epoch day of the lower bound of the total
+     * @param toDay The epoch day of the upper bound of the total
+     * @param members The number of members in the league
+     * @return An array of total points for each member in slot order
+     */
+    public int[] sumPoints(int fromDay, int toDay, int members){
+        int[] sums = new int[members];
+
+        // Find the rows in the range
+        int from = rowsBefore(fromDay);
+        int to = rowsBefore(toDay + 1L) - 1;
+        if (from > to){
+            return sums;
+        }
+
+        // The total for the range is the running total at the end minus the running total before the start
+        int[][] totals = getCumulative();
+        for (int s = 0; s < members; s++){
+            sums[s] = totalAt(totals, to, s) - totalAt(totals, from - 1, s);
+        }
+        return sums;
+    }
+
+    /**
+     * Totals up one member's points between two days
+     *
+     * @param fromDay The epoch day of the lower bound of the total
+     * @param toDay The epoch day of the upper bound of the total
+     * @param slot The member's slot in the league
+     * @return The total points of the member
+     */
+    public int sumSlotPoints(int fromDay, int toDay, int slot){
+
+        // Find the rows in the range
+        int from = rowsBefore(fromDay);
+        int to = rowsBefore(toDay + 1L) - 1;
+        if (from > to){
+            return 0;
+        }
+
+        int[][] totals = getCumulative();
+        return totalAt(totals, to, slot) - totalAt(totals, from - 1, slot);
+    }
+
+    /**
+     * Totals up every member's scores between two days
+     *
+     * @param fromDay The epoch day of the lower bound of the total
+     * @param toDay The epoch day of the upper bound of the total
+     * @param members The number of members in the league
+     * @return An array of total scores for each member in slot order
+     */
+    public int[] sumScores(int fromDay, int toDay, int members){
+        return sumRows(scores, fromDay, toDay, members);
+    }
+
+    /**
+     * Adds up the rows between two days column by column
+     *
+     * @param rows The rows to be added up
+     * @param fromDay The epoch day of the lower bound of the total
+     * @param toDay The epoch day of the upper bound of the total
+     * @param members The number of members in the league
+     * @return An array of totals for each member in slot order
+     */
+    private int[] sumRows(int[][] rows, int fromDay, int toDay, int members){
+        int[] totals = new int[members];
+
+        // Only the rows in the range need to be visited
+        int from = rowsBefore(fromDay);
+        int to = rowsBefore(toDay + 1L) - 1;
+
+        for (int r = from; r <= to; r++){
+            int[] row = rows[r];
+            int width = Math.min(members, row.length);
+            for (int s = 0; s < width; s++){
+                totals[s] += row[s];
+            }
+        }
+        return totals;
+    }
+
+    /**
+     * Removes a member's slot from every row, moving the members after it down one slot
+     *
+     * @param slot The slot to be removed
+     */
+    public void removeSlot(int slot){
+        for (int r = 0; r < usedRows; r++){
+            points[r] = removeColumn(points[r], slot);
+            scores[r] = removeColumn(scores[r], slot);
+        }
+        cumulative = null;
+        changedFrom = 0;
+    }
+
+    /**
+     * Creates a copy of a row without one of its columns
+     *
+     * @param row The row to be copied
+     * @param slot The column to leave out
+     * @return The new row, or the same row if the column was not in it
+     */
+    private static int[] removeColumn(int[] row, int slot){
+        if (slot >= row.length){
+            return row;
+        }
+        int[] smaller = new int[row.length - 1];
+        System.arraycopy(row, 0, smaller, 0, slot);
+        System.arraycopy(row, slot + 1, smaller, slot, row.length - slot - 1);
+        return smaller;
+    }
+
+    /**
+     * Creates a copy of the table that can be changed without changing this one, which must not be changed
+     * afterwards. The copy shares every row with this table and copies a row before changing it. The running
+     * totals are moved to the copy rather than copied, since only the copy will be changed and queried afterwards.
+     *
+     * @return The new table
+     */
+    public ResultTable copy(){
+        ResultTable copy = new ResultTable();
+        copy.days = Arrays.copyOf(days, days.length);
+        copy.usedRows = usedRows;
+        copy.points = Arrays.copyOf(points, points.length);
+        copy.scores = Arrays.copyOf(scores, scores.length);
+        copy.copiedFrom = this;
+        // This table is no longer changed, so the rows it shared with the table it was copied from stay as they are
+        copiedFrom = null;
+        copy.cumulative = cumulative;
+        cumulative = null;
+        // The copy's rows have the same points as the last snapshot's, so its running totals can still be reused
+        copy.lastSnapshot = lastSnapshot;
+        copy.changedFrom = changedFrom;
+        lastSnapshot = null;
+        return copy;
+    }
+
+    /**
+     * Creates a new table containing only some of the slots of this table
+     *
+     * @param slots The slots to be copied, in the order they should appear in the new table
+     * @return The new table
+     */
+    public ResultTable copySlots(int[] slots){
+        ResultTable copy = new ResultTable();
+        copy.days = Arrays.copyOf(days, usedRows);
+        copy.usedRows = usedRows;
+        copy.points = new int[usedRows][];
+        copy.scores = new int[usedRows][];
+
+        for (int r = 0; r < usedRows; r++){
+            copy.points[r] = new int[slots.length];
+            copy.scores[r] = new int[slots.length];
+            for (int s = 0; s < slots.length; s++){
+                if (slots[s] < points[r].length){
+                    copy.points[r][s] = points[r][slots[s]];
+                    copy.scores[r][s] = scores[r][slots[s]];
+                }
+            }
+        }
+        return copy;
+    }
+
+    /**
+     * Removes every result from the table
+     *
+     */
+    public void clear(){
+        days = new int[0];
+        points = new int[0][];
+        scores = new int[0][];
+        cumulative = null;
+        usedRows = 0;
+        // None of the new rows are shared
+        lastSnapshot = null;
+        changedFrom = 0;
+        copiedFrom = null;
+    }
+
+    /**
+     * Creates a read-only snapshot of the table, which shares its rows with this table. This table copies any row
+     * the snapshot shares before changing it, so the snapshot never changes and can be read from any thread.
+     * The snapshot's running totals are built straight away, reusing the totals of the last snapshot for every
+     * row before the first one that has changed since it was taken.
+     *
+     * @return The snapshot, which must not be changed
+     */
+    public ResultTable snapshot(){
+        ResultTable copy = new ResultTable();
+        copy.days = Arrays.copyOf(days, usedRows);
+        copy.usedRows = usedRows;
+        copy.points = Arrays.copyOf(points, usedRows);
+        copy.scores = Arrays.copyOf(scores, usedRows);
+
+        // Running totals only depend on the rows up to them, so the unchanged rows of the last snapshot's totals are kept
+        if (lastSnapshot != null){
+            int reused = Math.min(changedFrom, Math.min(lastSnapshot.usedRows, usedRows));
+            copy.cumulative = Arrays.copyOf(lastSnapshot.cumulative, reused);
+        }
+        copy.getCumulative();
+
+        lastSnapshot = copy;
+        changedFrom = Integer.MAX_VALUE;
+        return copy;
+    }
+
+    /**
+     * Copies a row if it is shared with the last snapshot or the table this was copied from, so it can be changed
+     * without changing them
+     *
+     * @param row The row about to be changed
+     */
+    private void unshareRow(int row){
+        unshareRow(row, lastSnapshot);
+        unshareRow(row, copiedFrom);
+    }
+
+    /**
+     * Copies a row if it is shared with another table
+     *
+     * @param row The row about to be changed
+     * @param other The table that may share the row, or null if there is none
+     */
+    private void unshareRow(int row, ResultTable other){
+        if (other == null){
+            return;
+        }
+        int shared = other.rowOf(days[row]);
+        if (shared == -1){
+            return;
+        }
+        if (points[row] == other.points[shared]){
+            points[row] = points[row].clone();
+        }
+        if (scores[row] == other.scores[shared]){
+            scores[row] = scores[row].clone();
+        }
+    }
+}
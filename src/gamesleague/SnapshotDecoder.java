@@ -0,0 +1,140 @@
+package gamesleague;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reads the values written by a SnapshotEncoder back out of a ByteBuffer.
+ */
+public class SnapshotDecoder {
+    /**
+     * The buffer being read, positioned at the next value.
+     */
+    private ByteBuffer buffer;
+
+    /**
+     * Constructor for the SnapshotDecoder class
+     *
+     * @param buffer The buffer to be read from its current position
+     */
+    public SnapshotDecoder(ByteBuffer buffer){
+        this.buffer = buffer;
+    }
+
+    /**
+     * Reads a single byte
+     *
+     * @return The byte, from 0 to 255
+     */
+    public int readByte(){
+        return buffer.get() & 0xFF;
+    }
+
+    /**
+     * Reads an int written as 4 bytes
+     *
+     * @return The int
+     */
+    public int readInt(){
+        return buffer.getInt();
+    }
+
+    /**
+     * Reads a long written as 8 bytes
+     *
+     * @return The long
+     */
+    public long readLong(){
+        return buffer.getLong();
+    }
+
+    /**
+     * Reads a varint
+     *
+     * @return The number, which is never negative
+     * @throws IOException If the varint is longer than any long
+     */
+    public long readVarLong() throws IOException{
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7){
+            int b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            // The top bit is only clear on the last byte
+            if ((b & 0x80) == 0){
+                return value;
+            }
+        }
+        throw new IOException("Error: Snapshot contains a varint that is too long");
+    }
+
+    /**
+     * Reads a varint that fits in an int
+     *
+     * @return The int
+     * @throws IOException If the varint is longer than any long
+     */
+    public int readVarInt() throws IOException{
+        return (int) readVarLong();
+    }
+
+    /**
+     * Reads a zigzag encoded varint
+     *
+     * @return The int, which may be negative
+     * @throws IOException If the varint is longer than any long
+     */
+    public int readSignedVarInt() throws IOException{
+        int value = readVarInt();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * Reads a UTF-8 string of a given number of bytes
+     *
+     * @param length The number of bytes in the string
+     * @return The string
+     */
+    public String readString(int length){
+        String value;
+        if (buffer.hasArray()){
+            value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length, StandardCharsets.UTF_8);
+            buffer.position(buffer.position() + length);
+        }
+        else {
+            byte[] data = new byte[length];
+            buffer.get(data);
+            value = new String(data, StandardCharsets.UTF_8);
+        }
+        return value;
+    }
+
+    /**
+     * Reads a string written by SnapshotEncoder.writeString
+     *
+     * @return The string, or null
+     * @throws IOException If the length cannot be read
+     */
+    public String readString() throws IOException{
+        int length = readVarInt();
+        if (length == 0){
+            return null;
+        }
+        return readString(length - 1);
+    }
+
+    /**
+     * Reads a table of strings written by a StringTable
+     *
+     * @return The strings, with index 0 being null
+     * @throws IOException If the table cannot be read
+     */
+    public String[] readStringTable() throws IOException{
+        int count = readVarInt();
+        String[] strings = new String[count + 1];
+        for (int i = 1; i <= count; i++){
+            strings[i] = readString(readVarInt());
+        }
+        return strings;
+    }
+}
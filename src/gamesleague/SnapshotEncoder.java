@@ -0,0 +1,211 @@
+package gamesleague;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+/**
+ * Growable byte buffer used to build binary snapshots. Whole numbers are written as varints, which take
+ * one byte for every 7 bits that are needed, so the small IDs, counts and points that make up most of a
+ * snapshot only take one or two bytes each. Signed values are zigzag encoded first so small negative
+ * numbers stay small.
+ */
+public class SnapshotEncoder {
+    /**
+     * The bytes written so far, followed by unused space.
+     */
+    private byte[] bytes;
+
+    /**
+     * Number of bytes written so far.
+     */
+    private int size;
+
+    /**
+     * Constructor for the SnapshotEncoder class
+     */
+    public SnapshotEncoder(){
+        bytes = new byte[256];
+        size = 0;
+    }
+
+    /**
+     * Gets the number of bytes written so far
+     *
+     * @return The number of bytes in the buffer
+     */
+    public int size(){
+        return size;
+    }
+
+    /**
+     * Makes sure there is room for more bytes, doubling the buffer if there is not
+     *
+     * @param extra The number of bytes about to be written
+     */
+    private void ensureRoom(int extra){
+        if (size + extra > bytes.length){
+            bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + extra));
+        }
+    }
+
+    /**
+     * Writes a single byte
+     *
+     * @param value The byte to be written, only the lowest 8 bits are used
+     */
+    public void writeByte(int value){
+        ensureRoom(1);
+        bytes[size++] = (byte) value;
+    }
+
+    /**
+     * Writes an int as 4 bytes, most significant byte first
+     *
+     * @param value The int to be written
+     */
+    public void writeInt(int value){
+        ensureRoom(4);
+        for (int shift = 24; shift >= 0; shift -= 8){
+            bytes[size++] = (byte) (value >>> shift);
+        }
+    }
+
+    /**
+     * Writes a long as 8 bytes, most significant byte first
+     *
+     * @param value The long to be written
+     */
+    public void writeLong(long value){
+        ensureRoom(8);
+        for (int shift = 56; shift >= 0; shift -= 8){
+            bytes[size++] = (byte) (value >>> shift);
+        }
+    }
+
+    /**
+     * Writes a number that is never negative as a varint
+     *
+     * @param value The number to be written
+     */
+    public void writeVarLong(long value){
+        ensureRoom(10);
+        // Each byte holds 7 bits, with the top bit set if more bytes follow
+        while ((value & ~0x7FL) != 0){
+            bytes[size++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        bytes[size++] = (byte) value;
+    }
+
+    /**
+     * Writes an int that is never negative as a varint
+     *
+     * @param value The int to be written
+     */
+    public void writeVarInt(int value){
+        writeVarLong(value & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Writes an int that may be negative as a zigzag encoded varint
+     *
+     * @param value The int to be written
+     */
+    public void writeSignedVarInt(int value){
+        // Zigzag encoding maps 0, -1, 1, -2, 2... onto 0, 1, 2, 3, 4...
+        writeVarInt((value << 1) ^ (value >> 31));
+    }
+
+    /**
+     * Writes an array of bytes without a length
+     *
+     * @param data The bytes to be written
+     */
+    public void writeBytes(byte[] data){
+        ensureRoom(data.length);
+        System.arraycopy(data, 0, bytes, size, data.length);
+        size += data.length;
+    }
+
+    /**
+     * Writes a string that may be null as its length plus one followed by its UTF-8 bytes, with a
+     * length of 0 meaning null
+     *
+     * @param value The string to be written, or null
+     */
+    public void writeString(String value){
+        if (value == null){
+            writeVarInt(0);
+            return;
+        }
+        byte[] data = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(data.length + 1);
+        writeBytes(data);
+    }
+
+    /**
+     * Writes the contents of another encoder
+     *
+     * @param other The encoder to be copied from
+     */
+    public void writeEncoder(SnapshotEncoder other){
+        ensureRoom(other.size);
+        System.arraycopy(other.bytes, 0, bytes, size, other.size);
+        size += other.size;
+    }
+
+    /**
+     * Calculates the CRC-32 checksum of every byte written so far
+     *
+     * @return The checksum
+     */
+    public int checksum(){
+        CRC32 crc = new CRC32();
+        crc.update(bytes, 0, size);
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Empties the buffer without writing it anywhere
+     */
+    public void clear(){
+        size = 0;
+    }
+
+    /**
+     * Cuts the buffer back to an earlier size, dropping every byte written after it
+     *
+     * @param size The size to cut the buffer back to, which must not be more than the current size
+     */
+    public void truncate(int size){
+        this.size = size;
+    }
+
+    /**
+     * Writes every byte in the buffer to a channel without emptying the buffer
+     *
+     * @param channel The channel to write to
+     * @throws IOException If the channel cannot be written to
+     */
+    public void copyTo(FileChannel channel) throws IOException{
+        ByteBuffer buffer = ByteBuffer.wrap(bytes, 0, size);
+        while (buffer.hasRemaining()){
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * Writes every byte in the buffer to a channel and empties the buffer
+     *
+     * @param channel The channel to write to
+     * @throws IOException If the channel cannot be written to
+     */
+    public void writeTo(FileChannel channel) throws IOException{
+        copyTo(channel);
+        size = 0;
+    }
+}
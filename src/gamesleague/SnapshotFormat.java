@@ -0,0 +1,16 @@
+package gamesleague;
+
+/**
+ * Enum representing the file formats that a GamesLeague can be saved in.
+ */
+public enum SnapshotFormat {
+    /**
+     * Java serialisation of the player and league arrays.
+     */
+    SERIALIZED,
+
+    /**
+     * Compact binary snapshot written by BinarySnapshot.
+     */
+    BINARY;
+}
@@ -0,0 +1,63 @@
+package gamesleague;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+
+/**
+ * Table of the distinct strings in part of a snapshot. Each string is written once and then referred to
+ * by its index, so repeated emails, names and reports only take a varint each time they are used.
+ * Index 0 is kept for null.
+ */
+public class StringTable {
+    /**
+     * Index of each string in the table.
+     */
+    private HashMap<String, Integer> indexes;
+
+    /**
+     * The strings in the order they were added.
+     */
+    private ArrayList<String> strings;
+
+    /**
+     * Constructor for the StringTable class
+     */
+    public StringTable(){
+        indexes = new HashMap<>();
+        strings = new ArrayList<>();
+    }
+
+    /**
+     * Finds the index of a string, adding it to the table if it is not already in it
+     *
+     * @param value The string, which may be null
+     * @return The index of the string, or 0 for null
+     */
+    public int indexOf(String value){
+        if (value == null){
+            return 0;
+        }
+        Integer index = indexes.get(value);
+        if (index == null){
+            strings.add(value);
+            index = strings.size();
+            indexes.put(value, index);
+        }
+        return index;
+    }
+
+    /**
+     * Writes the table as a count followed by each string's length and UTF-8 bytes
+     *
+     * @param out The encoder to write to
+     */
+    public void write(SnapshotEncoder out){
+        out.writeVarInt(strings.size());
+        for (String s : strings){
+            byte[] data = s.getBytes(StandardCharsets.UTF_8);
+            out.writeVarInt(data.length);
+            out.writeBytes(data);
+        }
+    }
+}